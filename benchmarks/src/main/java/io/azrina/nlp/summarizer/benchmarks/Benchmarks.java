@@ -0,0 +1,31 @@
+package io.azrina.nlp.summarizer.benchmarks;
+
+import java.util.Arrays;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * <h1>Benchmarks</h1> Entry point of the benchmarks jar. Accepts the usual JMH
+ * command line options, and always attaches the GC profiler so allocation
+ * rates are reported next to throughput and average time. With 'load' as
+ * first argument, runs the LoadTest instead.
+ **/
+public class Benchmarks {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && args[0].equals("load")) {
+            LoadTest.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+
+}
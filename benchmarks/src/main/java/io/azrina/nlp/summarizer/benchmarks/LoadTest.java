@@ -0,0 +1,347 @@
+package io.azrina.nlp.summarizer.benchmarks;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import javax.json.Json;
+import javax.json.JsonArrayBuilder;
+import javax.json.JsonObject;
+import javax.json.JsonObjectBuilder;
+import javax.json.JsonWriter;
+import javax.json.stream.JsonGenerator;
+
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.CommandLineParser;
+import org.apache.commons.cli.DefaultParser;
+import org.apache.commons.cli.HelpFormatter;
+import org.apache.commons.cli.Option;
+import org.apache.commons.cli.Options;
+import org.apache.commons.cli.ParseException;
+
+import io.azrina.nlp.summarizer.Document;
+import io.azrina.nlp.summarizer.DocumentSource;
+import io.azrina.nlp.summarizer.Histogram;
+import io.azrina.nlp.summarizer.PipelineRegistry;
+import io.azrina.nlp.summarizer.Summarizer;
+
+/**
+ * <h1>LoadTest</h1> Load and soak test of Summarizer, with many concurrent
+ * callers and mixed languages. The bundled samples (or a corpus given as a
+ * directory, a glob or a JSON-lines file) are replayed in turn, for a fixed
+ * duration, at each of the requested thread counts :
+ * <ul>
+ * <li>closed loop (default) : every thread summarizes the next document as
+ * soon as the previous one is done, which gives the throughput scaling;</li>
+ * <li>open loop (--rate) : documents are due at a fixed rate, whatever the
+ * response times, and latency is measured from the time a document was due,
+ * so a summarizer falling behind shows in the percentiles instead of slowing
+ * the load down.</li>
+ * </ul>
+ * Each step reports p50, p95, p99 and max latency, the throughput, the bytes
+ * allocated by the calling threads and the collections of every garbage
+ * collector, as JSON. Summarizers and pipelines are warmed up before the
+ * first step.
+ **/
+public class LoadTest {
+
+    private static final String[] LANGUAGES = {"en", "es", "fr", "ru", "ar", "zh-cn"};
+    private static final String DELIMITER = " (...) ";
+    private static final com.sun.management.ThreadMXBean ALLOCATION = allocationBean();
+
+    private final List<Document> documents;
+    private final Map<String, Summarizer> summarizers = new LinkedHashMap<String, Summarizer>();
+    private final String defaultLang;
+    private final int numSentences;
+    private final double rate;
+
+    /**
+     * Load test constructor.
+     *
+     * @param List<Document> documents Documents replayed in turn
+     * @param String defaultLang Language of the documents which do not specify one
+     * @param int numSentences Number of maximum sentences in each summary
+     * @param double rate Documents due per second, or 0 for a closed loop
+     */
+    public LoadTest(List<Document> documents, String defaultLang, int numSentences, double rate) {
+        if (documents.isEmpty()) {
+            throw new IllegalArgumentException("No document to replay");
+        }
+        this.documents = documents;
+        this.defaultLang = defaultLang;
+        this.numSentences = numSentences;
+        this.rate = rate;
+
+        Set<String> langs = new LinkedHashSet<String>();
+        for (Document document : documents) {
+            langs.add(lang(document));
+        }
+        PipelineRegistry.warmUp(langs.toArray(new String[0]));
+        for (String lang : langs) {
+            summarizers.put(lang, new Summarizer(lang));
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new Options();
+        options.addOption(new Option("l", "lang", true, "languages of the bundled samples, comma separated, or language of the corpus documents which do not specify one. defaults to every sample."));
+        options.addOption(new Option("c", "corpus", true, "documents to replay instead of the samples : a directory, a glob or a JSON-lines file."));
+        options.addOption(new Option("s", "size", true, "minimum size of each sample document, in thousands of characters. defaults to the sample as bundled."));
+        options.addOption(new Option("p", "threads", true, "thread counts to measure, comma separated. defaults to 1,2,4,... up to twice the number of cores."));
+        options.addOption(new Option("r", "rate", true, "documents per second for all threads (open loop). defaults to a closed loop."));
+        options.addOption(new Option("d", "duration", true, "duration of each step, in seconds. defaults to 30."));
+        options.addOption(new Option("w", "warmup", true, "warm-up duration, in seconds. defaults to 10."));
+        options.addOption(new Option("n", "num", true, "max number of sentences. defaults to 3."));
+        options.addOption(new Option("o", "output", true, "JSON results file. defaults to standard output."));
+        options.addOption(new Option("h", "help", false, "see help."));
+
+        CommandLine cmd;
+        try {
+            CommandLineParser parser = new DefaultParser();
+            cmd = parser.parse(options, args);
+        } catch (ParseException e) {
+            System.err.println(e.getMessage());
+            new HelpFormatter().printHelp("LoadTest", options);
+            System.exit(1);
+            return;
+        }
+        if (cmd.hasOption("h")) {
+            new HelpFormatter().printHelp("LoadTest", options);
+            return;
+        }
+
+        List<Document> documents;
+        String defaultLang;
+        if (cmd.hasOption("c")) {
+            defaultLang = cmd.getOptionValue("l", "en");
+            documents = new ArrayList<Document>();
+            try (DocumentSource source = DocumentSource.open(cmd.getOptionValue("c"))) {
+                while (source.hasNext()) {
+                    Document document = source.next();
+                    if (document.getError() == null) documents.add(document);
+                }
+            }
+        } else {
+            String[] langs = cmd.hasOption("l") ? cmd.getOptionValue("l").split(",") : LANGUAGES;
+            defaultLang = langs[0];
+            int sizeKb = Integer.parseInt(cmd.getOptionValue("s", "0"));
+            documents = new ArrayList<Document>();
+            for (String lang : langs) {
+                documents.add(new Document("sample-" + lang, "", Samples.load(lang, sizeKb), lang));
+            }
+        }
+
+        List<Integer> threads = new ArrayList<Integer>();
+        if (cmd.hasOption("p")) {
+            for (String count : cmd.getOptionValue("p").split(",")) {
+                threads.add(Integer.parseInt(count.trim()));
+            }
+        } else {
+            for (int count = 1; count <= 2 * Runtime.getRuntime().availableProcessors(); count *= 2) {
+                threads.add(count);
+            }
+        }
+        long duration = TimeUnit.SECONDS.toNanos(Long.parseLong(cmd.getOptionValue("d", "30")));
+        long warmup = TimeUnit.SECONDS.toNanos(Long.parseLong(cmd.getOptionValue("w", "10")));
+
+        LoadTest test = new LoadTest(documents, defaultLang, Integer.parseInt(cmd.getOptionValue("n", "3")),
+                Double.parseDouble(cmd.getOptionValue("r", "0")));
+        JsonObject results = test.run(threads, duration, warmup);
+
+        OutputStream out = cmd.hasOption("o") ? Files.newOutputStream(Paths.get(cmd.getOptionValue("o"))) : System.out;
+        JsonWriter writer = Json.createWriterFactory(Collections.singletonMap(JsonGenerator.PRETTY_PRINTING, true))
+                .createWriter(out);
+        writer.writeObject(results);
+        if (out == System.out) {
+            System.out.println();
+            System.out.flush();
+        } else {
+            writer.close();
+        }
+    }
+
+    /**
+     * This method is used to warm the summarizers up, then measure every
+     * thread count in turn.
+     *
+     * @param List<Integer> threads Thread counts to measure
+     * @param long duration Duration of each step, in nanoseconds
+     * @param long warmup Warm-up duration, in nanoseconds, at the highest thread count
+     * @return JsonObject Settings, JVM and the results of each step
+     */
+    public JsonObject run(List<Integer> threads, long duration, long warmup) throws InterruptedException {
+        if (warmup > 0) {
+            step(Collections.max(threads), warmup);
+        }
+
+        JsonArrayBuilder steps = Json.createArrayBuilder();
+        for (int count : threads) {
+            JsonObject step = step(count, duration);
+            JsonObject latency = step.getJsonObject("latencyMs");
+            System.err.printf("threads=%d throughput=%.1f docs/s p50=%.1f ms p99=%.1f ms max=%.1f ms errors=%d%n",
+                    count, step.getJsonNumber("throughput").doubleValue(),
+                    latency.getJsonNumber("p50").doubleValue(), latency.getJsonNumber("p99").doubleValue(),
+                    latency.getJsonNumber("max").doubleValue(), step.getInt("errors"));
+            steps.add(step);
+        }
+
+        JsonArrayBuilder languages = Json.createArrayBuilder();
+        for (String lang : summarizers.keySet()) {
+            languages.add(lang);
+        }
+        JsonArrayBuilder collectors = Json.createArrayBuilder();
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            collectors.add(collector.getName());
+        }
+        return Json.createObjectBuilder()
+                .add("mode", rate > 0 ? "open" : "closed")
+                .add("rate", rate)
+                .add("durationSeconds", TimeUnit.NANOSECONDS.toSeconds(duration))
+                .add("documents", documents.size())
+                .add("languages", languages)
+                .add("numSentences", numSentences)
+                .add("jvm", Json.createObjectBuilder()
+                        .add("version", System.getProperty("java.version"))
+                        .add("cores", Runtime.getRuntime().availableProcessors())
+                        .add("maxHeapMb", Runtime.getRuntime().maxMemory() >> 20)
+                        .add("collectors", collectors))
+                .add("steps", steps)
+                .build();
+    }
+
+    /**
+     * This method is used to replay the documents with a number of threads
+     * for a duration.
+     *
+     * @param int threads Number of calling threads
+     * @param long duration Duration, in nanoseconds
+     * @return JsonObject Latency percentiles, throughput, allocation and collections of the step
+     */
+    JsonObject step(int threads, long duration) throws InterruptedException {
+        final Histogram latency = new Histogram();
+        final AtomicLong next = new AtomicLong();
+        final LongAdder errors = new LongAdder();
+        final LongAdder allocated = new LongAdder();
+        Map<String, long[]> gc_before = collections();
+
+        final long start = System.nanoTime();
+        final long end = start + duration;
+        List<Thread> workers = new ArrayList<Thread>(threads);
+        for (int i = 0; i < threads; i++) {
+            Thread worker = new Thread(() -> {
+                long allocated_before = allocatedBytes();
+                while (true) {
+                    long n = next.getAndIncrement();
+                    long due;
+                    if (rate > 0) {
+                        due = start + (long) (n * 1e9 / rate);
+                        if (due >= end) break;
+                        for (long wait; (wait = due - System.nanoTime()) > 0; ) {
+                            LockSupport.parkNanos(wait);
+                        }
+                    } else {
+                        due = System.nanoTime();
+                        if (due >= end) break;
+                    }
+
+                    Document document = documents.get((int) (n % documents.size()));
+                    try {
+                        summarizers.get(lang(document)).summarize(document.getTitle() == null ? "" : document.getTitle(),
+                                document.getText(), numSentences, DELIMITER);
+                        latency.record(System.nanoTime() - due);
+                    } catch (IOException | RuntimeException e) {
+                        errors.increment();
+                    }
+                }
+                allocated.add(allocatedBytes() - allocated_before);
+            }, "textteaser-load-" + i);
+            worker.start();
+            workers.add(worker);
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        double elapsed = (System.nanoTime() - start) / 1e9;
+
+        long completed = latency.getCount();
+        JsonObjectBuilder gc = Json.createObjectBuilder();
+        long gc_count = 0;
+        long gc_time = 0;
+        for (Map.Entry<String, long[]> collector : collections().entrySet()) {
+            long[] before = gc_before.get(collector.getKey());
+            long count = collector.getValue()[0] - (before == null ? 0 : before[0]);
+            long time = collector.getValue()[1] - (before == null ? 0 : before[1]);
+            gc.add(collector.getKey(), Json.createObjectBuilder().add("count", count).add("timeMs", time));
+            gc_count += count;
+            gc_time += time;
+        }
+        long bytes = ALLOCATION == null ? -1 : allocated.sum();
+
+        return Json.createObjectBuilder()
+                .add("threads", threads)
+                .add("completed", completed)
+                .add("errors", errors.sum())
+                .add("elapsedSeconds", elapsed)
+                .add("throughput", completed / elapsed)
+                .add("latencyMs", Json.createObjectBuilder()
+                        .add("mean", latency.getMean() / 1e6)
+                        .add("p50", latency.getPercentile(50) / 1e6)
+                        .add("p95", latency.getPercentile(95) / 1e6)
+                        .add("p99", latency.getPercentile(99) / 1e6)
+                        .add("max", latency.getMax() / 1e6))
+                .add("allocation", Json.createObjectBuilder()
+                        .add("bytesPerSecond", bytes < 0 ? -1 : bytes / elapsed)
+                        .add("bytesPerDocument", bytes < 0 || completed == 0 ? -1 : bytes / completed))
+                .add("gc", Json.createObjectBuilder()
+                        .add("count", gc_count)
+                        .add("timeMs", gc_time)
+                        .add("collectors", gc))
+                .build();
+    }
+
+    private String lang(Document document) {
+        return document.getLang() == null ? defaultLang : document.getLang();
+    }
+
+    // Collection count and time of each collector
+    private static Map<String, long[]> collections() {
+        Map<String, long[]> collections = new LinkedHashMap<String, long[]>();
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            collections.put(collector.getName(),
+                    new long[]{Math.max(0, collector.getCollectionCount()), Math.max(0, collector.getCollectionTime())});
+        }
+        return collections;
+    }
+
+    // Bytes allocated by the current thread so far, 0 when the JVM cannot tell
+    private static long allocatedBytes() {
+        return ALLOCATION == null ? 0 : ALLOCATION.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    // Thread allocation counters are a HotSpot extension
+    private static com.sun.management.ThreadMXBean allocationBean() {
+        java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean hotspot = (com.sun.management.ThreadMXBean) threads;
+            if (hotspot.isThreadAllocatedMemorySupported() && hotspot.isThreadAllocatedMemoryEnabled()) {
+                return hotspot;
+            }
+        }
+        return null;
+    }
+
+}
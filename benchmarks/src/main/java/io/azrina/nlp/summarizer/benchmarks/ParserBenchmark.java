@@ -0,0 +1,78 @@
+package io.azrina.nlp.summarizer.benchmarks;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.stanford.nlp.stats.Counter;
+import edu.stanford.nlp.util.CoreMap;
+import io.azrina.nlp.summarizer.Parser;
+import io.azrina.nlp.summarizer.PipelineRegistry;
+
+/**
+ * <h1>ParserBenchmark</h1> Benchmarks of the Parser hot paths : sentence
+ * splitting, tokenizing and term frequencies, for every supported language
+ * and several document sizes.
+ **/
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+public class ParserBenchmark {
+
+    @Param({"en", "es", "fr", "ru", "ar", "zh-cn"})
+    public String lang;
+
+    // Document size, in thousands of characters
+    @Param({"4", "32"})
+    public int sizeKb;
+
+    private Parser parser;
+    private String document;
+    private List<CoreMap> sentences;
+    private String sentence;
+
+    @Setup
+    public void setUp() throws IOException {
+        PipelineRegistry.warmUp(lang);
+        parser = new Parser(lang);
+        document = Samples.load(lang, sizeKb);
+        sentences = parser.getSentences(document);
+
+        // Tokenize the longest sentence, the typical worst case of the scoring loop
+        sentence = "";
+        for (CoreMap s : sentences) {
+            if (s.toString().length() > sentence.length()) sentence = s.toString();
+        }
+    }
+
+    @Benchmark
+    public List<CoreMap> getSentences() {
+        return parser.getSentences(document);
+    }
+
+    @Benchmark
+    public List<String> tokenize() {
+        return parser.tokenize(sentence, false);
+    }
+
+    @Benchmark
+    public Counter<String> getTermFrequencies() {
+        return parser.getTermFrequencies(sentences);
+    }
+
+}
@@ -0,0 +1,53 @@
+package io.azrina.nlp.summarizer.benchmarks;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * <h1>Samples</h1> Loads the sample documents bundled with textteaser-java
+ * (src/resources/sample-*.txt), repeated up to a requested size.
+ **/
+public final class Samples {
+
+    private Samples() {
+    }
+
+    /**
+     * @param String lang Language code : en, es, fr, ru, ar or zh-cn
+     * @param int sizeKb Minimum size of the document, in thousands of characters
+     * @return String The language's sample, repeated as paragraphs up to the requested size
+     * @throws IOException
+     */
+    public static String load(String lang, int sizeKb) throws IOException {
+        String sample = load(lang);
+        StringBuilder document = new StringBuilder(sizeKb * 1024 + sample.length());
+        do {
+            if (document.length() > 0) document.append("\n\n");
+            document.append(sample);
+        } while (document.length() < sizeKb * 1024);
+        return document.toString();
+    }
+
+    /**
+     * @param String lang Language code : en, es, fr, ru, ar or zh-cn
+     * @return String The language's sample, as bundled
+     * @throws IOException
+     */
+    public static String load(String lang) throws IOException {
+        try (InputStream in = Samples.class.getResourceAsStream("/sample-" + lang + ".txt")) {
+            if (in == null) {
+                throw new IOException("No bundled sample for language " + lang);
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) >= 0) {
+                out.write(buffer, 0, read);
+            }
+            return new String(out.toByteArray(), StandardCharsets.UTF_8).trim();
+        }
+    }
+
+}
@@ -0,0 +1,108 @@
+package io.azrina.nlp.summarizer.benchmarks;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import edu.stanford.nlp.stats.Counter;
+import edu.stanford.nlp.stats.Counters;
+import edu.stanford.nlp.util.CoreMap;
+import io.azrina.nlp.summarizer.AnalyzedDocument;
+import io.azrina.nlp.summarizer.Parser;
+import io.azrina.nlp.summarizer.PipelineRegistry;
+import io.azrina.nlp.summarizer.ScoredSentence;
+import io.azrina.nlp.summarizer.Summarizer;
+
+/**
+ * <h1>SummarizerBenchmark</h1> Benchmarks of the Summarizer features (SBS and
+ * DBS over every sentence of a document), of the scoring kernel ranking a
+ * whole analyzed document, and of end-to-end summarization, for every
+ * supported language and several document sizes. rankSentences allocates
+ * only for the selected sentences, whatever the document size : compare its
+ * gc.alloc.rate.norm across sizeKb.
+ **/
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+public class SummarizerBenchmark {
+
+    @Param({"en", "es", "fr", "ru", "ar", "zh-cn"})
+    public String lang;
+
+    // Document size, in thousands of characters
+    @Param({"4", "32"})
+    public int sizeKb;
+
+    private Summarizer summarizer;
+    private String title;
+    private String document;
+    private Counter<String> termFrequencies;
+    private Map<String, Double> topKeywords;
+    private List<List<String>> sentenceWords;
+    private AnalyzedDocument analyzed;
+    private double[] keywordScores;
+
+    @Setup
+    public void setUp() throws IOException {
+        PipelineRegistry.warmUp(lang);
+        Parser parser = new Parser(lang);
+        summarizer = new Summarizer(lang);
+        document = Samples.load(lang, sizeKb);
+        title = "";
+
+        List<CoreMap> sentences = parser.getSentences(document);
+        termFrequencies = parser.getTermFrequencies(sentences);
+        topKeywords = Summarizer.getArticleScore(Counters.topKeys(termFrequencies, 10), termFrequencies);
+        sentenceWords = new ArrayList<List<String>>(sentences.size());
+        for (CoreMap sentence : sentences) {
+            sentenceWords.add(parser.tokenize(sentence.toString(), false));
+        }
+
+        analyzed = parser.analyze(title, sentences);
+        keywordScores = Summarizer.getArticleScores(analyzed.getVocabulary().topTerms(10), analyzed.getVocabulary());
+    }
+
+    @Benchmark
+    public void getSbs(Blackhole blackhole) {
+        for (List<String> words : sentenceWords) {
+            blackhole.consume(Summarizer.getSbs(words, topKeywords));
+        }
+    }
+
+    @Benchmark
+    public void getDbs(Blackhole blackhole) {
+        for (List<String> words : sentenceWords) {
+            blackhole.consume(Summarizer.getDbs(termFrequencies, words, topKeywords));
+        }
+    }
+
+    @Benchmark
+    public List<ScoredSentence> rankSentences() {
+        return summarizer.rankSentences(analyzed.getSentences(), analyzed.getKeywords(),
+                analyzed.getTitleKeywords(), keywordScores, analyzed.size(), 3);
+    }
+
+    @Benchmark
+    public String summarize() throws IOException {
+        return summarizer.summarize(title, document, 3, " (...) ");
+    }
+
+}
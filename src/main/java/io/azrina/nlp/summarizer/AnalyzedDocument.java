@@ -0,0 +1,277 @@
+package io.azrina.nlp.summarizer;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import edu.stanford.nlp.ling.CoreAnnotations;
+import edu.stanford.nlp.ling.CoreLabel;
+import edu.stanford.nlp.stats.ClassicCounter;
+import edu.stanford.nlp.stats.Counter;
+import edu.stanford.nlp.util.CoreMap;
+
+/**
+ * <h1>AnalyzedDocument</h1> A document analyzed in a single pass over the
+ * tokens produced while splitting its sentences : the original text of every
+ * token is normalized (lowercased, punctuation removed) and interned once, and
+ * nothing is tokenized a second time.
+ *
+ * It holds, for each sentence, the term ids of its tokens and of its keywords
+ * (the tokens which are not stopwords) and its position in the document, a
+ * stopword flag per term, and the document vocabulary whose frequencies
+ * exclude stopwords. The title is analyzed the same way, so title and
+ * sentences share one term space.
+ *
+ * Not thread-safe, like the Vocabulary it holds. Parts of a growing document
+ * can be analyzed one at a time into the same vocabulary, see
+ * IncrementalSummarizer.
+ **/
+public class AnalyzedDocument {
+
+    private static final int[] NO_TERMS = new int[0];
+
+    private final List<CoreMap> sentences;
+    private final Vocabulary vocabulary;
+    private final BitSet stopWords;
+    private final int[][] tokens;
+    private final int[][] keywords;
+    private final int[] positions;
+    private final int[] titleKeywords;
+
+    /**
+     * Analyzed document constructor.
+     *
+     * @param List<CoreMap> sentences Sentences of the document, with their tokens
+     * @param List<CoreMap> title Sentences of the title, with their tokens
+     * @param Set<String> stopWords Stopwords of the document's language
+     */
+    public AnalyzedDocument(List<CoreMap> sentences, List<CoreMap> title, Set<String> stopWords) {
+        this(sentences, title, stopWords, null);
+    }
+
+    /**
+     * Analyzed document constructor, for more text of an already analyzed
+     * document : terms are interned into the vocabulary of the previous part,
+     * and counted there, so that both parts share one term space.
+     *
+     * @param List<CoreMap> sentences Sentences of this part of the document, with their tokens
+     * @param List<CoreMap> title Sentences of the title, with their tokens, usually empty here
+     * @param Set<String> stopWords Stopwords of the document's language
+     * @param AnalyzedDocument previous Previous part of the document, or null to start a new vocabulary
+     */
+    AnalyzedDocument(List<CoreMap> sentences, List<CoreMap> title, Set<String> stopWords, AnalyzedDocument previous) {
+        this.sentences = sentences;
+        this.vocabulary = previous == null ? new Vocabulary() : previous.vocabulary;
+        this.stopWords = previous == null ? new BitSet() : previous.stopWords;
+        this.tokens = new int[sentences.size()][];
+        this.keywords = new int[sentences.size()][];
+        this.positions = new int[sentences.size()];
+
+        for (int i = 0; i < tokens.length; i++) {
+            CoreMap sentence = sentences.get(i);
+            tokens[i] = intern(sentence, stopWords);
+            keywords[i] = keywords(tokens[i]);
+            for (int id : keywords[i]) {
+                vocabulary.increment(id);
+            }
+            Integer index = sentence.get(CoreAnnotations.SentenceIndexAnnotation.class);
+            positions[i] = index == null ? i : index;
+        }
+
+        // Title words are interned, but do not count as document frequencies
+        int[] titleTokens = NO_TERMS;
+        for (CoreMap sentence : title) {
+            titleTokens = concat(titleTokens, intern(sentence, stopWords));
+        }
+        this.titleKeywords = keywords(titleTokens);
+    }
+
+    /**
+     * This method is used to get the term of a token : its original text,
+     * normalized. The PTB-escaped word is not used, so that '(' does not count
+     * as 'lrb'. Tokens made of symbols only, such as '$' or '+', have no term.
+     *
+     * @param CoreLabel token Token of a sentence
+     * @return String Normalized term, empty if the token has none
+     */
+    public static String term(CoreLabel token) {
+        String text = token.originalText();
+        if (text == null || text.isEmpty()) text = token.word();
+        String term = normalize(text);
+        for (int i = 0; i < term.length(); ) {
+            int c = term.codePointAt(i);
+            if (!isSymbol(c)) return term;
+            i += Character.charCount(c);
+        }
+        return "";
+    }
+
+    /**
+     * This method is used to normalize a token the way terms are counted :
+     * lowercased, whatever the default locale, without punctuation (Unicode
+     * category P).
+     *
+     * @param String token Token text
+     * @return String Normalized term, possibly empty
+     */
+    public static String normalize(String token) {
+        String lower = token.toLowerCase(Locale.ROOT);
+        int length = lower.length();
+        int i = 0;
+        while (i < length && !isPunctuation(lower.codePointAt(i))) i += Character.charCount(lower.codePointAt(i));
+        if (i == length) return lower;
+
+        StringBuilder term = new StringBuilder(length);
+        term.append(lower, 0, i);
+        while (i < length) {
+            int c = lower.codePointAt(i);
+            if (!isPunctuation(c)) term.appendCodePoint(c);
+            i += Character.charCount(c);
+        }
+        return term.toString();
+    }
+
+    public List<CoreMap> getSentences() {
+        return sentences;
+    }
+
+    public int size() {
+        return sentences.size();
+    }
+
+    /**
+     * @return Vocabulary Terms of the document, with their frequencies excluding stopwords
+     */
+    public Vocabulary getVocabulary() {
+        return vocabulary;
+    }
+
+    /**
+     * @param int sentence Index of a sentence
+     * @return int[] Term ids of every non-empty token of the sentence, stopwords included
+     */
+    public int[] getTokens(int sentence) {
+        return tokens[sentence];
+    }
+
+    /**
+     * @return int[][] Term ids of the keywords of each sentence
+     */
+    public int[][] getKeywords() {
+        return keywords;
+    }
+
+    /**
+     * @param int sentence Index of a sentence
+     * @return int[] Term ids of the keywords of the sentence
+     */
+    public int[] getKeywords(int sentence) {
+        return keywords[sentence];
+    }
+
+    /**
+     * @return int[] Term ids of the keywords of the title
+     */
+    public int[] getTitleKeywords() {
+        return titleKeywords;
+    }
+
+    /**
+     * @param int sentence Index of a sentence
+     * @return int Position of the sentence in the document
+     */
+    public int getPosition(int sentence) {
+        return positions[sentence];
+    }
+
+    /**
+     * @param int term Term id
+     * @return boolean True if the term is a stopword
+     */
+    public boolean isStopWord(int term) {
+        return stopWords.get(term);
+    }
+
+    /**
+     * @return Counter<String> Term frequencies, as Parser.getTermFrequencies
+     */
+    public Counter<String> getTermFrequencies() {
+        Counter<String> termFrequencies = new ClassicCounter<String>();
+        for (int id = 0; id < vocabulary.size(); id++) {
+            if (vocabulary.count(id) > 0) {
+                termFrequencies.setCount(vocabulary.term(id), vocabulary.count(id));
+            }
+        }
+        return termFrequencies;
+    }
+
+    private int[] intern(CoreMap sentence, Set<String> stopWordSet) {
+        List<CoreLabel> labels = sentence.get(CoreAnnotations.TokensAnnotation.class);
+        if (labels == null) return NO_TERMS;
+
+        int[] ids = new int[labels.size()];
+        int n = 0;
+        for (CoreLabel label : labels) {
+            String term = term(label);
+            if (term.isEmpty()) continue;
+            int id = vocabulary.intern(term);
+            if (stopWordSet.contains(term)) {
+                stopWords.set(id);
+            }
+            ids[n++] = id;
+        }
+        return n == ids.length ? ids : Arrays.copyOf(ids, n);
+    }
+
+    private int[] keywords(int[] ids) {
+        int n = 0;
+        for (int id : ids) {
+            if (!stopWords.get(id)) n++;
+        }
+        if (n == ids.length) return ids;
+
+        int[] keywords = new int[n];
+        n = 0;
+        for (int id : ids) {
+            if (!stopWords.get(id)) keywords[n++] = id;
+        }
+        return keywords;
+    }
+
+    private static int[] concat(int[] a, int[] b) {
+        if (a.length == 0) return b;
+        int[] c = Arrays.copyOf(a, a.length + b.length);
+        System.arraycopy(b, 0, c, a.length, b.length);
+        return c;
+    }
+
+    private static boolean isSymbol(int c) {
+        switch (Character.getType(c)) {
+            case Character.MATH_SYMBOL:
+            case Character.CURRENCY_SYMBOL:
+            case Character.MODIFIER_SYMBOL:
+            case Character.OTHER_SYMBOL:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static boolean isPunctuation(int c) {
+        switch (Character.getType(c)) {
+            case Character.CONNECTOR_PUNCTUATION:
+            case Character.DASH_PUNCTUATION:
+            case Character.START_PUNCTUATION:
+            case Character.END_PUNCTUATION:
+            case Character.INITIAL_QUOTE_PUNCTUATION:
+            case Character.FINAL_QUOTE_PUNCTUATION:
+            case Character.OTHER_PUNCTUATION:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+}
@@ -0,0 +1,183 @@
+package io.azrina.nlp.summarizer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <h1>AsyncSummarizer</h1> Non-blocking front of the summarizers : every call
+ * returns a CompletableFuture at once, and the summarization runs on an
+ * executor, either given by the caller or built in. Documents of different
+ * languages can be mixed : one shared Summarizer is kept per language, and
+ * all of them reuse the pipelines held by PipelineRegistry.
+ *
+ * For a stream of documents, processor() gives a Flow.Processor with
+ * demand-driven backpressure and a bounded number of documents in flight.
+ **/
+public class AsyncSummarizer implements AutoCloseable {
+
+    private final String lang;
+    private final Executor executor;
+    private final ExecutorService ownExecutor;
+    private final SummaryCache cache;
+    private final NearDuplicateIndex nearDuplicates;
+    private final ConcurrentMap<String, Summarizer> summarizers = new ConcurrentHashMap<String, Summarizer>();
+
+    /**
+     * Asynchronous summarizer constructor, with a built-in executor of one
+     * thread per core, shut down by close().
+     *
+     * @param String lang Language of the documents which do not specify one
+     */
+    public AsyncSummarizer(String lang) {
+        this(lang, null, null, null);
+    }
+
+    /**
+     * Asynchronous summarizer constructor.
+     *
+     * @param String lang Language of the documents which do not specify one
+     * @param Executor executor Executor running the summarizations, left running by close()
+     */
+    public AsyncSummarizer(String lang, Executor executor) {
+        this(lang, executor, null, null);
+    }
+
+    /**
+     * Asynchronous summarizer constructor, answering repeated documents from a
+     * cache and near-duplicates from an index.
+     *
+     * @param String lang Language of the documents which do not specify one
+     * @param Executor executor Executor running the summarizations, or null for the built-in one
+     * @param SummaryCache cache Summary cache shared by every language, or null
+     * @param NearDuplicateIndex nearDuplicates Near-duplicate index shared by every language, or null
+     */
+    public AsyncSummarizer(String lang, Executor executor, SummaryCache cache, NearDuplicateIndex nearDuplicates) {
+        this.lang = lang;
+        this.ownExecutor = executor == null ? newExecutor() : null;
+        this.executor = executor == null ? ownExecutor : executor;
+        this.cache = cache;
+        this.nearDuplicates = nearDuplicates;
+    }
+
+    /**
+     * @param String lang Language code
+     * @return Summarizer Shared summarizer of the given language
+     */
+    public Summarizer getSummarizer(String lang) {
+        return summarizers.computeIfAbsent(lang == null ? this.lang : lang,
+                l -> Summarizer.create(l, cache, nearDuplicates));
+    }
+
+    /**
+     * This method is used to summarize a document asynchronously.
+     *
+     * @param Document document Document to be summarized
+     * @param int numSentences Number of maximum sentences in the summary
+     * @param String delimiter Delimiter between sentences in generated summary
+     * @return CompletableFuture<String> Summarized text, or the failure of the summarizer or of the document
+     *         source, see Document.getError
+     */
+    public CompletableFuture<String> summarize(Document document, int numSentences, String delimiter) {
+        if (document.getError() != null) {
+            return CompletableFuture.failedFuture(document.getError());
+        }
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return getSummarizer(document.getLang()).summarize(document.getTitle(), document.getText(),
+                        numSentences, delimiter);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, executor);
+    }
+
+    /**
+     * This method is used to summarize a text of the default language
+     * asynchronously.
+     *
+     * @param String title Text title
+     * @param String text Text to be summarized
+     * @param int numSentences Number of maximum sentences in the summary
+     * @param String delimiter Delimiter between sentences in generated summary
+     * @return CompletableFuture<String> Summarized text, or the failure of the summarizer
+     */
+    public CompletableFuture<String> summarize(String title, String text, int numSentences, String delimiter) {
+        return summarize(new Document(null, title, text, null), numSentences, delimiter);
+    }
+
+    /**
+     * This method is used to get the summary sentences of a document
+     * asynchronously.
+     *
+     * @param Document document Document to be summarized
+     * @param int numSentences Number of maximum sentences in the summary
+     * @return CompletableFuture<List<String>> Summary sentences, best first
+     */
+    public CompletableFuture<List<String>> getSummarySentences(Document document, int numSentences) {
+        if (document.getError() != null) {
+            return CompletableFuture.failedFuture(document.getError());
+        }
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return getSummarizer(document.getLang()).getSummarySentences(document.getTitle(),
+                        document.getText(), numSentences);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, executor);
+    }
+
+    /**
+     * This method is used to create a processor summarizing the documents of
+     * a publisher. Documents are requested from upstream as subscribers
+     * request summaries, at most maxInFlight of them at once.
+     *
+     * @param int numSentences Number of maximum sentences in each summary
+     * @param String delimiter Delimiter between sentences in generated summaries
+     * @param int maxInFlight Maximum number of documents summarized at once
+     * @return SummarizingProcessor Processor to subscribe to a publisher of documents
+     */
+    public SummarizingProcessor processor(int numSentences, String delimiter, int maxInFlight) {
+        return new SummarizingProcessor(this, numSentences, delimiter, maxInFlight);
+    }
+
+    /**
+     * This method is used to shut the built-in executor down, after the
+     * pending summarizations. A caller-supplied executor is left running.
+     * If interrupted while waiting, the pending summarizations are cancelled
+     * and the interrupt status is kept.
+     */
+    @Override
+    public void close() {
+        if (ownExecutor != null) {
+            ownExecutor.shutdown();
+            try {
+                ownExecutor.awaitTermination(1, TimeUnit.MINUTES);
+            } catch (InterruptedException e) {
+                ownExecutor.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static ExecutorService newExecutor() {
+        final AtomicInteger count = new AtomicInteger();
+        ThreadFactory factory = runnable -> {
+            Thread thread = new Thread(runnable, "textteaser-async-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), factory);
+    }
+
+}
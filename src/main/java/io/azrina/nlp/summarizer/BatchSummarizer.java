@@ -0,0 +1,245 @@
+package io.azrina.nlp.summarizer;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <h1>BatchSummarizer</h1> A class summarizing a stream of documents on a
+ * fork-join pool. Documents of different languages can be mixed : one shared
+ * Summarizer is kept per language, and all of them reuse the pipelines held
+ * by PipelineRegistry.
+ *
+ * At most a fixed number of documents are in flight at any time, so arbitrarily
+ * large corpora can be processed with a bounded footprint. Results are handed
+ * to a BatchListener from the calling thread, either in input order or in
+ * completion order.
+ **/
+public class BatchSummarizer implements AutoCloseable {
+
+    private final String lang;
+    private final ForkJoinPool pool;
+    private final int maxInFlight;
+    private final SummaryCache cache;
+    private final NearDuplicateIndex nearDuplicates;
+    private final ConcurrentMap<String, Summarizer> summarizers = new ConcurrentHashMap<String, Summarizer>();
+
+    /**
+     * Receives the result of each document of a batch.
+     */
+    public interface BatchListener {
+
+        void onSummary(Document document, String summary) throws Exception;
+
+        void onError(Document document, Throwable error) throws Exception;
+    }
+
+    /**
+     * Batch summarizer constructor.
+     *
+     * @param String lang Language of the documents which do not specify one
+     * @param int parallelism Number of worker threads
+     */
+    public BatchSummarizer(String lang, int parallelism) {
+        this(lang, parallelism, null);
+    }
+
+    /**
+     * Batch summarizer constructor, answering repeated documents from a cache.
+     *
+     * @param String lang Language of the documents which do not specify one
+     * @param int parallelism Number of worker threads
+     * @param SummaryCache cache Summary cache shared by every language, or null
+     */
+    public BatchSummarizer(String lang, int parallelism, SummaryCache cache) {
+        this(lang, parallelism, cache, null);
+    }
+
+    /**
+     * Batch summarizer constructor, answering repeated documents from a cache
+     * and near-duplicates from an index.
+     *
+     * @param String lang Language of the documents which do not specify one
+     * @param int parallelism Number of worker threads
+     * @param SummaryCache cache Summary cache shared by every language, or null
+     * @param NearDuplicateIndex nearDuplicates Near-duplicate index shared by every language, or null
+     */
+    public BatchSummarizer(String lang, int parallelism, SummaryCache cache, NearDuplicateIndex nearDuplicates) {
+        this.lang = lang;
+        this.pool = new ForkJoinPool(parallelism);
+        this.maxInFlight = parallelism * 4;
+        this.cache = cache;
+        this.nearDuplicates = nearDuplicates;
+    }
+
+    /**
+     * @param String lang Language code
+     * @return Summarizer Shared summarizer of the given language
+     */
+    public Summarizer getSummarizer(String lang) {
+        return summarizers.computeIfAbsent(lang == null ? this.lang : lang,
+                l -> Summarizer.create(l, cache, nearDuplicates));
+    }
+
+    /**
+     * This method is used to summarize every document of the given iterator.
+     *
+     * @param Iterator<Document> documents Documents to be summarized
+     * @param int numSentences Number of maximum sentences in each summary
+     * @param String delimiter Delimiter between sentences in generated summaries
+     * @param boolean inputOrder If true, results are reported in input order, otherwise in completion order
+     * @param BatchListener listener Receives each summary
+     * @return Stats Number of documents, errors and elapsed time
+     * @throws Exception if the listener fails
+     */
+    public Stats run(Iterator<Document> documents, int numSentences, String delimiter, boolean inputOrder,
+                     BatchListener listener) throws Exception {
+        long start = System.nanoTime();
+        Stats stats = inputOrder ? runOrdered(documents, numSentences, delimiter, listener)
+                : runUnordered(documents, numSentences, delimiter, listener);
+        stats.elapsedNanos = System.nanoTime() - start;
+        return stats;
+    }
+
+    private Stats runOrdered(Iterator<Document> documents, int numSentences, String delimiter,
+                             BatchListener listener) throws Exception {
+        Stats stats = new Stats();
+        Deque<Task> pending = new ArrayDeque<Task>(maxInFlight);
+
+        while (documents.hasNext()) {
+            if (pending.size() >= maxInFlight) {
+                Task task = pending.poll();
+                task.future.get();
+                report(task, listener, stats);
+            }
+            Task task = new Task(documents.next(), numSentences, delimiter);
+            task.future = pool.submit(task);
+            pending.add(task);
+        }
+        while (!pending.isEmpty()) {
+            Task task = pending.poll();
+            task.future.get();
+            report(task, listener, stats);
+        }
+        return stats;
+    }
+
+    private Stats runUnordered(Iterator<Document> documents, int numSentences, String delimiter,
+                               BatchListener listener) throws Exception {
+        Stats stats = new Stats();
+        CompletionService<Task> completion = new ExecutorCompletionService<Task>(pool);
+        int inFlight = 0;
+
+        while (documents.hasNext()) {
+            if (inFlight >= maxInFlight) {
+                report(completion.take().get(), listener, stats);
+                inFlight--;
+            }
+            Task task = new Task(documents.next(), numSentences, delimiter);
+            completion.submit(task, task);
+            inFlight++;
+        }
+        while (inFlight > 0) {
+            report(completion.take().get(), listener, stats);
+            inFlight--;
+        }
+        return stats;
+    }
+
+    private void report(Task task, BatchListener listener, Stats stats) throws Exception {
+        stats.documents++;
+        if (task.error == null) {
+            listener.onSummary(task.document, task.summary);
+        } else {
+            stats.errors++;
+            listener.onError(task.document, task.error);
+        }
+    }
+
+    /**
+     * This method is used to stop the worker threads, once the documents in
+     * flight are summarized. If interrupted while waiting, the interrupt flag
+     * is restored and the remaining tasks are cancelled.
+     */
+    @Override
+    public void close() {
+        pool.shutdown();
+        try {
+            pool.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            pool.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * A submitted document and its outcome. The outcome fields are published
+     * to the reporting thread through the task's future.
+     */
+    private class Task implements Runnable {
+
+        private final Document document;
+        private final int numSentences;
+        private final String delimiter;
+        private Future<?> future;
+        private String summary;
+        private Throwable error;
+
+        private Task(Document document, int numSentences, String delimiter) {
+            this.document = document;
+            this.numSentences = numSentences;
+            this.delimiter = delimiter;
+        }
+
+        @Override
+        public void run() {
+            if (document.getError() != null) {
+                error = document.getError();
+                return;
+            }
+            try {
+                summary = getSummarizer(document.getLang()).summarize(document.getTitle(), document.getText(),
+                        numSentences, delimiter);
+            } catch (Throwable e) {
+                error = e;
+            }
+        }
+    }
+
+    /**
+     * Outcome of a batch.
+     */
+    public static class Stats {
+
+        private long documents;
+        private long errors;
+        private long elapsedNanos;
+
+        public long getDocuments() {
+            return documents;
+        }
+
+        public long getErrors() {
+            return errors;
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        /**
+         * @return double Number of documents summarized per second
+         */
+        public double getThroughput() {
+            return elapsedNanos == 0 ? 0.0 : documents / (elapsedNanos / 1e9);
+        }
+    }
+
+}
@@ -0,0 +1,86 @@
+package io.azrina.nlp.summarizer;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <h1>CachingSummarizer</h1> A Summarizer answering repeated content from a
+ * SummaryCache, without running the parser at all. It can be used wherever a
+ * Summarizer is expected; one cache can be shared by the summarizers of
+ * several languages, since the language and the fingerprint of the parser are
+ * part of the key.
+ **/
+public class CachingSummarizer extends Summarizer {
+
+    private final SummaryCache cache;
+
+    // constructor with param
+    public CachingSummarizer(String lang, SummaryCache cache) {
+        this(new Parser(lang), cache);
+    }
+
+    // constructor with a configured parser, e.g. with a specific text engine
+    public CachingSummarizer(Parser parser, SummaryCache cache) {
+        super(parser);
+        this.cache = cache;
+    }
+
+    @Override
+    public List<String> getSummarySentences(String title, CharSequence document, int numSentences)
+            throws IOException {
+        String key = SummaryCache.key(parser.lang, parser.getFingerprint(), title, document, numSentences);
+        List<String> sentences = cache.get(key);
+        if (sentences == null) {
+            sentences = super.getSummarySentences(title, document, numSentences);
+            cache.put(key, sentences);
+        }
+        return sentences;
+    }
+
+    /**
+     * Structured summaries are cached apart from the sentences, with their
+     * offsets, scores and features; a hit only cleans the document again.
+     */
+    @Override
+    public Summary getSummary(String title, CharSequence document, int numSentences) throws IOException {
+        String key = SummaryCache.key(parser.lang, parser.getFingerprint() + "/summary", title, document,
+                numSentences);
+        List<String> entries = cache.get(key);
+        if (entries == null) {
+            Summary summary = super.getSummary(title, document, numSentences);
+            cache.put(key, summary.toEntries());
+            return summary;
+        }
+        String text = Parser.clean(document);
+        return Summary.fromEntries(document, text, origins(document, text), entries);
+    }
+
+    /**
+     * Degraded summaries are not cached, so a later call with more time can
+     * compute the full one.
+     */
+    @Override
+    public DeadlineSummary summarize(String title, CharSequence document, int numSentences, long budget,
+                                     TimeUnit unit) throws IOException {
+        long started = System.nanoTime();
+        String key = SummaryCache.key(parser.lang, parser.getFingerprint(), title, document, numSentences);
+        List<String> sentences = cache.get(key);
+        if (sentences != null) {
+            return new DeadlineSummary(sentences, null, System.nanoTime() - started);
+        }
+        DeadlineSummary summary = super.summarize(title, document, numSentences, budget, unit);
+        if (!summary.isDegraded()) {
+            cache.put(key, summary.getSentences());
+        }
+        return summary;
+    }
+
+    /**
+     * @return SummaryCache Cache of this summarizer
+     */
+    public SummaryCache getCache() {
+        return cache;
+    }
+
+}
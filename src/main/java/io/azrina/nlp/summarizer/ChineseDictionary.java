@@ -0,0 +1,378 @@
+package io.azrina.nlp.summarizer;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.ObjectInputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.CRC32;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * <h1>ChineseDictionary</h1> Chinese words and their unigram frequencies, in
+ * a DoubleArrayTrie, for the word segmentation of the native zh-cn engine
+ * (see ChineseTextEngine). A run of Han characters is segmented into the
+ * sequence of words of highest probability (Viterbi over the unigram
+ * frequencies); characters which start no word are words of their own, at the
+ * cost of a word rarer than any in the dictionary.
+ *
+ * The words come from, in order of precedence :
+ * <ul>
+ * <li>a file registered with override(),</li>
+ * <li>the file named by the 'textteaser.dictionary.zh-cn' system property,</li>
+ * <li>the bundled dictionaries/zh-cn.txt resource, a small list of common
+ * words. When the Chinese Core NLP models are on the classpath, the word list
+ * of their segmenter (dict-chris6.ser.gz, without frequencies) extends it.</li>
+ * </ul>
+ * Files are UTF-8, one word per line, optionally followed by its frequency and
+ * a part of speech tag, separated by whitespace (the format of the jieba
+ * dictionaries). Words without a frequency count as DEFAULT_FREQUENCY, and
+ * lines starting with '#' are ignored.
+ *
+ * Building the trie of the 400,000 words of Core NLP takes seconds, so
+ * dictionaries can also be prebuilt, see write() : files ending in .trie are
+ * read as such, in milliseconds. The default dictionary is prebuilt on first
+ * use into the directory named by the 'textteaser.dictionary.cache' system
+ * property, ~/.cache/textteaser by default (an empty name disables it), and
+ * later JVMs read it from there. Its file is named after the word lists it
+ * was built from, so that other versions of them are built again.
+ **/
+public final class ChineseDictionary {
+
+    static final String LANG = "zh-cn";
+    static final double DEFAULT_FREQUENCY = 5.0;
+
+    private static final String CORENLP_DICTIONARY = "edu/stanford/nlp/models/segmenter/chinese/dict-chris6.ser.gz";
+    private static final String WORDS = "dictionaries/" + LANG + ".txt";
+    private static final int FORMAT_VERSION = 1;
+    private static final int MAX_WORD_LENGTH = 16;
+    private static volatile ChineseDictionary shared;
+
+    private final DoubleArrayTrie trie;
+    private final double[] costs;
+    private final double unknownCost;
+
+    /**
+     * Chinese dictionary constructor.
+     *
+     * @param Map<String, Double> frequencies Words and their frequencies
+     */
+    public ChineseDictionary(Map<String, Double> frequencies) {
+        // Words are sorted for the trie, their index in the trie is the index of their cost
+        String[] words = frequencies.keySet().toArray(new String[frequencies.size()]);
+        Arrays.sort(words);
+        double[] counts = new double[words.length];
+        double total = 0.0;
+        for (int i = 0; i < words.length; i++) {
+            counts[i] = Math.max(frequencies.get(words[i]), 1.0);
+            total += counts[i];
+        }
+
+        // Costs are negative log probabilities, so that the best segmentation has the lowest sum
+        double log_total = Math.log(Math.max(total, 1.0));
+        this.costs = new double[words.length];
+        for (int i = 0; i < words.length; i++) {
+            costs[i] = log_total - Math.log(counts[i]);
+        }
+        this.unknownCost = log_total - Math.log(0.5);
+        this.trie = new DoubleArrayTrie(words);
+    }
+
+    // Dictionary read back by read()
+    private ChineseDictionary(DoubleArrayTrie trie, double[] costs, double unknownCost) {
+        this.trie = trie;
+        this.costs = costs;
+        this.unknownCost = unknownCost;
+    }
+
+    /**
+     * @return ChineseDictionary Dictionary shared by the Chinese engines, loaded on first use
+     * @throws UncheckedIOException if the configured dictionary cannot be read
+     */
+    public static ChineseDictionary get() {
+        ChineseDictionary dictionary = shared;
+        if (dictionary == null) {
+            synchronized (ChineseDictionary.class) {
+                dictionary = shared;
+                if (dictionary == null) {
+                    shared = dictionary = load();
+                }
+            }
+        }
+        return dictionary;
+    }
+
+    /**
+     * This method is used to replace the shared dictionary with the content of
+     * a file. Engines created afterwards use the new dictionary.
+     *
+     * @param Path file Dictionary file, one word and its optional frequency per line
+     * @throws IOException
+     */
+    public static void override(Path file) throws IOException {
+        shared = open(file);
+    }
+
+    /**
+     * This method is used to build the default dictionary from the bundled
+     * word lists, ignoring any prebuilt one.
+     *
+     * @return ChineseDictionary Dictionary of the bundled words, and of Core NLP's if on the classpath
+     * @throws IOException
+     */
+    public static ChineseDictionary build() throws IOException {
+        Map<String, Double> frequencies = new LinkedHashMap<String, Double>();
+        try (InputStream in = ChineseDictionary.class.getClassLoader().getResourceAsStream(WORDS)) {
+            if (in != null) {
+                read(new InputStreamReader(in, StandardCharsets.UTF_8), frequencies);
+            }
+        }
+        readCoreNlp(frequencies);
+        return new ChineseDictionary(frequencies);
+    }
+
+    /**
+     * This method is used to read a dictionary from a file : prebuilt if its
+     * name ends in .trie, otherwise a list of words.
+     *
+     * @param Path file Dictionary file
+     * @return ChineseDictionary Dictionary of the file
+     * @throws IOException
+     */
+    public static ChineseDictionary open(Path file) throws IOException {
+        if (file.getFileName().toString().endsWith(".trie")) {
+            try (InputStream in = Files.newInputStream(file)) {
+                return read(in);
+            }
+        }
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return new ChineseDictionary(read(reader, new LinkedHashMap<String, Double>()));
+        }
+    }
+
+    /**
+     * This method is used to read a dictionary written by write().
+     *
+     * @param InputStream in Prebuilt dictionary
+     * @return ChineseDictionary Dictionary, as it was written
+     * @throws IOException if the stream is not a prebuilt dictionary of this version
+     */
+    public static ChineseDictionary read(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(new BufferedInputStream(in, 1 << 16));
+        if (data.readInt() != FORMAT_VERSION) {
+            throw new IOException("Not a prebuilt dictionary, or of another version");
+        }
+        double unknownCost = data.readDouble();
+        byte[] bytes = new byte[data.readInt() * 8];
+        data.readFully(bytes);
+        double[] costs = new double[bytes.length / 8];
+        ByteBuffer.wrap(bytes).asDoubleBuffer().get(costs);
+        return new ChineseDictionary(DoubleArrayTrie.read(data), costs, unknownCost);
+    }
+
+    /**
+     * This method is used to write the dictionary prebuilt : the cost of each
+     * word and the trie, which are read back as is. Name the file with the
+     * .trie extension.
+     *
+     * @param Path file Destination file
+     * @throws IOException
+     */
+    public void write(Path file) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file),
+                1 << 16))) {
+            out.writeInt(FORMAT_VERSION);
+            out.writeDouble(unknownCost);
+            out.writeInt(costs.length);
+            ByteBuffer bytes = ByteBuffer.allocate(costs.length * 8);
+            bytes.asDoubleBuffer().put(costs);
+            out.write(bytes.array());
+            trie.write(out);
+        }
+    }
+
+    /**
+     * @param CharSequence word Word to be searched
+     * @return boolean True if the word is in the dictionary
+     */
+    public boolean contains(CharSequence word) {
+        return trie.get(word) >= 0;
+    }
+
+    /**
+     * @return int Number of words
+     */
+    public int size() {
+        return costs.length;
+    }
+
+    /**
+     * This method is used to segment a run of Chinese characters into words.
+     *
+     * @param CharSequence text Text holding the run
+     * @param int begin Offset of the first character of the run
+     * @param int end Offset after the last character of the run
+     * @param int[] ends Filled with the end offset of each word, at least end - begin long
+     * @return int Number of words
+     */
+    public int segment(CharSequence text, int begin, int end, int[] ends) {
+        int length = end - begin;
+        double[] best = new double[length + 1];
+        int[] previous = new int[length + 1];
+        Arrays.fill(best, 1, length + 1, Double.POSITIVE_INFINITY);
+        int[] lengths = new int[MAX_WORD_LENGTH];
+        int[] values = new int[MAX_WORD_LENGTH];
+
+        for (int i = 0; i < length; i++) {
+            int found = trie.prefixes(text, begin + i, end, lengths, values);
+            boolean single = false;
+            for (int k = 0; k < found; k++) {
+                relax(best, previous, i, i + lengths[k], costs[values[k]]);
+                single |= lengths[k] == 1;
+            }
+            if (!single) {
+                int width = Character.isHighSurrogate(text.charAt(begin + i)) && i + 1 < length ? 2 : 1;
+                relax(best, previous, i, i + width, unknownCost);
+            }
+        }
+
+        // Words are found backwards from the end of the run
+        int count = 0;
+        for (int i = length; i > 0; i = previous[i]) {
+            count++;
+        }
+        int w = count;
+        for (int i = length; i > 0; i = previous[i]) {
+            ends[--w] = begin + i;
+        }
+        return count;
+    }
+
+    private static void relax(double[] best, int[] previous, int from, int to, double cost) {
+        double total = best[from] + cost;
+        if (total < best[to]) {
+            best[to] = total;
+            previous[to] = from;
+        }
+    }
+
+    static ChineseDictionary load() {
+        try {
+            String file = System.getProperty("textteaser.dictionary." + LANG);
+            if (file != null) {
+                return open(Paths.get(file));
+            }
+            Path cached = cacheFile();
+            if (cached != null && Files.isRegularFile(cached)) {
+                try (InputStream in = Files.newInputStream(cached)) {
+                    return read(in);
+                } catch (IOException | RuntimeException e) {
+                    // Truncated or of another version : built and written again below
+                }
+            }
+            ChineseDictionary dictionary = build();
+            if (cached != null) {
+                dictionary.cache(cached);
+            }
+            return dictionary;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Prebuilt default dictionary, named after the format and the word lists it is built
+    // from, or null if caching is disabled or the word lists cannot be identified
+    private static Path cacheFile() {
+        String directory = System.getProperty("textteaser.dictionary.cache",
+                Paths.get(System.getProperty("user.home"), ".cache", "textteaser").toString());
+        if (directory.isEmpty()) return null;
+        CRC32 crc = new CRC32();
+        crc.update(FORMAT_VERSION);
+        try {
+            for (String resource : new String[] { WORDS, CORENLP_DICTIONARY }) {
+                URL url = ChineseDictionary.class.getClassLoader().getResource(resource);
+                if (url == null) continue;
+                URLConnection connection = url.openConnection();
+                String identity = url + " " + connection.getContentLengthLong() + " " + connection.getLastModified();
+                crc.update(identity.getBytes(StandardCharsets.UTF_8));
+            }
+        } catch (IOException e) {
+            return null;
+        }
+        return Paths.get(directory, LANG + "-" + Long.toHexString(crc.getValue()) + ".trie");
+    }
+
+    // Written to a temporary file first, so that other JVMs never read a partial dictionary
+    private void cache(Path file) {
+        try {
+            Files.createDirectories(file.getParent());
+            Path temp = Files.createTempFile(file.getParent(), LANG, ".tmp");
+            try {
+                write(temp);
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            // Read-only or full : the next JVM builds the dictionary again
+        }
+    }
+
+    static Map<String, Double> read(Reader reader, Map<String, Double> frequencies) throws IOException {
+        BufferedReader lines = new BufferedReader(reader);
+        String line;
+        while ((line = lines.readLine()) != null) {
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) continue;
+            String[] fields = line.split("\\s+");
+            if (fields[0].length() > MAX_WORD_LENGTH) continue;
+            double frequency = DEFAULT_FREQUENCY;
+            if (fields.length > 1) {
+                try {
+                    frequency = Double.parseDouble(fields[1]);
+                } catch (NumberFormatException e) {
+                    // A tag without a frequency
+                }
+            }
+            frequencies.put(fields[0], frequency);
+        }
+        return frequencies;
+    }
+
+    // Words of the Core NLP Chinese segmenter, when its models are on the classpath
+    @SuppressWarnings("unchecked")
+    private static void readCoreNlp(Map<String, Double> frequencies) throws IOException {
+        InputStream resource = ChineseDictionary.class.getClassLoader().getResourceAsStream(CORENLP_DICTIONARY);
+        if (resource == null) return;
+        try (ObjectInputStream in = new ObjectInputStream(new BufferedInputStream(new GZIPInputStream(resource)))) {
+            // An array of word sets, by word length
+            for (Set<String> words : (Set<String>[]) in.readObject()) {
+                if (words == null) continue;
+                for (String word : words) {
+                    if (word.length() <= MAX_WORD_LENGTH) frequencies.putIfAbsent(word, DEFAULT_FREQUENCY);
+                }
+            }
+        } catch (ClassNotFoundException | ClassCastException e) {
+            // Not the expected format : the bundled dictionary is used alone
+        }
+    }
+
+}
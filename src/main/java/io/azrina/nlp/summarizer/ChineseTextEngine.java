@@ -0,0 +1,179 @@
+package io.azrina.nlp.summarizer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import edu.stanford.nlp.ling.CoreAnnotations;
+import edu.stanford.nlp.ling.CoreLabel;
+import edu.stanford.nlp.pipeline.Annotation;
+import edu.stanford.nlp.util.CoreMap;
+
+/**
+ * <h1>ChineseTextEngine</h1> A lightweight sentence splitter and word
+ * segmenter for Chinese (zh-cn), which does not need the Stanford Core NLP
+ * segmentation models : the native engine of zh-cn, see TextEngines.
+ *
+ * Sentences end at '。', '！', '？', '!', '?', '…' or '.' (not within a number
+ * or a latin word), followed by any closing quote or bracket, and at blank
+ * lines, as in the Core NLP Chinese pipeline. Runs of Han characters are
+ * segmented with a ChineseDictionary, runs of other letters and digits
+ * (latin words, numbers such as 0.06) are words of their own, and every other
+ * character which is not whitespace is a token of its own.
+ **/
+public class ChineseTextEngine implements SentenceSplitter, Tokenizer {
+
+    private final ChineseDictionary dictionary;
+
+    // default constructor
+    public ChineseTextEngine() {
+        this(ChineseDictionary.get());
+    }
+
+    // constructor with param
+    public ChineseTextEngine(ChineseDictionary dictionary) {
+        this.dictionary = dictionary;
+    }
+
+    @Override
+    public List<CoreMap> split(String document) {
+        List<CoreMap> sentences = new ArrayList<CoreMap>();
+        int length = document.length();
+        int begin = skipWhitespace(document, 0);
+
+        int i = begin;
+        while (i < length) {
+            char c = document.charAt(i);
+            int end = -1;
+
+            if (isTerminator(document, i)) {
+                // Swallow repeated terminators and closing quotes or brackets
+                while (i + 1 < length && isTerminator(document, i + 1)) i++;
+                while (i + 1 < length && isCloser(document.charAt(i + 1))) i++;
+                end = i + 1;
+            } else if (c == '\n' && isBlankLine(document, i)) {
+                end = trimEnd(document, begin, i);
+            }
+
+            if (end > begin) {
+                addSentence(document, begin, end, sentences);
+                begin = skipWhitespace(document, end);
+                i = begin;
+            } else {
+                i++;
+            }
+        }
+
+        int end = trimEnd(document, begin, length);
+        if (end > begin) {
+            addSentence(document, begin, end, sentences);
+        }
+        return sentences;
+    }
+
+    @Override
+    public List<String> tokenize(String sentence) {
+        List<CoreLabel> tokens = new ArrayList<CoreLabel>();
+        segment(sentence, 0, sentence.length(), tokens);
+        List<String> words = new ArrayList<String>(tokens.size());
+        for (CoreLabel token : tokens) {
+            words.add(token.word().toLowerCase(Locale.ROOT));
+        }
+        return words;
+    }
+
+    /**
+     * This method is used to split a part of a text into tokens.
+     *
+     * @param String text Text to be tokenized
+     * @param int begin Offset of the first character
+     * @param int end Offset after the last character
+     * @param List<CoreLabel> tokens Receives the tokens, with their offsets in the text
+     */
+    void segment(String text, int begin, int end, List<CoreLabel> tokens) {
+        int[] ends = null;
+        int i = begin;
+        while (i < end) {
+            int c = text.codePointAt(i);
+            int next = i + Character.charCount(c);
+            if (Character.isWhitespace(c) || Character.isSpaceChar(c)) {
+                i = next;
+            } else if (isHan(c)) {
+                int run = next;
+                while (run < end && isHan(text.codePointAt(run))) run += Character.charCount(text.codePointAt(run));
+                if (ends == null || ends.length < run - i) ends = new int[Math.max(run - i, 64)];
+                int words = dictionary.segment(text, i, run, ends);
+                for (int w = 0; w < words; w++) {
+                    tokens.add(NativeTextEngine.token(text, w == 0 ? i : ends[w - 1], ends[w]));
+                }
+                i = run;
+            } else if (Character.isLetterOrDigit(c)) {
+                // Latin words and numbers, with their decimal separators
+                int run = next;
+                while (run < end) {
+                    int d = text.codePointAt(run);
+                    if (Character.isLetterOrDigit(d) && !isHan(d)) {
+                        run += Character.charCount(d);
+                    } else if ((d == '.' || d == ',') && run + 1 < end && Character.isDigit(text.charAt(run - 1))
+                            && Character.isDigit(text.charAt(run + 1))) {
+                        run++;
+                    } else {
+                        break;
+                    }
+                }
+                tokens.add(NativeTextEngine.token(text, i, run));
+                i = run;
+            } else {
+                tokens.add(NativeTextEngine.token(text, i, next));
+                i = next;
+            }
+        }
+    }
+
+    private void addSentence(String document, int begin, int end, List<CoreMap> sentences) {
+        List<CoreLabel> tokens = new ArrayList<CoreLabel>();
+        segment(document, begin, end, tokens);
+
+        Annotation sentence = new Annotation(document.substring(begin, end));
+        sentence.set(CoreAnnotations.CharacterOffsetBeginAnnotation.class, begin);
+        sentence.set(CoreAnnotations.CharacterOffsetEndAnnotation.class, end);
+        sentence.set(CoreAnnotations.TokensAnnotation.class, tokens);
+        sentence.set(CoreAnnotations.SentenceIndexAnnotation.class, sentences.size());
+        sentences.add(sentence);
+    }
+
+    static boolean isHan(int c) {
+        return Character.UnicodeScript.of(c) == Character.UnicodeScript.HAN;
+    }
+
+    // A period ends a sentence unless it is within a number or a latin word
+    private static boolean isTerminator(String document, int i) {
+        char c = document.charAt(i);
+        if (c == '。' || c == '！' || c == '？' || c == '!' || c == '?' || c == '…') return true;
+        if (c != '.') return false;
+        return i + 1 >= document.length() || !Character.isLetterOrDigit(document.charAt(i + 1))
+                || isHan(document.charAt(i + 1));
+    }
+
+    private static boolean isCloser(char c) {
+        return c == '”' || c == '’' || c == '」' || c == '』' || c == '）' || c == '》' || c == '】'
+                || c == '"' || c == '\'' || c == ')' || c == ']';
+    }
+
+    private static boolean isBlankLine(String document, int newline) {
+        int i = newline + 1;
+        while (i < document.length() && document.charAt(i) != '\n' && Character.isWhitespace(document.charAt(i))) i++;
+        return i < document.length() && document.charAt(i) == '\n';
+    }
+
+    private static int skipWhitespace(String document, int i) {
+        while (i < document.length() && Character.isWhitespace(document.charAt(i))) i++;
+        return i;
+    }
+
+    private static int trimEnd(String document, int begin, int end) {
+        while (end > begin && Character.isWhitespace(document.charAt(end - 1))) end--;
+        return end;
+    }
+
+}
@@ -0,0 +1,88 @@
+package io.azrina.nlp.summarizer;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+
+import edu.stanford.nlp.international.arabic.process.ArabicTokenizer;
+import edu.stanford.nlp.international.french.process.FrenchTokenizer;
+import edu.stanford.nlp.international.spanish.process.SpanishTokenizer;
+import edu.stanford.nlp.ling.CoreAnnotations;
+import edu.stanford.nlp.ling.CoreLabel;
+import edu.stanford.nlp.pipeline.Annotation;
+import edu.stanford.nlp.pipeline.StanfordCoreNLP;
+import edu.stanford.nlp.process.CoreLabelTokenFactory;
+import edu.stanford.nlp.process.PTBTokenizer;
+import edu.stanford.nlp.process.TokenizerFactory;
+import edu.stanford.nlp.process.WhitespaceTokenizer;
+import edu.stanford.nlp.util.CoreMap;
+
+/**
+ * <h1>CoreNlpTextEngine</h1> Sentence splitter and tokenizer backed by Stanford
+ * Core NLP. Sentences come from the shared tokenize/ssplit pipeline of the
+ * language, and words from the language specific Stanford tokenizer.
+ **/
+public class CoreNlpTextEngine implements SentenceSplitter, Tokenizer {
+
+    private final String lang;
+    private final Properties props;
+    // Chinese is not separated by spaces : words come from the dictionary segmenter
+    private final ChineseTextEngine chineseEngine;
+
+    /**
+     * @param String lang Language code of the text
+     * @param Properties props Stanford Core NLP Annotator Pipeline Properties
+     */
+    public CoreNlpTextEngine(String lang, Properties props) {
+        this.lang = lang;
+        this.props = props;
+        this.chineseEngine = ChineseDictionary.LANG.equals(lang) ? new ChineseTextEngine() : null;
+    }
+
+    @Override
+    public List<CoreMap> split(String document) {
+        long start = Metrics.start();
+        StanfordCoreNLP pipeline = PipelineRegistry.get(lang, props);
+        Metrics.stop(Metrics.Stage.PIPELINE, start);
+        Annotation annotation = pipeline.process(document);
+
+        return annotation.get(CoreAnnotations.SentencesAnnotation.class);
+    }
+
+    @Override
+    public List<String> tokenize(String sentence) {
+        if (chineseEngine != null) {
+            return chineseEngine.tokenize(sentence);
+        }
+        List<String> tokenized_sentence = new ArrayList<String>();
+
+        // Perform tokenizing
+        List<CoreLabel> tokens = factory().getTokenizer(new StringReader(sentence)).tokenize();
+        for (CoreLabel token : tokens) {
+            tokenized_sentence.add(token.originalText().toLowerCase(Locale.ROOT));
+        }
+        return tokenized_sentence;
+    }
+
+    // Initialize tokenizer based on the language
+    private TokenizerFactory<CoreLabel> factory() {
+        switch (lang) {
+            case "en":
+                return PTBTokenizer.factory(new CoreLabelTokenFactory(), "invertible,ptb3Escaping=true");
+            case "es":
+                return SpanishTokenizer.factory(new CoreLabelTokenFactory(), "invertible,ptb3Escaping=true,splitAll=true");
+            case "fr":
+                return FrenchTokenizer.factory(new CoreLabelTokenFactory(), "");
+            case "ru":
+                return WhitespaceTokenizer.newCoreLabelTokenizerFactory();
+            case "ar":
+                return ArabicTokenizer.factory();
+            default:
+                // Defaults to english
+                return PTBTokenizer.factory(new CoreLabelTokenFactory(), "invertible, ptb3Escaping=true");
+        }
+    }
+
+}
@@ -0,0 +1,73 @@
+package io.azrina.nlp.summarizer;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Path;
+
+/**
+ * <h1>DaemonClient</h1> Forwards summarization requests to a running
+ * SummarizerDaemon. It only uses the JDK, so a client process never loads
+ * Core NLP unless it has to fall back to summarizing in-process.
+ **/
+public class DaemonClient {
+
+    private final Path socket;
+    private final int port;
+
+    /**
+     * Daemon client constructor.
+     *
+     * @param Path socket Unix domain socket of the daemon, or null to use the loopback port
+     * @param int port Loopback TCP port of the daemon, used when socket is null
+     */
+    public DaemonClient(Path socket, int port) {
+        this.socket = socket;
+        this.port = port;
+    }
+
+    /**
+     * This method is used to summarize a text with the daemon.
+     *
+     * @param String lang Language code, or an empty string for the daemon's default language
+     * @param String title Text title
+     * @param String document Text to be summarized
+     * @param int numSentences Number of maximum sentences in the summary
+     * @param String delimiter Delimiter between sentences in generated summary
+     * @return String Summarized text, or null if no daemon is running
+     * @throws IOException if the daemon failed to summarize the text
+     */
+    public String summarize(String lang, String title, String document, int numSentences, String delimiter)
+            throws IOException {
+        SocketChannel channel;
+        try {
+            channel = SummarizerDaemon.connect(socket, port);
+        } catch (IOException e) {
+            return null; // no daemon
+        }
+
+        try (SocketChannel c = channel;
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(c)));
+             DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(c)))) {
+            out.writeInt(SummarizerDaemon.MAGIC);
+            SummarizerDaemon.writeString(out, lang == null ? "" : lang);
+            SummarizerDaemon.writeString(out, title == null ? "" : title);
+            SummarizerDaemon.writeString(out, document);
+            out.writeInt(numSentences);
+            SummarizerDaemon.writeString(out, delimiter);
+            out.flush();
+
+            byte status = in.readByte();
+            String result = SummarizerDaemon.readString(in);
+            if (status != SummarizerDaemon.OK) {
+                throw new IOException("The daemon failed to summarize : " + result);
+            }
+            return result;
+        }
+    }
+
+}
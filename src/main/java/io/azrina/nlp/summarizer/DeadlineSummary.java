@@ -0,0 +1,65 @@
+package io.azrina.nlp.summarizer;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * <h1>DeadlineSummary</h1> A summary computed under a time budget, along with
+ * the degradations which were applied to meet it (see Degradation). A summary
+ * without degradations is the one Summarizer.getSummarySentences gives.
+ **/
+public class DeadlineSummary {
+
+    private final List<String> sentences;
+    private final Set<Degradation> degradations;
+    private final long elapsedNanos;
+
+    /**
+     * Deadline summary constructor.
+     *
+     * @param List<String> sentences Summary sentences, in ranking order
+     * @param Degradation degradation Deepest degradation applied, or null if none
+     * @param long elapsedNanos Time spent summarizing, in nanoseconds
+     */
+    public DeadlineSummary(List<String> sentences, Degradation degradation, long elapsedNanos) {
+        this.sentences = Collections.unmodifiableList(sentences);
+        this.degradations = degradation == null ? Collections.<Degradation>emptySet()
+                : Collections.unmodifiableSet(EnumSet.range(Degradation.values()[0], degradation));
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public List<String> getSentences() {
+        return sentences;
+    }
+
+    /**
+     * @return Set<Degradation> Degradations applied, in the order they were applied
+     */
+    public Set<Degradation> getDegradations() {
+        return degradations;
+    }
+
+    public boolean isDegraded() {
+        return !degradations.isEmpty();
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * @param String delimiter Delimiter between sentences
+     * @return String Summary sentences joined as Summarizer.summarize does
+     */
+    public String join(String delimiter) {
+        StringBuilder ret = new StringBuilder();
+        for (String sentence : sentences) {
+            ret.append(sentence);
+            ret.append(delimiter);
+        }
+        return ret.toString();
+    }
+
+}
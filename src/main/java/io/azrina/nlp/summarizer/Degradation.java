@@ -0,0 +1,70 @@
+package io.azrina.nlp.summarizer;
+
+/**
+ * <h1>Degradation</h1> The ways a summary computed under a deadline may be
+ * degraded, in the order they are applied. Each degradation implies the
+ * previous ones : a summary degraded to POSITION_LENGTH_ONLY was also computed
+ * from capped sentences, without the DBS feature.
+ *
+ * A degradation is applied once the remaining share of the time budget falls
+ * below its threshold, at one of the checkpoints of Summarizer.summarize.
+ **/
+public enum Degradation {
+
+    /** Only the first sentences of the document are considered. */
+    SENTENCE_CAP("sentence cap", 0.5),
+
+    /** The Density-Based Selection feature (getDbs) is not computed. */
+    NO_DBS("no density-based selection", 0.25),
+
+    /** Sentences are scored by their position and length only, without keywords nor title. */
+    POSITION_LENGTH_ONLY("position and length only", 0.1);
+
+    private final String description;
+    private final double remainingShare;
+
+    private Degradation(String description, double remainingShare) {
+        this.description = description;
+        this.remainingShare = remainingShare;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * @param long remaining Time left before the deadline, in nanoseconds
+     * @param long budget Whole time budget, in nanoseconds
+     * @return Degradation Deepest degradation required with this much time left, or null if none
+     */
+    public static Degradation forRemaining(long remaining, long budget) {
+        Degradation required = null;
+        for (Degradation degradation : values()) {
+            if (remaining < degradation.remainingShare * budget) {
+                required = degradation;
+            }
+        }
+        return required;
+    }
+
+    /**
+     * @param Degradation a A degradation, or null for none
+     * @param Degradation b A degradation, or null for none
+     * @return Degradation The deeper of both
+     */
+    static Degradation deepest(Degradation a, Degradation b) {
+        if (a == null) return b;
+        if (b == null) return a;
+        return a.compareTo(b) >= 0 ? a : b;
+    }
+
+    /**
+     * @param Degradation level Deepest degradation applied, or null for none
+     * @param Degradation degradation A degradation
+     * @return boolean True if the degradation is applied at this level
+     */
+    static boolean includes(Degradation level, Degradation degradation) {
+        return level != null && level.compareTo(degradation) >= 0;
+    }
+
+}
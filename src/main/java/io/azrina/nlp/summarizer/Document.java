@@ -0,0 +1,71 @@
+package io.azrina.nlp.summarizer;
+
+/**
+ * <h1>Document</h1> A text to be summarized, along with its identifier, title
+ * and language. Used as the unit of work of batch summarization.
+ *
+ * A document which could not be read from its source (see DocumentSource)
+ * carries the error instead of a text, so that it is reported along with the
+ * other documents rather than aborting the batch.
+ **/
+public class Document {
+
+    private final String id;
+    private final String title;
+    private final String text;
+    private final String lang;
+    private final Throwable error;
+
+    /**
+     * Document constructor.
+     *
+     * @param String id Document identifier, reported back with its summary
+     * @param String title Text title, may be null
+     * @param String text Text to be summarized
+     * @param String lang Language code of the text, null to use the summarizer's language
+     */
+    public Document(String id, String title, String text, String lang) {
+        this(id, title, text, lang, null);
+    }
+
+    private Document(String id, String title, String text, String lang, Throwable error) {
+        this.id = id;
+        this.title = title == null ? "" : title;
+        this.text = text;
+        this.lang = lang;
+        this.error = error;
+    }
+
+    /**
+     * @param String id Document identifier
+     * @param Throwable error Reason why the document could not be read
+     * @return Document Document without text, reported as failed
+     */
+    public static Document failed(String id, Throwable error) {
+        return new Document(id, null, "", null, error);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public String getLang() {
+        return lang;
+    }
+
+    /**
+     * @return Throwable Reason why the document could not be read, null if it was
+     */
+    public Throwable getError() {
+        return error;
+    }
+
+}
@@ -0,0 +1,191 @@
+package io.azrina.nlp.summarizer;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.json.Json;
+import javax.json.JsonException;
+import javax.json.JsonObject;
+import javax.json.JsonReader;
+import javax.json.JsonString;
+import javax.json.JsonValue;
+
+/**
+ * <h1>DocumentSource</h1> A lazy iterator over the documents of a batch. A
+ * source is either a directory (every regular file, sorted by path), a glob
+ * such as 'data/*.txt', or a JSON-lines file whose lines are objects with a
+ * 'text' and optional 'id', 'title' and 'lang' fields.
+ *
+ * Documents are read one at a time, so a batch never holds the whole corpus
+ * in memory. A file which cannot be read, or a line which is not a JSON
+ * object, is returned as a failed document (see Document.failed) and the
+ * source goes on with the next one.
+ **/
+public abstract class DocumentSource implements Iterator<Document>, Closeable {
+
+    /**
+     * This method is used to open a document source.
+     *
+     * @param String spec Directory, glob or JSON-lines file (.jsonl or .json)
+     * @return DocumentSource Documents of the source
+     * @throws IOException
+     */
+    public static DocumentSource open(String spec) throws IOException {
+        return open(spec, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * This method is used to open a document source.
+     *
+     * @param String spec Directory, glob or JSON-lines file (.jsonl or .json)
+     * @param Charset charset Encoding of the files
+     * @return DocumentSource Documents of the source
+     * @throws IOException
+     */
+    public static DocumentSource open(String spec, Charset charset) throws IOException {
+        if (isGlob(spec)) {
+            return new FileSource(glob(spec), charset);
+        }
+
+        Path path = Paths.get(spec);
+        if (Files.isDirectory(path)) {
+            try (Stream<Path> files = Files.walk(path)) {
+                return new FileSource(files.filter(Files::isRegularFile).sorted().collect(Collectors.toList()),
+                        charset);
+            }
+        }
+        if (spec.endsWith(".jsonl") || spec.endsWith(".json")) {
+            return new JsonLinesSource(path, charset);
+        }
+        throw new IOException("Not a directory, glob or JSON-lines file : " + spec);
+    }
+
+    @Override
+    public void close() throws IOException {
+    }
+
+    private static boolean isGlob(String spec) {
+        return spec.indexOf('*') >= 0 || spec.indexOf('?') >= 0 || spec.indexOf('[') >= 0 || spec.indexOf('{') >= 0;
+    }
+
+    private static List<Path> glob(String spec) throws IOException {
+        // Walk from the deepest directory which does not contain a pattern
+        int wildcard = spec.length();
+        for (char c : new char[]{'*', '?', '[', '{'}) {
+            int idx = spec.indexOf(c);
+            if (idx >= 0 && idx < wildcard) wildcard = idx;
+        }
+        int separator = spec.lastIndexOf('/', wildcard);
+        Path base = Paths.get(separator < 0 ? "." : (separator == 0 ? "/" : spec.substring(0, separator)));
+        final PathMatcher matcher = FileSystems.getDefault()
+                .getPathMatcher("glob:" + (separator < 0 ? "./" + spec : spec));
+
+        try (Stream<Path> files = Files.walk(base)) {
+            return files.filter(p -> Files.isRegularFile(p) && matcher.matches(p))
+                    .sorted().collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * One document per file. The file name is used as document id.
+     */
+    private static class FileSource extends DocumentSource {
+
+        private final Iterator<Path> files;
+        private final Charset charset;
+
+        private FileSource(List<Path> files, Charset charset) {
+            this.files = files.iterator();
+            this.charset = charset;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return files.hasNext();
+        }
+
+        @Override
+        public Document next() {
+            Path file = files.next();
+            try {
+                return new Document(file.toString(), null, TextFiles.read(file, charset).toString(), null);
+            } catch (IOException e) {
+                return Document.failed(file.toString(), e);
+            }
+        }
+    }
+
+    /**
+     * One document per non-blank line. The line number is used as document
+     * id when the line has no 'id' field.
+     */
+    private static class JsonLinesSource extends DocumentSource {
+
+        private final BufferedReader reader;
+        private String line;
+        private int lineNumber;
+
+        private JsonLinesSource(Path path, Charset charset) throws IOException {
+            this.reader = Files.newBufferedReader(path, charset);
+            advance();
+        }
+
+        private void advance() {
+            try {
+                do {
+                    line = reader.readLine();
+                    lineNumber++;
+                } while (line != null && line.trim().isEmpty());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return line != null;
+        }
+
+        @Override
+        public Document next() {
+            if (line == null) {
+                throw new NoSuchElementException();
+            }
+            Document document;
+            try (JsonReader jsonReader = Json.createReader(new StringReader(line))) {
+                JsonObject json = jsonReader.readObject();
+                JsonValue idValue = json.get("id");
+                String id = idValue == null ? String.valueOf(lineNumber)
+                        : (idValue instanceof JsonString ? ((JsonString) idValue).getString() : idValue.toString());
+                document = new Document(id, json.getString("title", null), json.getString("text", ""),
+                        json.getString("lang", null));
+            } catch (JsonException | ClassCastException e) {
+                // Malformed line, not an object, or fields of the wrong type
+                document = Document.failed(String.valueOf(lineNumber), e);
+            }
+            advance();
+            return document;
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+
+}
@@ -0,0 +1,43 @@
+package io.azrina.nlp.summarizer;
+
+/**
+ * <h1>DocumentSummary</h1> The outcome of summarizing one document, as
+ * emitted by SummarizingProcessor : either its summary, or the error which
+ * prevented it. A failed document does not stop the stream.
+ **/
+public class DocumentSummary {
+
+    private final Document document;
+    private final String summary;
+    private final Throwable error;
+
+    /**
+     * Document summary constructor.
+     *
+     * @param Document document Summarized document
+     * @param String summary Summarized text, null on error
+     * @param Throwable error Failure of the summarizer, null on success
+     */
+    public DocumentSummary(Document document, String summary, Throwable error) {
+        this.document = document;
+        this.summary = summary;
+        this.error = error;
+    }
+
+    public Document getDocument() {
+        return document;
+    }
+
+    public String getSummary() {
+        return summary;
+    }
+
+    public Throwable getError() {
+        return error;
+    }
+
+    public boolean isSuccess() {
+        return error == null;
+    }
+
+}
@@ -0,0 +1,332 @@
+package io.azrina.nlp.summarizer;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * <h1>DoubleArrayTrie</h1> A compact, read-only trie of sorted strings, each
+ * mapped to its index. Nodes are stored in two int arrays : the child of node
+ * s for code c is t = base[s] + c, valid when check[t] == s. Looking a string
+ * up takes two array reads per character, and no object is allocated.
+ *
+ * Characters are first mapped to dense codes, the most frequent first, so that
+ * the large alphabets of languages such as Chinese do not spread the arrays.
+ * Code 0 marks the end of a key : its node holds -(index + 1) in base.
+ *
+ * Keys are inserted depth first, siblings at the first offset where they all
+ * find a free node, as in Darts (https://github.com/s-yata/darts-clone).
+ * A built trie can be written and read back as is, without inserting its
+ * keys again. Immutable once built, and thread-safe.
+ **/
+public final class DoubleArrayTrie {
+
+    private static final int END = 0;
+
+    private final char[] codes;
+    private int[] base;
+    private int[] check;
+
+    // Build only : offsets already taken by a node's children, and skip[i] leading to the first free node from i on
+    private boolean[] used;
+    private int[] skip;
+    private int nextCheckPos;
+    private int size;
+
+    /**
+     * Double array trie constructor.
+     *
+     * @param String[] keys Keys, sorted (see Arrays.sort) and without duplicates
+     */
+    public DoubleArrayTrie(String[] keys) {
+        for (int k = 1; k < keys.length; k++) {
+            if (keys[k - 1].compareTo(keys[k]) >= 0) {
+                throw new IllegalArgumentException("Keys are not sorted, or repeat : " + keys[k]);
+            }
+        }
+        codes = new char[Character.MAX_VALUE + 1];
+
+        // Frequent characters get the lowest codes, which packs the children of most nodes
+        int[] counts = new int[Character.MAX_VALUE + 1];
+        int alphabet = 0;
+        for (String key : keys) {
+            for (int i = 0; i < key.length(); i++) {
+                if (counts[key.charAt(i)]++ == 0) alphabet++;
+            }
+        }
+        Integer[] characters = new Integer[alphabet];
+        for (int c = 0, n = 0; c < counts.length; c++) {
+            if (counts[c] > 0) characters[n++] = c;
+        }
+        Arrays.sort(characters, (a, b) -> counts[b] - counts[a]);
+        for (int n = 0; n < alphabet; n++) {
+            codes[characters[n]] = (char) (n + 1);
+        }
+
+        // Keys in the order of their codes, so that the children of a node are contiguous and increasing
+        Integer[] order = new Integer[keys.length];
+        for (int k = 0; k < keys.length; k++) {
+            order[k] = k;
+        }
+        Arrays.sort(order, (a, b) -> compare(keys[a], keys[b]));
+
+        int capacity = Math.max(1024, keys.length * 2);
+        base = new int[capacity];
+        check = new int[capacity];
+        used = new boolean[capacity];
+        skip = new int[capacity];
+        Arrays.fill(check, -1);
+        for (int i = 0; i < capacity; i++) {
+            skip[i] = i;
+        }
+        occupy(0, 0); // root
+        nextCheckPos = 1;
+        size = 1;
+        if (keys.length > 0) {
+            insert(keys, order, 0, keys.length, 0, 0);
+        }
+
+        base = Arrays.copyOf(base, size);
+        check = Arrays.copyOf(check, size);
+        used = null;
+        skip = null;
+    }
+
+    // Trie read back by read()
+    private DoubleArrayTrie(char[] codes, int[] base, int[] check) {
+        this.codes = codes;
+        this.base = base;
+        this.check = check;
+    }
+
+    /**
+     * This method is used to read a trie written by write().
+     *
+     * @param DataInputStream in Stream positioned at the trie
+     * @return DoubleArrayTrie Trie, as it was built
+     * @throws IOException
+     */
+    public static DoubleArrayTrie read(DataInputStream in) throws IOException {
+        char[] codes = new char[Character.MAX_VALUE + 1];
+        int alphabet = in.readInt();
+        for (int n = 0; n < alphabet; n++) {
+            char c = in.readChar();
+            codes[c] = in.readChar();
+        }
+        int size = in.readInt();
+        return new DoubleArrayTrie(codes, readInts(in, size), readInts(in, size));
+    }
+
+    /**
+     * This method is used to write the trie : the codes of its characters,
+     * then its two arrays.
+     *
+     * @param DataOutputStream out Destination
+     * @throws IOException
+     */
+    public void write(DataOutputStream out) throws IOException {
+        int alphabet = 0;
+        for (char code : codes) {
+            if (code != 0) alphabet++;
+        }
+        out.writeInt(alphabet);
+        for (int c = 0; c < codes.length; c++) {
+            if (codes[c] == 0) continue;
+            out.writeChar(c);
+            out.writeChar(codes[c]);
+        }
+        out.writeInt(base.length);
+        writeInts(out, base);
+        writeInts(out, check);
+    }
+
+    /**
+     * @param CharSequence key Key to be searched
+     * @return int Index of the key, or -1 if it is not in the trie
+     */
+    public int get(CharSequence key) {
+        int node = 0;
+        for (int i = 0; i < key.length(); i++) {
+            node = child(node, codes[key.charAt(i)]);
+            if (node < 0) return -1;
+        }
+        return index(node);
+    }
+
+    /**
+     * This method is used to find every key which is a prefix of a text from
+     * a given offset, shortest first, without allocating.
+     *
+     * @param CharSequence text Text to be searched
+     * @param int begin Offset of the first character of the keys
+     * @param int end Offset after the last character the keys may span
+     * @param int[] lengths Filled with the length of each key found
+     * @param int[] indices Filled with the index of each key found
+     * @return int Number of keys found, at most lengths.length
+     */
+    public int prefixes(CharSequence text, int begin, int end, int[] lengths, int[] indices) {
+        int found = 0;
+        int node = 0;
+        for (int i = begin; i < end && found < lengths.length; i++) {
+            node = child(node, codes[text.charAt(i)]);
+            if (node < 0) break;
+            int index = index(node);
+            if (index >= 0) {
+                lengths[found] = i + 1 - begin;
+                indices[found] = index;
+                found++;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * @return int Number of nodes, each taking two ints
+     */
+    public int size() {
+        return base.length;
+    }
+
+    // Arrays are copied in bulk : reading millions of ints one at a time is several times slower
+    private static int[] readInts(DataInputStream in, int length) throws IOException {
+        byte[] bytes = new byte[length * 4];
+        in.readFully(bytes);
+        int[] values = new int[length];
+        ByteBuffer.wrap(bytes).asIntBuffer().get(values);
+        return values;
+    }
+
+    private static void writeInts(DataOutputStream out, int[] values) throws IOException {
+        ByteBuffer bytes = ByteBuffer.allocate(values.length * 4);
+        bytes.asIntBuffer().put(values);
+        out.write(bytes.array());
+    }
+
+    private int child(int node, int code) {
+        if (code == 0) return -1; // character of no key
+        int child = base[node] + code;
+        return child < check.length && check[child] == node ? child : -1;
+    }
+
+    private int index(int node) {
+        int end = base[node] + END;
+        if (end < check.length && check[end] == node && base[end] < 0) {
+            return -base[end] - 1;
+        }
+        return -1;
+    }
+
+    // Places the children of node 'parent', found at 'depth' in the keys [from, to)
+    private void insert(String[] keys, Integer[] order, int from, int to, int depth, int parent) {
+        // Sibling codes, in increasing order since keys are in code order
+        int siblings = 0;
+        int[] siblingCodes = new int[Math.min(to - from, 64)];
+        int[] siblingFrom = new int[siblingCodes.length + 1];
+        int previous = -1;
+        for (int k = from; k < to; k++) {
+            String key = keys[order[k]];
+            int code = depth < key.length() ? codes[key.charAt(depth)] : END;
+            if (code != previous) {
+                if (siblings == siblingCodes.length) {
+                    siblingCodes = Arrays.copyOf(siblingCodes, siblings * 2);
+                    siblingFrom = Arrays.copyOf(siblingFrom, siblings * 2 + 1);
+                }
+                siblingCodes[siblings] = code;
+                siblingFrom[siblings] = k;
+                siblings++;
+                previous = code;
+            }
+        }
+        siblingFrom[siblings] = to;
+
+        // First offset where every sibling finds a free node
+        int first = siblingCodes[0];
+        int last = siblingCodes[siblings - 1];
+        int position = nextFree(Math.max(first + 1, nextCheckPos));
+        int tried = 0;
+        int begin;
+        search:
+        while (true) {
+            begin = position - first;
+            grow(begin + last + 1);
+            if (!used[begin]) {
+                for (int s = 1; s < siblings; s++) {
+                    if (check[begin + siblingCodes[s]] >= 0) {
+                        position = nextFree(position + 1);
+                        tried++;
+                        continue search;
+                    }
+                }
+                break;
+            }
+            position = nextFree(position + 1);
+            tried++;
+        }
+        // Free nodes which keep failing are left behind in later searches
+        if (tried > 1024) {
+            nextCheckPos = position;
+        }
+
+        used[begin] = true;
+        base[parent] = begin;
+        size = Math.max(size, begin + last + 1);
+        for (int s = 0; s < siblings; s++) {
+            occupy(begin + siblingCodes[s], parent);
+        }
+        for (int s = 0; s < siblings; s++) {
+            int node = begin + siblingCodes[s];
+            if (siblingCodes[s] == END) {
+                base[node] = -order[siblingFrom[s]] - 1;
+            } else {
+                insert(keys, order, siblingFrom[s], siblingFrom[s + 1], depth + 1, node);
+            }
+        }
+    }
+
+    private int compare(String a, String b) {
+        int length = Math.min(a.length(), b.length());
+        for (int i = 0; i < length; i++) {
+            int c = codes[a.charAt(i)] - codes[b.charAt(i)];
+            if (c != 0) return c;
+        }
+        return a.length() - b.length();
+    }
+
+    private void occupy(int node, int parent) {
+        check[node] = parent;
+        skip[node] = node + 1;
+    }
+
+    // First free node from 'from' on, compressing the path skipped
+    private int nextFree(int from) {
+        int free = from;
+        while (true) {
+            grow(free + 1);
+            if (skip[free] == free) break;
+            free = skip[free];
+        }
+        while (from != free) {
+            int next = skip[from];
+            skip[from] = free;
+            from = next;
+        }
+        return free;
+    }
+
+    private void grow(int length) {
+        if (length <= check.length) return;
+        int capacity = Math.max(length, check.length + check.length / 2);
+        base = Arrays.copyOf(base, capacity);
+        used = Arrays.copyOf(used, capacity);
+        int from = check.length;
+        check = Arrays.copyOf(check, capacity);
+        Arrays.fill(check, from, capacity, -1);
+        skip = Arrays.copyOf(skip, capacity);
+        for (int i = from; i < capacity; i++) {
+            skip[i] = i;
+        }
+    }
+
+}
@@ -10,29 +10,30 @@ import java.io.FileReader;
 
 public class Helper {
 
+    /**
+     * This method is used to read a text file as a single line : lines are
+     * concatenated without separator, in the platform charset, and an empty
+     * string is returned if the file cannot be read.
+     *
+     * @param String filename Path of the file
+     * @return String Content of the file without its line breaks
+     * @deprecated Line breaks are lost and errors are hidden. Use TextFiles.read instead.
+     */
+    @Deprecated
     public static String readFile(String filename){
 
         String line = "";
-        String result = "";
-        BufferedReader br = null;
+        StringBuilder result = new StringBuilder();
 
-        try {
-            br = new BufferedReader (new FileReader(filename));
+        try (BufferedReader br = new BufferedReader(new FileReader(filename))) {
             while ((line = br.readLine()) != null) {
-                result += line;
+                result.append(line);
             }
-        } catch (Exception e){
+        } catch (IOException e){
             System.out.println("ERROR : Problem in reading file! Please provide correct filepath.");
-        } finally {
-            try {
-                br.close();
-            } catch (IOException e) {
-                System.out.println("ERROR : Error while closing BufferedReader!");
-                e.printStackTrace();
-            }
-         }
+        }
 
-        return result;
+        return result.toString();
 
     }
 
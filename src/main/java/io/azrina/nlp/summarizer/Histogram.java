@@ -0,0 +1,99 @@
+package io.azrina.nlp.summarizer;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <h1>Histogram</h1> A lock-free latency histogram with logarithmic buckets :
+ * each power of two is split into 8 buckets, so percentiles are accurate to
+ * about 6%, from one nanosecond up to several minutes, in a fixed 2.5 KB.
+ **/
+public class Histogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_BIT = 40; // about 18 minutes in nanoseconds
+    private static final int BUCKETS = (MAX_BIT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /**
+     * @param long value Value to record, e.g. a duration in nanoseconds
+     */
+    public void record(long value) {
+        if (value < 0) value = 0;
+        buckets.incrementAndGet(index(value));
+        count.increment();
+        sum.add(value);
+        max.accumulate(value);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getSum() {
+        return sum.sum();
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    public double getMean() {
+        long n = count.sum();
+        return n == 0 ? 0.0 : sum.sum() / (double) n;
+    }
+
+    /**
+     * @param double percentile Percentile, between 0 and 100
+     * @return long Approximate value at the percentile : the middle of its bucket, capped by the maximum
+     */
+    public long getPercentile(double percentile) {
+        long n = count.sum();
+        if (n == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * n));
+        long seen = 0;
+        for (int i = 0; i < buckets.length(); i++) {
+            seen += buckets.get(i);
+            if (seen >= rank) {
+                return Math.min(max.get(), (lowerBound(i) + lowerBound(i + 1) - 1) / 2);
+            }
+        }
+        return max.get();
+    }
+
+    /**
+     * This method is used to drop every recorded value.
+     */
+    public void reset() {
+        for (int i = 0; i < buckets.length(); i++) {
+            buckets.set(i, 0);
+        }
+        count.reset();
+        sum.reset();
+        max.reset();
+    }
+
+    // Values below SUB_BUCKETS have a bucket each, larger ones share a bucket
+    // with the values of the same highest bit and next SUB_BUCKET_BITS bits
+    static int index(long value) {
+        if (value < SUB_BUCKETS) return (int) value;
+        int bit = 63 - Long.numberOfLeadingZeros(value);
+        if (bit > MAX_BIT) return BUCKETS - 1;
+        int sub = (int) (value >>> (bit - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (bit - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    static long lowerBound(int index) {
+        if (index < SUB_BUCKETS) return index;
+        int bit = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        int sub = index % SUB_BUCKETS;
+        return (1L << bit) + ((long) sub << (bit - SUB_BUCKET_BITS));
+    }
+
+}
@@ -0,0 +1,345 @@
+package io.azrina.nlp.summarizer;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * <h1>IdfIndex</h1> A read-only table of corpus document frequencies, used to
+ * weight keywords by their inverse document frequency (TF-IDF). Indexes are
+ * built offline with IdfIndex.Builder (see --build-idf) and memory-mapped at
+ * runtime : opening one reads nothing but its header, and looking a term up
+ * costs one hash and, almost always, a single slot of the mapped file.
+ *
+ * Terms are stored as 64-bit hashes of the terms counted by AnalyzedDocument
+ * (lowercased, without punctuation nor stopwords), so the file holds no
+ * strings. The format, big-endian :
+ * <ul>
+ * <li>header : magic 'TTDF', version, number of documents (long), number of
+ * terms, number of slots (a power of two);</li>
+ * <li>an open addressing table of slots, each the term hash (long, 0 when
+ * empty) and its document frequency (int), probed linearly.</li>
+ * </ul>
+ *
+ * The index of a language comes from, in order of precedence, a file
+ * registered with override(), the file named by the 'textteaser.idf.&lt;lang&gt;'
+ * system property, or &lt;lang&gt;.idf in the directory named by the
+ * 'textteaser.idf.dir' system property. Without any, the index is empty and
+ * keywords are scored by term frequency only. Indexes are thread-safe.
+ **/
+public final class IdfIndex {
+
+    private static final int MAGIC = 0x54544446; // TTDF
+    private static final int VERSION = 1;
+    private static final int HEADER = 24;
+    private static final int SLOT = 12;
+
+    private static final IdfIndex EMPTY = new IdfIndex(null, 0, 0, 0, "");
+    private static final ConcurrentMap<String, IdfIndex> INDEXES = new ConcurrentHashMap<String, IdfIndex>();
+
+    private final ByteBuffer slots;
+    private final long documents;
+    private final int terms;
+    private final int mask;
+    private final double maxIdf;
+    private final String fingerprint;
+
+    private IdfIndex(ByteBuffer slots, long documents, int terms, int slotCount, String fingerprint) {
+        this.slots = slots;
+        this.fingerprint = fingerprint;
+        this.documents = documents;
+        this.terms = terms;
+        this.mask = slotCount - 1;
+        this.maxIdf = idf(documents, 0);
+    }
+
+    /**
+     * @param String lang Language code of the text
+     * @return IdfIndex Index of the language, empty if none is configured
+     * @throws UncheckedIOException if a configured index cannot be read
+     */
+    public static IdfIndex forLanguage(String lang) {
+        return INDEXES.computeIfAbsent(lang == null ? "en" : lang, IdfIndex::load);
+    }
+
+    /**
+     * This method is used to replace the index of a language with the content
+     * of a file. Parsers created afterwards use the new index.
+     *
+     * @param String lang Language code
+     * @param Path file Index built by IdfIndex.Builder
+     * @throws IOException
+     */
+    public static void override(String lang, Path file) throws IOException {
+        INDEXES.put(lang, open(file));
+    }
+
+    /**
+     * This method is used to map an index file.
+     *
+     * @param Path file Index built by IdfIndex.Builder
+     * @return IdfIndex Mapped index
+     * @throws IOException if the file cannot be read or is not an index
+     */
+    public static IdfIndex open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // The mapping stays valid once the channel is closed
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < HEADER || buffer.getInt(0) != MAGIC) {
+                throw new IOException("Not an IDF index : " + file);
+            }
+            if (buffer.getInt(4) != VERSION) {
+                throw new IOException("Unsupported IDF index version " + buffer.getInt(4) + " : " + file);
+            }
+            long documents = buffer.getLong(8);
+            int terms = buffer.getInt(16);
+            int slotCount = buffer.getInt(20);
+            if (Integer.bitCount(slotCount) != 1 || buffer.remaining() != HEADER + (long) slotCount * SLOT) {
+                throw new IOException("Truncated IDF index : " + file);
+            }
+            buffer.position(HEADER);
+            // Rebuilding the index changes its modification time, if not its counts
+            String fingerprint = String.format("%d-%d-%d-%x", documents, terms, channel.size(),
+                    Files.getLastModifiedTime(file).toMillis());
+            return new IdfIndex(buffer.slice(), documents, terms, slotCount, fingerprint);
+        }
+    }
+
+    /**
+     * @return boolean True if the index holds no statistics, i.e. every weight is 1
+     */
+    public boolean isEmpty() {
+        return slots == null || documents == 0;
+    }
+
+    /**
+     * @return String Identity of the index content, from its header and file
+     * attributes, empty for the empty index. See Parser.getFingerprint
+     */
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * @return long Number of documents of the corpus
+     */
+    public long getDocumentCount() {
+        return documents;
+    }
+
+    /**
+     * @return int Number of terms in the index
+     */
+    public int getTermCount() {
+        return terms;
+    }
+
+    /**
+     * @param String term Normalized term, see AnalyzedDocument.normalize
+     * @return int Number of documents of the corpus containing the term
+     */
+    public int documentFrequency(String term) {
+        if (slots == null) return 0;
+        long hash = hash(term);
+        int slot = (int) (hash ^ (hash >>> 32)) & mask;
+        while (true) {
+            long stored = slots.getLong(slot * SLOT);
+            if (stored == hash) return slots.getInt(slot * SLOT + 8);
+            if (stored == 0) return 0;
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    /**
+     * This method is used to get the weight of a term : its smoothed inverse
+     * document frequency, divided by the one of a term the corpus never saw,
+     * so weights are in (0, 1] and keyword scores keep their scale.
+     *
+     * @param String term Normalized term
+     * @return double Weight of the term, 1 if the index is empty
+     */
+    public double weight(String term) {
+        if (isEmpty()) return 1.0;
+        return idf(documents, documentFrequency(term)) / maxIdf;
+    }
+
+    /**
+     * @param Vocabulary vocabulary Document vocabulary
+     * @return double[] Weight of each term id of the vocabulary
+     */
+    public double[] weights(Vocabulary vocabulary) {
+        double[] weights = new double[vocabulary.size()];
+        for (int id = 0; id < weights.length; id++) {
+            weights[id] = vocabulary.count(id) > 0 ? weight(vocabulary.term(id)) : 0.0;
+        }
+        return weights;
+    }
+
+    /**
+     * @param CharSequence term Normalized term
+     * @return long 64-bit FNV-1a hash of the term's UTF-16 chars, never 0
+     */
+    public static long hash(CharSequence term) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < term.length(); i++) {
+            char c = term.charAt(i);
+            hash = (hash ^ (c & 0xFF)) * 0x100000001b3L;
+            hash = (hash ^ (c >>> 8)) * 0x100000001b3L;
+        }
+        return hash == 0 ? 1 : hash;
+    }
+
+    private static double idf(long documents, int documentFrequency) {
+        return Math.log((documents + 1.0) / (documentFrequency + 1.0)) + 1.0;
+    }
+
+    private static IdfIndex load(String lang) {
+        try {
+            String file = System.getProperty("textteaser.idf." + lang);
+            if (file != null) {
+                return open(Paths.get(file));
+            }
+
+            String directory = System.getProperty("textteaser.idf.dir");
+            if (directory != null && Files.isRegularFile(Paths.get(directory, lang + ".idf"))) {
+                return open(Paths.get(directory, lang + ".idf"));
+            }
+            return EMPTY;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read the IDF index of language " + lang, e);
+        }
+    }
+
+    /**
+     * <h1>Builder</h1> Counts the document frequencies of a corpus, then
+     * writes them as an IdfIndex file. Terms are counted by hash, in a
+     * primitive table, so large corpora fit in a modest heap. Not thread-safe.
+     */
+    public static class Builder {
+
+        private long[] keys = new long[1 << 16];
+        private int[] counts = new int[1 << 16];
+        private int size;
+        private long documents;
+
+        /**
+         * This method is used to count the keywords of an analyzed document,
+         * once each, whatever their frequency in the document.
+         *
+         * @param AnalyzedDocument document Analyzed document
+         */
+        public void add(AnalyzedDocument document) {
+            Vocabulary vocabulary = document.getVocabulary();
+            for (int id = 0; id < vocabulary.size(); id++) {
+                if (vocabulary.count(id) > 0) {
+                    increment(hash(vocabulary.term(id)));
+                }
+            }
+            documents++;
+        }
+
+        public long getDocumentCount() {
+            return documents;
+        }
+
+        /**
+         * @return int Number of distinct terms counted so far
+         */
+        public int getTermCount() {
+            return size;
+        }
+
+        /**
+         * This method is used to write the index. Rare terms are left out : a
+         * term missing from the index gets the highest weight, which is close
+         * to the one of a rare term anyway.
+         *
+         * @param Path file Index file, replaced atomically
+         * @param int minDocumentFrequency Minimum document frequency of the indexed terms
+         * @throws IOException
+         */
+        public void write(Path file, int minDocumentFrequency) throws IOException {
+            int terms = 0;
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] != 0 && counts[i] >= minDocumentFrequency) terms++;
+            }
+            // Load factor of at most one half keeps probes short
+            int slotCount = Integer.highestOneBit(Math.max(1, terms) * 2 - 1) << 1;
+            long[] table = new long[slotCount];
+            int[] frequencies = new int[slotCount];
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] == 0 || counts[i] < minDocumentFrequency) continue;
+                int slot = (int) (keys[i] ^ (keys[i] >>> 32)) & (slotCount - 1);
+                while (table[slot] != 0) {
+                    slot = (slot + 1) & (slotCount - 1);
+                }
+                table[slot] = keys[i];
+                frequencies[slot] = counts[i];
+            }
+
+            Path directory = file.toAbsolutePath().getParent();
+            Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+            try {
+                try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                        Files.newOutputStream(temp), 1 << 16))) {
+                    out.writeInt(MAGIC);
+                    out.writeInt(VERSION);
+                    out.writeLong(documents);
+                    out.writeInt(terms);
+                    out.writeInt(slotCount);
+                    for (int slot = 0; slot < slotCount; slot++) {
+                        out.writeLong(table[slot]);
+                        out.writeInt(frequencies[slot]);
+                    }
+                }
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        }
+
+        private void increment(long key) {
+            int mask = keys.length - 1;
+            int slot = (int) (key ^ (key >>> 32)) & mask;
+            while (keys[slot] != 0) {
+                if (keys[slot] == key) {
+                    counts[slot]++;
+                    return;
+                }
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = key;
+            counts[slot] = 1;
+            if (++size * 2 > keys.length) rehash();
+        }
+
+        private void rehash() {
+            long[] oldKeys = keys;
+            int[] oldCounts = counts;
+            keys = new long[oldKeys.length * 2];
+            counts = new int[oldKeys.length * 2];
+            int mask = keys.length - 1;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] == 0) continue;
+                int slot = (int) (oldKeys[i] ^ (oldKeys[i] >>> 32)) & mask;
+                while (keys[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                counts[slot] = oldCounts[i];
+            }
+        }
+    }
+
+}
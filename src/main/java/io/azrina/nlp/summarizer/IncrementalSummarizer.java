@@ -0,0 +1,444 @@
+package io.azrina.nlp.summarizer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import edu.stanford.nlp.util.CoreMap;
+
+/**
+ * <h1>IncrementalSummarizer</h1> Summarizes a growing or edited document,
+ * such as a live blog, without starting over on each update. The document is
+ * a list of segments, each made of whole sentences, which are appended or
+ * replaced one at a time :
+ * <ul>
+ * <li>only the text of the segment is split and analyzed, into the
+ * vocabulary kept for the whole document;</li>
+ * <li>term frequencies are updated by the counts of the new and removed
+ * sentences, and the top keywords of an append are found among the previous
+ * top keywords and the terms of the segment, which gives the same keywords
+ * as a scan of the whole vocabulary;</li>
+ * <li>the score of each sentence, without its position, is cached. Only the
+ * new sentences are scored, unless the set of top keywords changed, or the
+ * terms counted and uncounted since every sentence was scored exceed the
+ * tolerance, relative to the size of the document then : every sentence is
+ * then scored again, from its cached term ids.</li>
+ * </ul>
+ * A replacement finds the top keywords in a pass over the vocabulary, since
+ * counts may have gone down. Its new terms get the last ids though, and among
+ * terms of the same frequency, the lowest ids are kept as keywords : while the
+ * ids are out of order, each update checks the terms tied with the last top
+ * keyword, and only if there are any, numbers the terms again in one pass
+ * over the term ids of the document, as Summarizer numbers them. A
+ * replacement thus costs the size of the segment plus that of the
+ * vocabulary, and the size of the document when keywords tie.
+ *
+ * Ranking then takes one pass over the cached scores, with the positions of
+ * the sentences in the current document. The cost of an append is thus
+ * proportional to the size of the segment, plus a rescoring of the whole
+ * document which happens, while the top keywords are stable, once every time
+ * the document grows by the tolerance, and the pass over the vocabulary while
+ * ids are out of order.
+ *
+ * Keyword scores are relative frequencies, so cached scores drift slightly
+ * as the document grows : with a tolerance of 0, every sentence is rescored
+ * on each update, and summaries are the ones of Summarizer for the whole
+ * text, after appends and replacements alike. Not thread-safe.
+ **/
+public class IncrementalSummarizer {
+
+    // Default relative change of the number of terms tolerated before rescoring every sentence
+    static final double DEFAULT_TOLERANCE = 0.1;
+
+    private static final int TOP_KEYWORDS = 10;
+
+    private final Parser parser;
+    private final double tolerance;
+    private final List<String> title;
+    private AnalyzedDocument base;
+    private Vocabulary vocabulary;
+    private final IdfIndex idf;
+
+    // Sentences of the document, in order, with their keywords and cached scores
+    private final List<CoreMap> sentences = new ArrayList<CoreMap>();
+    private final List<int[]> keywords = new ArrayList<int[]>();
+    private final List<ScoredSentence> scored = new ArrayList<ScoredSentence>();
+    private final List<Double> contents = new ArrayList<Double>();
+    // Number of sentences of each segment
+    private final List<Integer> segments = new ArrayList<Integer>();
+
+    private int[] topKeywords = new int[0];
+    private double[] keywordScores = new double[0];
+    private double[] weights = new double[0];
+    private long scoredTotalCount;
+    // Terms counted or uncounted since every sentence was last scored
+    private long drift;
+    private int lastRescored;
+    // True while term ids follow the first occurrence of each term in the document
+    private boolean ordered = true;
+
+    /**
+     * Incremental summarizer constructor.
+     *
+     * @param String lang Language code of the document
+     * @param String title Document title
+     */
+    public IncrementalSummarizer(String lang, String title) {
+        this(new Parser(lang), title, DEFAULT_TOLERANCE);
+    }
+
+    /**
+     * Incremental summarizer constructor.
+     *
+     * @param Parser parser Parser of the document's language
+     * @param String title Document title
+     * @param double tolerance Relative change of the number of terms of the document tolerated before
+     *        every sentence is rescored, 0 to rescore them on every update
+     */
+    public IncrementalSummarizer(Parser parser, String title, double tolerance) {
+        if (tolerance < 0) {
+            throw new IllegalArgumentException("tolerance must not be negative");
+        }
+        this.parser = parser;
+        this.tolerance = tolerance;
+        // Title terms are looked up, not interned, so that term ids follow the sentences as in Summarizer
+        this.title = parser.getKeywords(title);
+        this.base = parser.analyze("", new ArrayList<CoreMap>());
+        this.vocabulary = base.getVocabulary();
+        this.idf = parser.getIdf();
+    }
+
+    /**
+     * This method is used to add text at the end of the document.
+     *
+     * @param CharSequence text New segment, made of whole sentences
+     * @return int Index of the segment, to replace it later
+     */
+    public int append(CharSequence text) {
+        segments.add(0);
+        update(segments.size() - 1, text);
+        return segments.size() - 1;
+    }
+
+    /**
+     * This method is used to replace the text of a segment, e.g. an edited
+     * post. The sentences of the other segments are not analyzed again.
+     *
+     * @param int segment Index of the segment, as returned by append
+     * @param CharSequence text New text of the segment, made of whole sentences, possibly empty
+     */
+    public void replace(int segment, CharSequence text) {
+        if (segment < 0 || segment >= segments.size()) {
+            throw new IndexOutOfBoundsException("No segment " + segment);
+        }
+        update(segment, text);
+    }
+
+    /**
+     * @param int numSentences Number of maximum sentences in the summary
+     * @return List<ScoredSentence> Top sentences of the current document, best first
+     */
+    public List<ScoredSentence> rank(int numSentences) {
+        long time = Metrics.start();
+        int count = sentences.size();
+        ScoringKernel.TopSentences top = new ScoringKernel.TopSentences(Math.max(0, Math.min(numSentences, count)));
+        for (int position = 0; position < count; position++) {
+            top.offer(position, ScoringKernel.total(contents.get(position), Parser.positionFeature(position, count)));
+        }
+
+        List<ScoredSentence> ranked = new ArrayList<ScoredSentence>(top.size());
+        for (int position : top.positions()) {
+            ScoredSentence sentence = scored.get(position);
+            double position_feature = Parser.positionFeature(position, count);
+            ranked.add(new ScoredSentence(sentence.getSentence(), position, sentence.getTitleFeature(),
+                    sentence.getSbsFeature(), sentence.getDbsFeature(), sentence.getLengthFeature(),
+                    position_feature, ScoringKernel.total(contents.get(position), position_feature)));
+        }
+        Metrics.stop(Metrics.Stage.RANKING, time);
+        return ranked;
+    }
+
+    /**
+     * @param int numSentences Number of maximum sentences in the summary
+     * @return List<String> Summary sentences of the current document
+     */
+    public List<String> getSummarySentences(int numSentences) {
+        List<ScoredSentence> ranked = rank(numSentences);
+        List<String> summary = new ArrayList<String>(ranked.size());
+        for (ScoredSentence sentence : ranked) {
+            summary.add(sentence.getSentence().toString());
+        }
+        return summary;
+    }
+
+    /**
+     * @param int numSentences Number of maximum sentences in the summary
+     * @param String delimiter Delimiter between sentences in generated summary
+     * @return String Summary of the current document, as Summarizer.summarize gives it
+     */
+    public String summarize(int numSentences, String delimiter) {
+        StringBuilder ret = new StringBuilder();
+        for (String sentence : getSummarySentences(numSentences)) {
+            ret.append(sentence);
+            ret.append(delimiter);
+        }
+        return ret.toString();
+    }
+
+    /**
+     * @return int Number of sentences of the document
+     */
+    public int size() {
+        return sentences.size();
+    }
+
+    /**
+     * @return int Number of segments of the document
+     */
+    public int getSegmentCount() {
+        return segments.size();
+    }
+
+    /**
+     * @return int Number of sentences scored by the last append or replace
+     */
+    public int getLastRescored() {
+        return lastRescored;
+    }
+
+    private void update(int segment, CharSequence text) {
+        long time = Metrics.start();
+        List<CoreMap> added = parser.getSentences(text);
+        time = Metrics.stop(Metrics.Stage.SENTENCES, time);
+
+        int start = 0;
+        for (int i = 0; i < segment; i++) {
+            start += segments.get(i);
+        }
+        int removed = segments.get(segment);
+
+        // Forget the counts of the replaced sentences
+        for (int i = start; i < start + removed; i++) {
+            for (int id : keywords.get(i)) {
+                vocabulary.increment(id, -1);
+            }
+            drift += keywords.get(i).length;
+        }
+        sentences.subList(start, start + removed).clear();
+        keywords.subList(start, start + removed).clear();
+        scored.subList(start, start + removed).clear();
+        contents.subList(start, start + removed).clear();
+
+        // Only the new text is analyzed, into the document vocabulary
+        AnalyzedDocument analyzed = parser.analyze(added, base);
+        int[][] added_keywords = analyzed.getKeywords();
+        for (int[] words : added_keywords) {
+            drift += words.length;
+        }
+        sentences.addAll(start, added);
+        keywords.addAll(start, Arrays.asList(added_keywords));
+        segments.set(segment, added.size());
+        time = Metrics.stop(Metrics.Stage.TERM_FREQUENCIES, time);
+
+        // New terms of a segment which is not the last one, or terms gone, break the order of first occurrence
+        if (removed > 0 || segment < segments.size() - 1) {
+            ordered = false;
+        }
+        boolean changed = updateKeywords(added_keywords, removed > 0);
+        if (!ordered && tiedAtBoundary()) {
+            // Which of the tied terms are top keywords depends on their order : number them as Summarizer does
+            renumber();
+            ordered = true;
+            changed |= updateKeywords(added_keywords, true);
+        }
+        time = Metrics.stop(Metrics.Stage.KEYWORDS, time);
+
+        ScoringKernel kernel = new ScoringKernel(parser, titleKeywords(), keywordScores, sentences.size(), null);
+        if (changed || drift > tolerance * scoredTotalCount) {
+            scored.clear();
+            contents.clear();
+            for (int i = 0; i < sentences.size(); i++) {
+                score(kernel, i, false);
+            }
+            scoredTotalCount = vocabulary.totalCount();
+            drift = 0;
+            lastRescored = sentences.size();
+        } else {
+            for (int i = start; i < start + added.size(); i++) {
+                score(kernel, i, true);
+            }
+            lastRescored = added.size();
+        }
+        Metrics.stop(Metrics.Stage.SCORING, time);
+    }
+
+    private void score(ScoringKernel kernel, int position, boolean insert) {
+        ScoredSentence sentence = kernel.scored(sentences.get(position), position, keywords.get(position));
+        double content = ScoringKernel.content(sentence.getTitleFeature(), sentence.getSbsFeature(),
+                sentence.getDbsFeature(), sentence.getLengthFeature());
+        if (insert) {
+            scored.add(position, sentence);
+            contents.add(position, content);
+        } else {
+            scored.add(sentence);
+            contents.add(content);
+        }
+    }
+
+    // Title terms missing from the document get an id no sentence has
+    private int[] titleKeywords() {
+        int[] ids = new int[title.size()];
+        for (int i = 0; i < ids.length; i++) {
+            int id = vocabulary.indexOf(title.get(i));
+            ids[i] = id < 0 ? vocabulary.size() : id;
+        }
+        return ids;
+    }
+
+    /**
+     * This method is used to tell whether a term which is not a top keyword
+     * has the score of the last one : the top keywords then depend on the
+     * order of the term ids, the lowest ones being kept.
+     *
+     * @return boolean True if the top keywords are full, and tied with another term
+     */
+    private boolean tiedAtBoundary() {
+        if (topKeywords.length < TOP_KEYWORDS) return false;
+        int last = topKeywords[topKeywords.length - 1];
+        double boundary = idf.isEmpty() ? vocabulary.count(last) : vocabulary.count(last) * weights[last];
+        search:
+        for (int id = 0; id < vocabulary.size(); id++) {
+            int count = vocabulary.count(id);
+            if (count <= 0 || (idf.isEmpty() ? count : count * weights[id]) != boundary) continue;
+            for (int top : topKeywords) {
+                if (top == id) continue search;
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * This method is used to number the terms of the document again, in order
+     * of first occurrence as Summarizer does. Terms no longer in the document
+     * are dropped.
+     */
+    private void renumber() {
+        AnalyzedDocument renumbered = parser.analyze("", new ArrayList<CoreMap>());
+        Vocabulary terms = renumbered.getVocabulary();
+        int[] ids = new int[vocabulary.size()];
+        Arrays.fill(ids, -1);
+        for (int i = 0; i < keywords.size(); i++) {
+            int[] words = keywords.get(i).clone();
+            for (int k = 0; k < words.length; k++) {
+                int id = words[k];
+                if (ids[id] < 0) ids[id] = terms.intern(vocabulary.term(id));
+                words[k] = ids[id];
+                terms.increment(words[k]);
+            }
+            keywords.set(i, words);
+        }
+
+        int n = 0;
+        int[] top = new int[topKeywords.length];
+        for (int id : topKeywords) {
+            if (ids[id] >= 0) top[n++] = ids[id];
+        }
+        topKeywords = Arrays.copyOf(top, n);
+        // Indexed by term id : filled again for the new ids
+        keywordScores = new double[0];
+        weights = new double[0];
+        base = renumbered;
+        vocabulary = terms;
+    }
+
+    /**
+     * This method is used to update the top keywords and their scores.
+     *
+     * @param int[][] added Term ids of the keywords of the new sentences
+     * @param boolean scan True to search the whole vocabulary, e.g. after counts went down
+     * @return boolean True if the set of top keywords changed
+     */
+    private boolean updateKeywords(int[][] added, boolean scan) {
+        int size = vocabulary.size();
+        if (keywordScores.length < size) {
+            keywordScores = Arrays.copyOf(keywordScores, Math.max(size, keywordScores.length * 2));
+        }
+        if (!idf.isEmpty() && weights.length < size) {
+            int from = weights.length;
+            weights = Arrays.copyOf(weights, keywordScores.length);
+            for (int id = from; id < size; id++) {
+                weights[id] = idf.weight(vocabulary.term(id));
+            }
+        }
+
+        int[] top;
+        if (scan) {
+            // Counts went down, or terms were numbered again : any term may now be a top keyword
+            top = idf.isEmpty() ? vocabulary.topTerms(TOP_KEYWORDS)
+                    : vocabulary.topTerms(TOP_KEYWORDS, weights);
+        } else {
+            // Counts only went up : the top keywords are among the previous ones and the new terms
+            top = topTerms(candidates(added));
+        }
+
+        boolean changed = !sameTerms(top, topKeywords);
+        for (int id : topKeywords) {
+            keywordScores[id] = 0.0;
+        }
+        // As Summarizer.getArticleScores
+        double termCount = vocabulary.totalCount();
+        for (int id : top) {
+            keywordScores[id] = vocabulary.count(id) / termCount;
+            if (!idf.isEmpty()) keywordScores[id] *= weights[id];
+        }
+        topKeywords = top;
+        return changed;
+    }
+
+    private int[] candidates(int[][] added) {
+        int n = topKeywords.length;
+        for (int[] words : added) n += words.length;
+        int[] candidates = Arrays.copyOf(topKeywords, n);
+        n = topKeywords.length;
+        for (int[] words : added) {
+            System.arraycopy(words, 0, candidates, n, words.length);
+            n += words.length;
+        }
+        Arrays.sort(candidates);
+        return candidates;
+    }
+
+    // Same selection as Vocabulary.topTerms, over sorted candidate ids which may repeat
+    private int[] topTerms(int[] candidates) {
+        int[] top = new int[TOP_KEYWORDS];
+        double[] scores = new double[TOP_KEYWORDS];
+        int n = 0;
+        for (int c = 0; c < candidates.length; c++) {
+            int id = candidates[c];
+            if (c > 0 && candidates[c - 1] == id) continue;
+            int count = vocabulary.count(id);
+            double score = idf.isEmpty() ? count : count * weights[id];
+            if (count <= 0 || (n == top.length && score <= scores[n - 1])) continue;
+            int i = (n == top.length) ? n - 1 : n++;
+            while (i > 0 && scores[i - 1] < score) {
+                top[i] = top[i - 1];
+                scores[i] = scores[i - 1];
+                i--;
+            }
+            top[i] = id;
+            scores[i] = score;
+        }
+        return n == top.length ? top : Arrays.copyOf(top, n);
+    }
+
+    private static boolean sameTerms(int[] a, int[] b) {
+        if (a.length != b.length) return false;
+        int[] sorted_a = a.clone();
+        int[] sorted_b = b.clone();
+        Arrays.sort(sorted_a);
+        Arrays.sort(sorted_b);
+        return Arrays.equals(sorted_a, sorted_b);
+    }
+
+}
@@ -1,12 +1,29 @@
 package io.azrina.nlp.summarizer;
 
+import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import javax.json.Json;
 
 import org.apache.commons.cli.Options;
 import org.apache.commons.cli.Option;
@@ -30,6 +47,34 @@ public class Main
         Option title_opt = new Option("i", "title", true, "text title. defaults to empty string.");
         Option delimiter_opt = new Option("d", "delimiter", true, "delimiter between sentences. defaults to ' (...) '.");
         Option num_opt = new Option("n", "num", true, "max number of sentences. defaults to 3.");
+        Option profile_opt = Option.builder().longOpt("profile").desc("print the time spent in each summarization stage on standard error.").build();
+        Option encoding_opt = new Option("e", "encoding", true, "charset of the input files. defaults to UTF-8.");
+        Option stream_opt = new Option("s", "stream", false, "summarize the input file as a stream, with bounded memory. for very large files.");
+        Option batch_opt = new Option("b", "batch", true, "batch input : a directory, a glob or a JSON-lines file. summaries are written as JSON lines.");
+        Option output_opt = new Option("o", "output", true, "batch output file. defaults to standard output.");
+        Option threads_opt = new Option("p", "threads", true, "number of batch worker threads. defaults to the number of cores.");
+        Option engine_opt = Option.builder().longOpt("engine").hasArg().desc("sentence splitting and tokenizing engine : corenlp or native (en, es, fr, ru, zh-cn only). defaults to corenlp.").build();
+        Option order_opt = Option.builder().longOpt("order").hasArg().desc("batch output order : input or completion. defaults to input.").build();
+        Option server_opt = Option.builder().longOpt("server").hasArg().desc("run an HTTP summarization server on the given port. -l may list the languages to warm up, comma separated.").build();
+        Option cache_opt = Option.builder().longOpt("cache").hasArg().desc("number of summaries cached in memory. repeated documents are not summarized again.").build();
+        Option cache_dir_opt = Option.builder().longOpt("cache-dir").hasArg().desc("directory of the persistent summary cache.").build();
+        Option cache_ttl_opt = Option.builder().longOpt("cache-ttl").hasArg().desc("time to live of cached summaries, in seconds. defaults to no expiry.").build();
+        Option cache_size_opt = Option.builder().longOpt("cache-dir-mb").hasArg().desc("maximum size of the persistent summary cache, in megabytes. defaults to 256.").build();
+        Option deadline_opt = Option.builder().longOpt("deadline").hasArg().desc("time budget in milliseconds. the summary is degraded rather than late, and the degradations are printed on standard error.").build();
+        Option pipeline_budget_opt = Option.builder().longOpt("pipeline-budget").hasArg().desc("memory budget of the language pipelines, in MB. least recently used languages are unloaded to stay within it.").build();
+        Option pipeline_idle_opt = Option.builder().longOpt("pipeline-idle").hasArg().desc("unload language pipelines unused for this many seconds.").build();
+        Option idf_opt = Option.builder().longOpt("idf").hasArg().desc("directory of the IDF indexes, named <lang>.idf. keywords are then scored by TF-IDF.").build();
+        Option build_idf_opt = Option.builder().longOpt("build-idf").hasArg().desc("build the IDF index of the -l language from the -b corpus into the given file.").build();
+        Option build_dictionary_opt = Option.builder().longOpt("build-dictionary").hasArg().desc("write the zh-cn dictionary prebuilt into the given .trie file, from the -f word list or the bundled ones.").build();
+        Option min_df_opt = Option.builder().longOpt("min-df").hasArg().desc("minimum document frequency of the terms kept by --build-idf. defaults to 2.").build();
+        Option dedup_opt = Option.builder().longOpt("dedup").hasArg().desc("reuse the summary of a near-duplicate document whose estimated similarity is at least the given threshold, e.g. 0.8.").build();
+        Option dedup_size_opt = Option.builder().longOpt("dedup-size").hasArg().desc("number of summaries kept for --dedup. defaults to 10000.").build();
+        Option daemon_opt = Option.builder().longOpt("daemon").desc("run a warm summarization daemon for --client invocations. -l may list the languages to warm up, comma separated.").build();
+        Option client_opt = Option.builder().longOpt("client").desc("forward the request to a running daemon. summarizes in-process when no daemon is running.").build();
+        Option socket_opt = Option.builder().longOpt("socket").hasArg().desc("unix domain socket of the daemon (java 16 or later). defaults to a loopback TCP port.").build();
+        Option port_opt = Option.builder().longOpt("port").hasArg().desc("loopback TCP port of the daemon. defaults to " + SummarizerDaemon.DEFAULT_PORT + ".").build();
+        Option json_opt = Option.builder().longOpt("json").desc("print the summary as JSON : the sentences with their offsets in the document, scores and features.").build();
+        Option queue_opt = Option.builder().longOpt("queue").hasArg().desc("server requests allowed to wait for a worker before rejecting with 429. defaults to 4 times the threads.").build();
 
         options.addOption(text_opt);
         options.addOption(file_opt);
@@ -37,6 +82,34 @@ public class Main
         options.addOption(title_opt);
         options.addOption(delimiter_opt);
         options.addOption(num_opt);
+        options.addOption(encoding_opt);
+        options.addOption(profile_opt);
+        options.addOption(stream_opt);
+        options.addOption(batch_opt);
+        options.addOption(output_opt);
+        options.addOption(threads_opt);
+        options.addOption(order_opt);
+        options.addOption(engine_opt);
+        options.addOption(server_opt);
+        options.addOption(queue_opt);
+        options.addOption(deadline_opt);
+        options.addOption(pipeline_budget_opt);
+        options.addOption(pipeline_idle_opt);
+        options.addOption(idf_opt);
+        options.addOption(build_idf_opt);
+        options.addOption(min_df_opt);
+        options.addOption(build_dictionary_opt);
+        options.addOption(dedup_opt);
+        options.addOption(dedup_size_opt);
+        options.addOption(daemon_opt);
+        options.addOption(client_opt);
+        options.addOption(socket_opt);
+        options.addOption(port_opt);
+        options.addOption(json_opt);
+        options.addOption(cache_opt);
+        options.addOption(cache_dir_opt);
+        options.addOption(cache_ttl_opt);
+        options.addOption(cache_size_opt);
 
         HelpFormatter formatter = new HelpFormatter();
         CommandLineParser parser = new DefaultParser();
@@ -62,6 +135,7 @@ public class Main
         String delimiter = cmd.getOptionValue("d");
         String num_str = cmd.getOptionValue("n");
         Integer num;
+        Charset charset;
 
         try {
 
@@ -70,19 +144,120 @@ public class Main
             lang = (lang == null) ? "en" : lang;
             delimiter = (delimiter == null) ? " (...) " : delimiter;
             num = (num_str == null) ? 3 : Integer.parseInt(num_str);
+            charset = Charset.forName(cmd.getOptionValue("e", "UTF-8"));
+
+            // Forward to a running daemon before loading anything, or go on in-process without one
+            if (cmd.hasOption("client") && !cmd.hasOption("daemon")) {
+                if (text == null && filename != null) {
+                    text = TextFiles.read(Paths.get(filename), charset).toString();
+                }
+                if (text != null) {
+                    String result = daemonClient(cmd).summarize(lang, title, text, num, delimiter);
+                    if (result != null) {
+                        System.out.println(result);
+                        return;
+                    }
+                }
+            }
+
+            if (cmd.hasOption("engine")) {
+                for (String l : lang.split(",")) {
+                    TextEngines.select(l, cmd.getOptionValue("engine"));
+                }
+            }
+
+            configurePipelines(cmd);
+            if (cmd.hasOption("idf")) {
+                for (String l : lang.split(",")) {
+                    Path index = Paths.get(cmd.getOptionValue("idf"), l + ".idf");
+                    if (Files.isRegularFile(index)) IdfIndex.override(l, index);
+                }
+            }
+
+            // Prebuild the Chinese dictionary, which then loads in milliseconds
+            if (cmd.hasOption("build-dictionary")) {
+                long start = System.nanoTime();
+                ChineseDictionary dictionary = (filename == null) ? ChineseDictionary.build()
+                        : ChineseDictionary.open(Paths.get(filename));
+                dictionary.write(Paths.get(cmd.getOptionValue("build-dictionary")));
+                System.err.println(String.format("Wrote %d words in %.2f s", dictionary.size(),
+                        (System.nanoTime() - start) / 1e9));
+                return;
+            }
+
+            // Build an IDF index from a corpus
+            if (cmd.hasOption("build-idf")) {
+                if (!cmd.hasOption("b")) {
+                    System.out.println("ERROR : --build-idf reads its corpus from -b.");
+                    System.exit(1);
+                    return;
+                }
+                runBuildIdf(cmd, lang, charset);
+                return;
+            }
+            SummaryCache cache = createCache(cmd);
+            NearDuplicateIndex nearDuplicates = cmd.hasOption("dedup")
+                    ? new NearDuplicateIndex(Integer.parseInt(cmd.getOptionValue("dedup-size", "10000")),
+                            Double.parseDouble(cmd.getOptionValue("dedup")))
+                    : null;
+            if (cmd.hasOption("profile")) {
+                Metrics.setEnabled(true);
+                Runtime.getRuntime().addShutdownHook(new Thread(() -> System.err.print(Metrics.report())));
+            }
+
+            // Daemon mode
+            if (cmd.hasOption("daemon")) {
+                runDaemon(cmd, lang.split(","), cache, nearDuplicates);
+                return;
+            }
+
+            // Server mode
+            if (cmd.hasOption("server")) {
+                runServer(cmd, lang.split(","), cache, nearDuplicates);
+                return;
+            }
+
+            // Batch mode
+            if (cmd.hasOption("b")) {
+                runBatch(cmd, lang, delimiter, num, charset, cache, nearDuplicates);
+                return;
+            }
+
+            // Stream large files instead of reading them at once
+            if (text == null && filename != null && cmd.hasOption("s")) {
+                StreamingSummarizer summarizer = new StreamingSummarizer(lang);
+                try (Reader reader = Files.newBufferedReader(Paths.get(filename), charset)) {
+                    System.out.println(summarizer.summarize(title, reader, num, delimiter));
+                }
+                return;
+            }
 
             // Get text
+            CharSequence document = text;
             if ((text == null) && (filename == null)){
                 System.out.println("ERROR : Please provide text using -t or -f argument. See -help for more instruction.");
                 System.exit(1);
                 return;
             } else if (text == null){ // obtain text from file
-                text = Helper.readFile(filename);
+                document = TextFiles.read(Paths.get(filename), charset);
             }
 
             // Summarizer
-            Summarizer summarizer = new Summarizer(lang); // initialize summarizer with specific language
-            String result = summarizer.summarize(title, text, num, delimiter);
+            Summarizer summarizer = Summarizer.create(lang, cache, nearDuplicates); // initialize summarizer with specific language
+            if (cmd.hasOption("deadline")) {
+                DeadlineSummary summary = summarizer.summarize(title, document, num,
+                        Long.parseLong(cmd.getOptionValue("deadline")), TimeUnit.MILLISECONDS);
+                for (Degradation degradation : summary.getDegradations()) {
+                    System.err.println("Degraded : " + degradation.getDescription());
+                }
+                System.out.println(summary.join(delimiter));
+                return;
+            }
+            if (cmd.hasOption("json")) {
+                System.out.println(summarizer.getSummary(title, document, num).toJson());
+                return;
+            }
+            String result = summarizer.summarize(title, document, num, delimiter);
             System.out.println(result);
 
         }
@@ -91,4 +266,189 @@ public class Main
         }
     }
 
+    /**
+     * This method is used to bound the memory of the language pipelines, if
+     * requested. Loads and evictions are then reported on standard error.
+     */
+    private static void configurePipelines(CommandLine cmd) {
+        if (!cmd.hasOption("pipeline-budget") && !cmd.hasOption("pipeline-idle")) {
+            return;
+        }
+        PipelineRegistry.setMemoryBudget(Long.parseLong(cmd.getOptionValue("pipeline-budget", "0")) * 1024 * 1024);
+        PipelineRegistry.setIdleTimeout(Long.parseLong(cmd.getOptionValue("pipeline-idle", "0")), TimeUnit.SECONDS);
+        PipelineRegistry.addListener(new PipelineListener() {
+            @Override
+            public void onLoad(String lang, long footprint, long nanos) {
+                System.err.printf("Loaded the %s pipeline (%d MB) in %d ms%n", lang, footprint / (1024 * 1024),
+                        nanos / 1000000);
+            }
+
+            @Override
+            public void onEvict(String lang, long footprint, boolean idle) {
+                System.err.printf("Unloaded the %s pipeline (%d MB), %s%n", lang, footprint / (1024 * 1024),
+                        idle ? "idle" : "over budget");
+            }
+        });
+    }
+
+    /**
+     * This method is used to run the summarization daemon until the process
+     * is stopped.
+     */
+    private static void runDaemon(CommandLine cmd, String[] langs, SummaryCache cache,
+                                  NearDuplicateIndex nearDuplicates) throws Exception {
+        String threads_str = cmd.getOptionValue("p");
+        int threads = (threads_str == null) ? Runtime.getRuntime().availableProcessors() : Integer.parseInt(threads_str);
+        String socket = cmd.getOptionValue("socket");
+        int port = Integer.parseInt(cmd.getOptionValue("port", String.valueOf(SummarizerDaemon.DEFAULT_PORT)));
+
+        final SummarizerDaemon daemon = new SummarizerDaemon((socket == null) ? null : Paths.get(socket), port,
+                threads, cache, nearDuplicates, langs);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                daemon.close();
+            } catch (IOException e) {
+                // exiting anyway
+            }
+        }));
+        daemon.start();
+        System.err.println("Daemon listening on " + daemon.getAddress());
+    }
+
+    private static DaemonClient daemonClient(CommandLine cmd) {
+        String socket = cmd.getOptionValue("socket");
+        int port = Integer.parseInt(cmd.getOptionValue("port", String.valueOf(SummarizerDaemon.DEFAULT_PORT)));
+        return new DaemonClient((socket == null) ? null : Paths.get(socket), port);
+    }
+
+    /**
+     * This method is used to run the HTTP summarization server until the
+     * process is stopped.
+     */
+    private static void runServer(CommandLine cmd, String[] langs, SummaryCache cache,
+                                  NearDuplicateIndex nearDuplicates) throws Exception {
+        String threads_str = cmd.getOptionValue("p");
+        String queue_str = cmd.getOptionValue("queue");
+        int port = Integer.parseInt(cmd.getOptionValue("server"));
+        int threads = (threads_str == null) ? Runtime.getRuntime().availableProcessors() : Integer.parseInt(threads_str);
+        int queue = (queue_str == null) ? threads * 4 : Integer.parseInt(queue_str);
+
+        final SummarizerServer server = new SummarizerServer(new InetSocketAddress(port), threads, queue, cache,
+                nearDuplicates, langs);
+        Runtime.getRuntime().addShutdownHook(new Thread(server::close));
+        server.start();
+        System.err.println("Listening on port " + server.getAddress().getPort());
+    }
+
+    /**
+     * This method is used to summarize every document of a batch input and
+     * write the summaries as JSON lines, then report the throughput.
+     */
+    private static void runBatch(CommandLine cmd, String lang, String delimiter, int num, Charset charset,
+                                 SummaryCache cache, NearDuplicateIndex nearDuplicates) throws Exception {
+        String threads_str = cmd.getOptionValue("p");
+        String order = cmd.getOptionValue("order", "input");
+        String output = cmd.getOptionValue("o");
+        int threads = (threads_str == null) ? Runtime.getRuntime().availableProcessors() : Integer.parseInt(threads_str);
+
+        if (!order.equals("input") && !order.equals("completion")) {
+            System.out.println("ERROR : --order must be either 'input' or 'completion'.");
+            System.exit(1);
+            return;
+        }
+
+        final Writer writer = (output == null)
+                ? new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8))
+                : Files.newBufferedWriter(Paths.get(output), StandardCharsets.UTF_8);
+
+        BatchSummarizer.Stats stats;
+        try (DocumentSource documents = DocumentSource.open(cmd.getOptionValue("b"), charset);
+             BatchSummarizer batch = new BatchSummarizer(lang, threads, cache, nearDuplicates)) {
+
+            stats = batch.run(documents, num, delimiter, order.equals("input"), new BatchSummarizer.BatchListener() {
+                @Override
+                public void onSummary(Document document, String summary) throws IOException {
+                    writer.write(Json.createObjectBuilder().add("id", document.getId()).add("summary", summary)
+                            .build().toString());
+                    writer.write('\n');
+                }
+
+                @Override
+                public void onError(Document document, Throwable error) throws IOException {
+                    writer.write(Json.createObjectBuilder().add("id", document.getId())
+                            .add("error", String.valueOf(error)).build().toString());
+                    writer.write('\n');
+                }
+            });
+        } finally {
+            writer.flush();
+            if (output != null) writer.close();
+        }
+
+        System.err.println(String.format("Summarized %d documents (%d errors) in %.2f s : %.1f documents/sec",
+                stats.getDocuments(), stats.getErrors(), stats.getElapsedNanos() / 1e9, stats.getThroughput()));
+        if (cache != null) {
+            System.err.println("Cache : " + cache.getStats());
+        }
+        if (nearDuplicates != null) {
+            System.err.println("Near-duplicates : " + nearDuplicates.getStats());
+        }
+    }
+
+    /**
+     * This method is used to build the IDF index of a language from a corpus.
+     * Documents are analyzed on -p threads, and counted as they complete.
+     */
+    private static void runBuildIdf(CommandLine cmd, final String lang, Charset charset) throws Exception {
+        String threads_str = cmd.getOptionValue("p");
+        int threads = (threads_str == null) ? Runtime.getRuntime().availableProcessors() : Integer.parseInt(threads_str);
+        int minDf = Integer.parseInt(cmd.getOptionValue("min-df", "2"));
+        final Parser parser = new Parser(lang);
+        IdfIndex.Builder builder = new IdfIndex.Builder();
+
+        long start = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CompletionService<AnalyzedDocument> completion = new ExecutorCompletionService<AnalyzedDocument>(executor);
+        try (DocumentSource documents = DocumentSource.open(cmd.getOptionValue("b"), charset)) {
+            // Bounded number of documents in flight, so the corpus is never held in memory
+            int pending = 0;
+            while (documents.hasNext()) {
+                final Document document = documents.next();
+                if (document.getError() != null) {
+                    System.err.println("Skipped " + document.getId() + " : " + document.getError());
+                    continue;
+                }
+                completion.submit(() -> parser.analyze("", parser.getSentences(document.getText())));
+                if (++pending == threads * 4) {
+                    builder.add(completion.take().get());
+                    pending--;
+                }
+            }
+            for (; pending > 0; pending--) {
+                builder.add(completion.take().get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        builder.write(Paths.get(cmd.getOptionValue("build-idf")), minDf);
+        System.err.println(String.format("Indexed %d documents, %d distinct terms in %.2f s",
+                builder.getDocumentCount(), builder.getTermCount(), (System.nanoTime() - start) / 1e9));
+    }
+
+    /**
+     * This method is used to create the summary cache requested with --cache
+     * and --cache-dir, if any.
+     */
+    private static SummaryCache createCache(CommandLine cmd) {
+        if (!cmd.hasOption("cache") && !cmd.hasOption("cache-dir")) {
+            return null;
+        }
+        int entries = Integer.parseInt(cmd.getOptionValue("cache", "10000"));
+        long ttl = Long.parseLong(cmd.getOptionValue("cache-ttl", "0")) * 1000;
+        String directory = cmd.getOptionValue("cache-dir");
+        long size = Long.parseLong(cmd.getOptionValue("cache-dir-mb", "256")) * 1024 * 1024;
+        return new SummaryCache(entries, ttl, (directory == null) ? null : Paths.get(directory), size);
+    }
+
 }
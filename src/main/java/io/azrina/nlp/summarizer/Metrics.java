@@ -0,0 +1,263 @@
+package io.azrina.nlp.summarizer;
+
+import java.lang.management.ManagementFactory;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * <h1>Metrics</h1> Process-wide instrumentation of the summarizer : a latency
+ * histogram per stage of Summarizer.summarize, and counters of documents,
+ * sentences and tokens. Measurements are exposed through getters, JMX (see
+ * MetricsMXBean) and MetricsListeners.
+ *
+ * Metrics are disabled by default. While disabled, instrumented code only
+ * reads a volatile flag at each stage boundary : no clock is read and nothing
+ * is recorded. Stages are measured on their own, except SENTENCES which
+ * includes PIPELINE.
+ **/
+public final class Metrics {
+
+    /**
+     * Instrumented stages, in the order they run.
+     */
+    public enum Stage {
+        PIPELINE("pipeline acquisition"),
+        SENTENCES("sentence splitting"),
+        TERM_FREQUENCIES("term frequencies"),
+        KEYWORDS("keyword extraction"),
+        SCORING("sentence scoring"),
+        RANKING("ranking");
+
+        private final String description;
+
+        Stage(String description) {
+            this.description = description;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+    }
+
+    static final String OBJECT_NAME = "io.azrina.nlp.summarizer:type=Metrics";
+
+    private static volatile boolean enabled;
+    private static volatile boolean registered;
+
+    private static final Map<Stage, Histogram> STAGES = new EnumMap<Stage, Histogram>(Stage.class);
+    private static final Histogram DOCUMENT_LATENCY = new Histogram();
+    private static final LongAdder DOCUMENTS = new LongAdder();
+    private static final LongAdder SENTENCES = new LongAdder();
+    private static final LongAdder TOKENS = new LongAdder();
+    private static final List<MetricsListener> LISTENERS = new CopyOnWriteArrayList<MetricsListener>();
+
+    static {
+        for (Stage stage : Stage.values()) {
+            STAGES.put(stage, new Histogram());
+        }
+    }
+
+    private Metrics() {
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * This method is used to turn the instrumentation on or off. The first
+     * time it is turned on, the MXBean is registered with the platform MBean
+     * server.
+     *
+     * @param boolean on True to record measurements
+     */
+    public static void setEnabled(boolean on) {
+        if (on && !registered) {
+            register();
+        }
+        enabled = on;
+    }
+
+    /**
+     * @return long Start time of a stage, or 0 if metrics are disabled
+     */
+    public static long start() {
+        return enabled ? System.nanoTime() : 0L;
+    }
+
+    /**
+     * This method is used to record the duration of a stage.
+     *
+     * @param Stage stage Measured stage
+     * @param long start Value returned by start() when the stage began
+     * @return long End time of the stage, or 0 if metrics are disabled, to chain stages
+     */
+    public static long stop(Stage stage, long start) {
+        if (start == 0L) return 0L;
+        long end = System.nanoTime();
+        long nanos = end - start;
+        STAGES.get(stage).record(nanos);
+        for (MetricsListener listener : LISTENERS) {
+            listener.onStage(stage, nanos);
+        }
+        return end;
+    }
+
+    /**
+     * This method is used to count a summarized document.
+     *
+     * @param int sentences Number of sentences of the document
+     * @param int tokens Number of tokens of the document
+     * @param long start Value returned by start() when the summarization began
+     */
+    public static void document(int sentences, int tokens, long start) {
+        if (start == 0L) return;
+        long nanos = System.nanoTime() - start;
+        DOCUMENT_LATENCY.record(nanos);
+        DOCUMENTS.increment();
+        SENTENCES.add(sentences);
+        TOKENS.add(tokens);
+        for (MetricsListener listener : LISTENERS) {
+            listener.onDocument(sentences, tokens, nanos);
+        }
+    }
+
+    public static void addListener(MetricsListener listener) {
+        LISTENERS.add(listener);
+    }
+
+    public static void removeListener(MetricsListener listener) {
+        LISTENERS.remove(listener);
+    }
+
+    /**
+     * @param Stage stage Instrumented stage
+     * @return Histogram Latencies of the stage, in nanoseconds
+     */
+    public static Histogram getHistogram(Stage stage) {
+        return STAGES.get(stage);
+    }
+
+    /**
+     * @return Histogram Latencies of whole summarizations, in nanoseconds
+     */
+    public static Histogram getDocumentHistogram() {
+        return DOCUMENT_LATENCY;
+    }
+
+    public static long getDocuments() {
+        return DOCUMENTS.sum();
+    }
+
+    public static long getSentences() {
+        return SENTENCES.sum();
+    }
+
+    public static long getTokens() {
+        return TOKENS.sum();
+    }
+
+    /**
+     * This method is used to drop every measurement.
+     */
+    public static void reset() {
+        for (Histogram histogram : STAGES.values()) {
+            histogram.reset();
+        }
+        DOCUMENT_LATENCY.reset();
+        DOCUMENTS.reset();
+        SENTENCES.reset();
+        TOKENS.reset();
+    }
+
+    /**
+     * @return String Per-stage breakdown of the time spent, as a text table
+     */
+    public static String report() {
+        long total = 0;
+        for (Histogram histogram : STAGES.values()) {
+            total += histogram.getSum();
+        }
+        total -= STAGES.get(Stage.PIPELINE).getSum(); // already part of SENTENCES
+
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%-22s %8s %12s %7s %10s %10s %10s%n",
+                "stage", "count", "total ms", "%", "p50 us", "p99 us", "max us"));
+        for (Stage stage : Stage.values()) {
+            Histogram histogram = STAGES.get(stage);
+            report.append(String.format("%-22s %8d %12.2f %6.1f%% %10d %10d %10d%n",
+                    stage.getDescription(), histogram.getCount(), histogram.getSum() / 1e6,
+                    total == 0 ? 0.0 : histogram.getSum() * 100.0 / total, histogram.getPercentile(50) / 1000,
+                    histogram.getPercentile(99) / 1000, histogram.getMax() / 1000));
+        }
+        report.append(String.format("%d documents, %d sentences, %d tokens, %.2f ms per document (p99 %.2f ms)%n",
+                getDocuments(), getSentences(), getTokens(), DOCUMENT_LATENCY.getMean() / 1e6,
+                DOCUMENT_LATENCY.getPercentile(99) / 1e6));
+        return report.toString();
+    }
+
+    private static synchronized void register() {
+        if (registered) return;
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(new MXBean(), name);
+            }
+        } catch (JMException e) {
+            // JMX is optional, the getters and listeners still work
+        }
+        registered = true;
+    }
+
+    private static class MXBean implements MetricsMXBean {
+
+        @Override
+        public boolean isEnabled() {
+            return Metrics.isEnabled();
+        }
+
+        @Override
+        public void setEnabled(boolean enabled) {
+            Metrics.setEnabled(enabled);
+        }
+
+        @Override
+        public long getDocuments() {
+            return Metrics.getDocuments();
+        }
+
+        @Override
+        public long getSentences() {
+            return Metrics.getSentences();
+        }
+
+        @Override
+        public long getTokens() {
+            return Metrics.getTokens();
+        }
+
+        @Override
+        public Map<String, StageStatistics> getStages() {
+            Map<String, StageStatistics> stages = new LinkedHashMap<String, StageStatistics>();
+            for (Stage stage : Stage.values()) {
+                stages.put(stage.name(), StageStatistics.of(STAGES.get(stage)));
+            }
+            return stages;
+        }
+
+        @Override
+        public void reset() {
+            Metrics.reset();
+        }
+    }
+
+}
@@ -0,0 +1,22 @@
+package io.azrina.nlp.summarizer;
+
+/**
+ * <h1>MetricsListener</h1> Receives every measurement made while Metrics is
+ * enabled, e.g. to forward them to a monitoring system. Listeners are called
+ * on the summarizing threads and must be fast and thread-safe.
+ **/
+public interface MetricsListener {
+
+    /**
+     * @param Metrics.Stage stage Measured stage
+     * @param long nanos Duration of the stage
+     */
+    void onStage(Metrics.Stage stage, long nanos);
+
+    /**
+     * @param int sentences Number of sentences of the summarized document
+     * @param int tokens Number of tokens of the summarized document
+     * @param long nanos Duration of the whole summarization
+     */
+    void onDocument(int sentences, int tokens, long nanos);
+}
@@ -0,0 +1,27 @@
+package io.azrina.nlp.summarizer;
+
+import java.util.Map;
+
+/**
+ * <h1>MetricsMXBean</h1> JMX view of Metrics, registered as
+ * io.azrina.nlp.summarizer:type=Metrics once metrics are enabled.
+ **/
+public interface MetricsMXBean {
+
+    boolean isEnabled();
+
+    void setEnabled(boolean enabled);
+
+    long getDocuments();
+
+    long getSentences();
+
+    long getTokens();
+
+    /**
+     * @return Map<String, StageStatistics> Latency statistics of each stage, by stage name
+     */
+    Map<String, StageStatistics> getStages();
+
+    void reset();
+}
@@ -0,0 +1,230 @@
+package io.azrina.nlp.summarizer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import edu.stanford.nlp.ling.CoreAnnotations;
+import edu.stanford.nlp.ling.CoreLabel;
+import edu.stanford.nlp.pipeline.Annotation;
+import edu.stanford.nlp.util.CoreMap;
+
+/**
+ * <h1>NativeTextEngine</h1> A lightweight sentence splitter and tokenizer for
+ * space separated languages (en, es, fr, ru), which does not need Stanford
+ * Core NLP models or pipelines.
+ *
+ * Sentences end at '.', '!', '?' or '…' (optionally followed by closing quotes
+ * or brackets) when the next word does not start with a lowercase letter, and
+ * at blank lines. A period after a known abbreviation or a single letter
+ * initial does not end a sentence. Words are whitespace separated chunks with
+ * their leading and trailing punctuation split off, which is what the
+ * summarizer features need once punctuation has been removed.
+ **/
+public class NativeTextEngine implements SentenceSplitter, Tokenizer {
+
+    private static final String EN_ABBREVIATIONS = "mr,mrs,ms,dr,prof,sr,jr,st,vs,etc,inc,ltd,co,corp,dept,est,fig,gen,gov,sen,rep,rev,no,nos,vol,jan,feb,mar,apr,jun,jul,aug,sep,sept,oct,nov,dec,e.g,i.e,u.s,u.k,u.n,a.m,p.m,approx,ca,cf";
+    private static final String ES_ABBREVIATIONS = "sr,sra,srta,sres,dr,dra,ud,uds,vd,vds,etc,pág,págs,núm,av,avda,prof,lic,ing,gral,ej,p.ej,ee.uu,aprox,art,cap";
+    private static final String FR_ABBREVIATIONS = "m,mm,mme,mmes,mlle,mlles,dr,pr,me,st,ste,etc,ex,p.ex,cf,av,bd,env,apr,j.-c,n°,no,vol,chap";
+    private static final String RU_ABBREVIATIONS = "г,гг,ул,пр,др,им,т.е,т.д,т.п,т.к,т.н,см,стр,млн,млрд,тыс,руб,коп,проф,акад,доц,напр,рис,табл";
+
+    private final Set<String> abbreviations;
+
+    // default constructor
+    public NativeTextEngine() {
+        this("en");
+    }
+
+    // constructor with param
+    public NativeTextEngine(String lang) {
+        String list;
+        switch (lang) {
+            case "es":
+                list = ES_ABBREVIATIONS;
+                break;
+            case "fr":
+                list = FR_ABBREVIATIONS;
+                break;
+            case "ru":
+                list = RU_ABBREVIATIONS;
+                break;
+            default:
+                list = EN_ABBREVIATIONS;
+        }
+        this.abbreviations = new HashSet<String>(Arrays.asList(list.split(",")));
+    }
+
+    @Override
+    public List<CoreMap> split(String document) {
+        List<CoreMap> sentences = new ArrayList<CoreMap>();
+        int length = document.length();
+        int begin = skipWhitespace(document, 0);
+
+        int i = begin;
+        while (i < length) {
+            char c = document.charAt(i);
+            int end = -1;
+
+            if (c == '.' || c == '!' || c == '?' || c == '…') {
+                int terminator = i;
+                // Swallow repeated terminators and closing quotes or brackets
+                while (i + 1 < length && isTerminator(document.charAt(i + 1))) i++;
+                while (i + 1 < length && isCloser(document.charAt(i + 1))) i++;
+                if (isBoundary(document, begin, terminator, i + 1)) {
+                    end = i + 1;
+                }
+            } else if (c == '\n' && isBlankLine(document, i)) {
+                end = trimEnd(document, begin, i);
+            }
+
+            if (end > begin) {
+                // A closing quote separated from its sentence by a space still belongs to it
+                int next = skipWhitespace(document, end);
+                if (next < length && (document.charAt(next) == '”' || document.charAt(next) == '»')) {
+                    end = next + 1;
+                }
+                addSentence(document, begin, end, sentences);
+                begin = skipWhitespace(document, end);
+                i = begin;
+            } else {
+                i++;
+            }
+        }
+
+        int end = trimEnd(document, begin, length);
+        if (end > begin) {
+            addSentence(document, begin, end, sentences);
+        }
+        return sentences;
+    }
+
+    @Override
+    public List<String> tokenize(String sentence) {
+        List<String> words = new ArrayList<String>();
+        int length = sentence.length();
+        int i = 0;
+        while (i < length) {
+            while (i < length && Character.isWhitespace(sentence.charAt(i))) i++;
+            int begin = i;
+            while (i < length && !Character.isWhitespace(sentence.charAt(i))) i++;
+            if (i > begin) {
+                words.add(sentence.substring(begin, i).toLowerCase(Locale.ROOT));
+            }
+        }
+        return words;
+    }
+
+    /**
+     * A terminator at index 'terminator' ends a sentence if it is followed by
+     * whitespace and a word which does not start with a lowercase letter, or by
+     * the end of the document, and is not the period of an abbreviation.
+     */
+    private boolean isBoundary(String document, int begin, int terminator, int next) {
+        int length = document.length();
+
+        // Word preceding the terminator, without its leading punctuation
+        int wordStart = terminator;
+        while (wordStart > begin && !Character.isWhitespace(document.charAt(wordStart - 1))) wordStart--;
+        while (wordStart < terminator && !Character.isLetterOrDigit(document.charAt(wordStart))) wordStart++;
+
+        if (next < length && !Character.isWhitespace(document.charAt(next))) {
+            // Missing space, as in 'end.Next' : only split after a plain lowercase word, number or bracket
+            int start = isOpener(document.charAt(next)) ? skipWhitespace(document, next + 1) : next;
+            if (terminator == wordStart || start >= length || !Character.isUpperCase(document.charAt(start))) {
+                return false; // no word before the terminator, e.g. '.NET' at the start of the document
+            }
+            char last = document.charAt(terminator - 1);
+            return (Character.isLowerCase(last) || Character.isDigit(last) || last == ')')
+                    && document.lastIndexOf('.', terminator - 1) < wordStart
+                    && !abbreviations.contains(document.substring(wordStart, terminator).toLowerCase(Locale.ROOT));
+        }
+        int start = skipWhitespace(document, next);
+        if (start < length && Character.isLowerCase(document.charAt(start))) {
+            return false;
+        }
+        if (document.charAt(terminator) != '.' || wordStart == terminator) {
+            return true;
+        }
+        if (terminator - wordStart == 1 && Character.isUpperCase(document.charAt(wordStart))) {
+            return false; // initial
+        }
+        return !abbreviations.contains(document.substring(wordStart, terminator).toLowerCase(Locale.ROOT));
+    }
+
+    private void addSentence(String document, int begin, int end, List<CoreMap> sentences) {
+        String text = document.substring(begin, end);
+        List<CoreLabel> tokens = new ArrayList<CoreLabel>();
+
+        int i = begin;
+        while (i < end) {
+            while (i < end && Character.isWhitespace(document.charAt(i))) i++;
+            int chunkStart = i;
+            while (i < end && !Character.isWhitespace(document.charAt(i))) i++;
+            int chunkEnd = i;
+
+            // Split off leading and trailing punctuation, one token per character
+            int wordStart = chunkStart;
+            while (wordStart < chunkEnd && !Character.isLetterOrDigit(document.charAt(wordStart))) {
+                tokens.add(token(document, wordStart, wordStart + 1));
+                wordStart++;
+            }
+            int wordEnd = chunkEnd;
+            while (wordEnd > wordStart && !Character.isLetterOrDigit(document.charAt(wordEnd - 1))) wordEnd--;
+            if (wordEnd > wordStart) {
+                tokens.add(token(document, wordStart, wordEnd));
+            }
+            for (int p = wordEnd; p < chunkEnd; p++) {
+                tokens.add(token(document, p, p + 1));
+            }
+        }
+
+        Annotation sentence = new Annotation(text);
+        sentence.set(CoreAnnotations.CharacterOffsetBeginAnnotation.class, begin);
+        sentence.set(CoreAnnotations.CharacterOffsetEndAnnotation.class, end);
+        sentence.set(CoreAnnotations.TokensAnnotation.class, tokens);
+        sentence.set(CoreAnnotations.SentenceIndexAnnotation.class, sentences.size());
+        sentences.add(sentence);
+    }
+
+    static CoreLabel token(String document, int begin, int end) {
+        String word = document.substring(begin, end);
+        CoreLabel token = new CoreLabel(4);
+        token.setWord(word);
+        token.setOriginalText(word);
+        token.setBeginPosition(begin);
+        token.setEndPosition(end);
+        return token;
+    }
+
+    private static boolean isTerminator(char c) {
+        return c == '.' || c == '!' || c == '?' || c == '…';
+    }
+
+    private static boolean isCloser(char c) {
+        return c == '"' || c == '\'' || c == ')' || c == ']' || c == '»' || c == '”' || c == '’';
+    }
+
+    private static boolean isOpener(char c) {
+        return c == '"' || c == '(' || c == '[' || c == '«' || c == '“' || c == '‘';
+    }
+
+    private static boolean isBlankLine(String document, int newline) {
+        int i = newline + 1;
+        while (i < document.length() && document.charAt(i) != '\n' && Character.isWhitespace(document.charAt(i))) i++;
+        return i < document.length() && document.charAt(i) == '\n';
+    }
+
+    private static int skipWhitespace(String document, int i) {
+        while (i < document.length() && Character.isWhitespace(document.charAt(i))) i++;
+        return i;
+    }
+
+    private static int trimEnd(String document, int begin, int end) {
+        while (end > begin && Character.isWhitespace(document.charAt(end - 1))) end--;
+        return end;
+    }
+
+}
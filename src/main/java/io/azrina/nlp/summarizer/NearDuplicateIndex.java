@@ -0,0 +1,268 @@
+package io.azrina.nlp.summarizer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <h1>NearDuplicateIndex</h1> A bounded in-memory index of summaries, looked
+ * up by the similarity of their documents rather than by exact content.
+ * Republished versions of one story, with different boilerplate, share most of
+ * their word shingles : their MinHash signatures then agree on most positions,
+ * and the summary of the first version can be reused for the others.
+ *
+ * Documents are turned into shingles of SHINGLE_SIZE consecutive tokens, and
+ * signed with SIGNATURE_SIZE MinHash values; the share of equal values
+ * estimates the Jaccard similarity of the shingle sets. Candidates are found
+ * with locality-sensitive hashing : signatures are cut into bands, and only
+ * documents sharing a whole band with the looked up one are compared. The
+ * band size is chosen from the threshold, so that documents above it are
+ * almost always candidates.
+ *
+ * Entries are evicted in least recently used order beyond maxEntries. The
+ * index is thread-safe and can be shared by the summarizers of several
+ * languages, since the language is part of each entry.
+ **/
+public class NearDuplicateIndex {
+
+    static final int SHINGLE_SIZE = 3;
+    static final int SIGNATURE_SIZE = 128;
+
+    // Seeds of the hash functions, fixed so that signatures are reproducible
+    private static final long[] SEEDS = new long[SIGNATURE_SIZE];
+
+    static {
+        long seed = 0x5DEECE66DL;
+        for (int i = 0; i < SEEDS.length; i++) {
+            seed = mix(seed + 0x9E3779B97F4A7C15L);
+            SEEDS[i] = seed;
+        }
+    }
+
+    private final int maxEntries;
+    private final double threshold;
+    private final int rows;
+    private final Map<Long, Entry> entries;
+    private final Map<Long, List<Entry>> buckets = new HashMap<Long, List<Entry>>();
+    private long nextId;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * Near-duplicate index constructor.
+     *
+     * @param int maxEntries Maximum number of summaries held
+     * @param double threshold Minimum estimated similarity, between 0 and 1, to reuse a summary
+     */
+    public NearDuplicateIndex(final int maxEntries, double threshold) {
+        if (maxEntries < 1 || threshold <= 0 || threshold > 1) {
+            throw new IllegalArgumentException("maxEntries must be positive and threshold in (0, 1]");
+        }
+        this.maxEntries = maxEntries;
+        this.threshold = threshold;
+        this.rows = rows(threshold);
+        this.entries = new LinkedHashMap<Long, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, NearDuplicateIndex.Entry> eldest) {
+                if (size() > maxEntries) {
+                    unindex(eldest.getValue());
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * This method is used to compute the MinHash signature of a token
+     * sequence, over its shingles of SHINGLE_SIZE tokens. Sequences shorter
+     * than a shingle are a single shingle.
+     *
+     * @param List<String> tokens Normalized tokens of the document
+     * @return int[] Signature of SIGNATURE_SIZE values
+     */
+    public static int[] signature(List<String> tokens) {
+        long[] minimums = new long[SIGNATURE_SIZE];
+        Arrays.fill(minimums, Long.MAX_VALUE);
+        int shingles = Math.max(1, tokens.size() - SHINGLE_SIZE + 1);
+        for (int start = 0; start < shingles; start++) {
+            long shingle = 0x9E3779B97F4A7C15L;
+            for (int i = start; i < Math.min(start + SHINGLE_SIZE, tokens.size()); i++) {
+                shingle = mix(shingle ^ IdfIndex.hash(tokens.get(i)));
+            }
+            for (int i = 0; i < SIGNATURE_SIZE; i++) {
+                long value = mix(shingle ^ SEEDS[i]) >>> 1;
+                if (value < minimums[i]) minimums[i] = value;
+            }
+        }
+
+        int[] signature = new int[SIGNATURE_SIZE];
+        for (int i = 0; i < SIGNATURE_SIZE; i++) {
+            signature[i] = (int) minimums[i];
+        }
+        return signature;
+    }
+
+    /**
+     * @param int[] a A signature
+     * @param int[] b Another signature
+     * @return double Estimated Jaccard similarity of the documents
+     */
+    public static double similarity(int[] a, int[] b) {
+        int equal = 0;
+        for (int i = 0; i < SIGNATURE_SIZE; i++) {
+            if (a[i] == b[i]) equal++;
+        }
+        return equal / (double) SIGNATURE_SIZE;
+    }
+
+    /**
+     * This method is used to find the summary of the most similar document
+     * indexed, if it is similar enough.
+     *
+     * @param String lang Language code of the document
+     * @param int numSentences Number of maximum sentences in the summary
+     * @param int[] signature Signature of the document
+     * @return List<String> Summary sentences, or null if no document is similar enough
+     */
+    public List<String> find(String lang, int numSentences, int[] signature) {
+        synchronized (entries) {
+            Entry best = null;
+            double best_similarity = threshold;
+            for (int band = 0; band < SIGNATURE_SIZE / rows; band++) {
+                List<Entry> bucket = buckets.get(bandKey(signature, band));
+                if (bucket == null) continue;
+                for (Entry candidate : bucket) {
+                    if (candidate.numSentences != numSentences || !candidate.lang.equals(lang)) continue;
+                    double similarity = similarity(signature, candidate.signature);
+                    if (similarity >= best_similarity && (best == null || similarity > best_similarity)) {
+                        best = candidate;
+                        best_similarity = similarity;
+                    }
+                }
+            }
+            if (best == null) {
+                misses.incrementAndGet();
+                return null;
+            }
+            entries.get(best.id); // refresh its recency
+            hits.incrementAndGet();
+            return best.sentences;
+        }
+    }
+
+    /**
+     * @param String lang Language code of the document
+     * @param int numSentences Number of maximum sentences in the summary
+     * @param int[] signature Signature of the document
+     * @param List<String> sentences Summary sentences
+     */
+    public void add(String lang, int numSentences, int[] signature, List<String> sentences) {
+        synchronized (entries) {
+            Entry entry = new Entry(nextId++, lang, numSentences, signature,
+                    Collections.unmodifiableList(new ArrayList<String>(sentences)));
+            for (int band = 0; band < SIGNATURE_SIZE / rows; band++) {
+                Long key = bandKey(signature, band);
+                List<Entry> bucket = buckets.get(key);
+                if (bucket == null) {
+                    bucket = new ArrayList<Entry>(2);
+                    buckets.put(key, bucket);
+                }
+                bucket.add(entry);
+            }
+            entries.put(entry.id, entry);
+        }
+    }
+
+    /**
+     * This method is used to drop every entry.
+     */
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+            buckets.clear();
+        }
+    }
+
+    public double getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * @return SummaryCache.Stats Near-duplicate hits, misses and evictions, without disk hits
+     */
+    public SummaryCache.Stats getStats() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        return new SummaryCache.Stats(hits.get(), 0, misses.get(), evictions.get(), size);
+    }
+
+    // Called with the entries locked
+    private void unindex(Entry entry) {
+        for (int band = 0; band < SIGNATURE_SIZE / rows; band++) {
+            Long key = bandKey(entry.signature, band);
+            List<Entry> bucket = buckets.get(key);
+            if (bucket == null) continue;
+            for (Iterator<Entry> i = bucket.iterator(); i.hasNext(); ) {
+                if (i.next() == entry) i.remove();
+            }
+            if (bucket.isEmpty()) buckets.remove(key);
+        }
+    }
+
+    private long bandKey(int[] signature, int band) {
+        long key = band;
+        for (int i = band * rows; i < (band + 1) * rows; i++) {
+            key = mix(key * 31 + signature[i]);
+        }
+        return key;
+    }
+
+    // Rows per band : the largest whose LSH threshold (1/b)^(1/r) stays below
+    // 90% of the similarity threshold, so that similar documents share a band
+    static int rows(double threshold) {
+        int rows = 1;
+        for (int r = 2; r <= SIGNATURE_SIZE; r *= 2) {
+            double lsh_threshold = Math.pow(1.0 / (SIGNATURE_SIZE / r), 1.0 / r);
+            if (lsh_threshold > threshold * 0.9) break;
+            rows = r;
+        }
+        return rows;
+    }
+
+    // SplitMix64 finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static class Entry {
+
+        private final long id;
+        private final String lang;
+        private final int numSentences;
+        private final int[] signature;
+        private final List<String> sentences;
+
+        private Entry(long id, String lang, int numSentences, int[] signature, List<String> sentences) {
+            this.id = id;
+            this.lang = lang;
+            this.numSentences = numSentences;
+            this.signature = signature;
+            this.sentences = sentences;
+        }
+    }
+
+}
@@ -0,0 +1,95 @@
+package io.azrina.nlp.summarizer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <h1>NearDuplicateSummarizer</h1> A Summarizer answering near-duplicates of
+ * documents it already summarized from a NearDuplicateIndex, without running
+ * the Core NLP pipeline : only the language's tokenizer runs, to sign the
+ * document. Other documents are summarized by the wrapped summarizer, e.g. a
+ * CachingSummarizer, so exact and near-duplicate caching can be combined.
+ **/
+public class NearDuplicateSummarizer extends Summarizer {
+
+    private final Summarizer summarizer;
+    private final NearDuplicateIndex index;
+
+    // constructor with param
+    public NearDuplicateSummarizer(String lang, NearDuplicateIndex index) {
+        this(new Summarizer(lang), index);
+    }
+
+    // constructor wrapping another summarizer of the same language
+    public NearDuplicateSummarizer(Summarizer summarizer, NearDuplicateIndex index) {
+        super(summarizer.parser);
+        this.summarizer = summarizer;
+        this.index = index;
+    }
+
+    @Override
+    public List<String> getSummarySentences(String title, CharSequence document, int numSentences)
+            throws IOException {
+        int[] signature = sign(title, document);
+        List<String> sentences = index.find(parser.lang, numSentences, signature);
+        if (sentences == null) {
+            sentences = summarizer.getSummarySentences(title, document, numSentences);
+            index.add(parser.lang, numSentences, signature, sentences);
+        }
+        return sentences;
+    }
+
+    /**
+     * Structured summaries come from the wrapped summarizer, since the offsets
+     * of a near-duplicate's sentences do not apply to this document. Their
+     * sentences are indexed, for later near-duplicates.
+     */
+    @Override
+    public Summary getSummary(String title, CharSequence document, int numSentences) throws IOException {
+        Summary summary = summarizer.getSummary(title, document, numSentences);
+        List<String> sentences = new ArrayList<String>(summary.getSentences().size());
+        for (Summary.Sentence sentence : summary.getSentences()) {
+            sentences.add(sentence.toString());
+        }
+        index.add(parser.lang, numSentences, sign(title, document), sentences);
+        return summary;
+    }
+
+    /**
+     * Degraded summaries are not indexed, so a later call with more time can
+     * compute the full one.
+     */
+    @Override
+    public DeadlineSummary summarize(String title, CharSequence document, int numSentences, long budget,
+                                     TimeUnit unit) throws IOException {
+        long started = System.nanoTime();
+        int[] signature = sign(title, document);
+        List<String> sentences = index.find(parser.lang, numSentences, signature);
+        if (sentences != null) {
+            return new DeadlineSummary(sentences, null, System.nanoTime() - started);
+        }
+        DeadlineSummary summary = summarizer.summarize(title, document, numSentences,
+                unit.toNanos(budget) - (System.nanoTime() - started), TimeUnit.NANOSECONDS);
+        if (!summary.isDegraded()) {
+            index.add(parser.lang, numSentences, signature, summary.getSentences());
+        }
+        return summary;
+    }
+
+    /**
+     * @return NearDuplicateIndex Index of this summarizer
+     */
+    public NearDuplicateIndex getIndex() {
+        return index;
+    }
+
+    // Title and document tokens, stopwords included and without punctuation; Chinese
+    // is signed by the words of its segmenter
+    private int[] sign(String title, CharSequence document) {
+        String text = (title == null || title.isEmpty()) ? document.toString() : title + " \n" + document;
+        return NearDuplicateIndex.signature(parser.tokenize(text, true));
+    }
+
+}
@@ -0,0 +1,24 @@
+package io.azrina.nlp.summarizer;
+
+/**
+ * <h1>PipelineListener</h1> Receives the load and eviction events of
+ * PipelineRegistry, e.g. to log them or forward them to a monitoring system.
+ * Listeners are called on the thread loading the pipeline, while the registry
+ * is locked, and must be fast and thread-safe.
+ **/
+public interface PipelineListener {
+
+    /**
+     * @param String lang Language of the loaded pipeline
+     * @param long footprint Memory accounted for the pipeline, in bytes
+     * @param long nanos Time spent building the pipeline
+     */
+    void onLoad(String lang, long footprint, long nanos);
+
+    /**
+     * @param String lang Language of the evicted pipeline
+     * @param long footprint Memory released from the budget, in bytes
+     * @param boolean idle True if evicted for being idle, false to make room for another language
+     */
+    void onEvict(String lang, long footprint, boolean idle);
+}
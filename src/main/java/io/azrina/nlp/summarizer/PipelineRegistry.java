@@ -0,0 +1,382 @@
+package io.azrina.nlp.summarizer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import edu.stanford.nlp.pipeline.StanfordCoreNLP;
+
+/**
+ * <h1>PipelineRegistry</h1> A process-wide registry of warmed Stanford Core NLP
+ * pipelines, keyed by language and pipeline properties. Building a
+ * StanfordCoreNLP instance is far more expensive than running it on a single
+ * document, so every Parser shares the pipelines held here.
+ *
+ * Pipelines are loaded on first use. Their memory can be bounded : each
+ * language accounts for an estimated footprint (see setFootprint), and when
+ * loading a language would exceed the memory budget, the least recently used
+ * pipelines are evicted first. Pipelines unused for longer than the idle
+ * timeout are evicted as well, by a daemon thread sweeping the registry
+ * while the timeout is set, so that an idle JVM frees them too. Load and
+ * eviction events are sent to the PipelineListeners, outside of the lock of
+ * the registry. Both limits are off by default.
+ *
+ * Core NLP keeps the annotators it built softly reachable : the models of an
+ * evicted pipeline are reclaimed as soon as the heap needs the room, and
+ * reloading a language evicted shortly before is cheap.
+ *
+ * The registry is thread-safe. Loaded pipelines are handed out without
+ * locking, and the tokenize/ssplit annotators used by the summarizer can be
+ * run concurrently. A load reserves its footprint under a lock, so that
+ * concurrent loads cannot exceed the budget, then builds the pipeline outside
+ * of it : pipelines of different languages are built in parallel, and
+ * concurrent requests for one pipeline wait for a single build. A request
+ * still using an evicted pipeline completes normally.
+ **/
+public final class PipelineRegistry {
+
+    private static final long MB = 1024L * 1024L;
+
+    // Retained heap measured after building the tokenize/ssplit pipeline of each
+    // language : the Arabic and Chinese ones hold word segmentation models
+    private static final long DEFAULT_FOOTPRINT = 16 * MB;
+    private static final ConcurrentMap<String, Long> FOOTPRINTS = new ConcurrentHashMap<String, Long>();
+
+    static {
+        FOOTPRINTS.put("ar", 256 * MB);
+        FOOTPRINTS.put("zh-cn", 640 * MB);
+    }
+
+    private static final ConcurrentMap<String, Entry> PIPELINES = new ConcurrentHashMap<String, Entry>();
+    private static final ConcurrentMap<String, FutureTask<Entry>> LOADING =
+            new ConcurrentHashMap<String, FutureTask<Entry>>();
+    private static final List<PipelineListener> LISTENERS = new CopyOnWriteArrayList<PipelineListener>();
+    private static final Object LOCK = new Object();
+
+    private static volatile long budget;
+    private static volatile long idleTimeout;
+    private static volatile long lastSweep;
+
+    // Guarded by LOCK. Reserved bytes are the footprints of the pipelines being built
+    private static long usedBytes;
+    private static long reservedBytes;
+    private static long loads;
+    private static long evictions;
+    private static ScheduledExecutorService sweeper;
+    private static ScheduledFuture<?> sweep;
+
+    private PipelineRegistry() {
+    }
+
+    /**
+     * This method is used to get a pipeline for the given language and
+     * properties, building it on first use.
+     *
+     * @param String lang Language code of the text
+     * @param Properties props Stanford Core NLP Annotator Pipeline Properties
+     * @return StanfordCoreNLP Shared pipeline
+     */
+    public static StanfordCoreNLP get(String lang, Properties props) {
+        String key = key(lang, props);
+        Entry entry = PIPELINES.get(key);
+        if (entry == null) {
+            entry = load(key, lang, props);
+        }
+        long now = System.nanoTime();
+        entry.lastUsed = now;
+        if (idleTimeout > 0 && now - lastSweep > idleTimeout / 4) {
+            evictIdle(now);
+        }
+        return entry.pipeline;
+    }
+
+    /**
+     * This method is used to eagerly build the pipelines of the given languages,
+     * typically once at application startup.
+     *
+     * @param String... langs Language codes to warm up
+     */
+    public static void warmUp(String... langs) {
+        for (String lang : langs) {
+            Parser parser = new Parser(lang);
+            get(lang, parser.getProperties(lang));
+        }
+    }
+
+    /**
+     * @param String lang Language code of the text
+     * @return boolean True if a pipeline for the language is loaded
+     */
+    public static boolean isWarm(String lang) {
+        for (Entry entry : PIPELINES.values()) {
+            if (entry.lang.equals(lang)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * This method is used to bound the memory held by pipelines. Pipelines
+     * already loaded are evicted on the next load if they exceed it.
+     *
+     * @param long bytes Memory budget in bytes, 0 for no limit
+     */
+    public static void setMemoryBudget(long bytes) {
+        if (bytes < 0) throw new IllegalArgumentException("The memory budget must not be negative");
+        budget = bytes;
+    }
+
+    public static long getMemoryBudget() {
+        return budget;
+    }
+
+    /**
+     * @param long timeout Time after which an unused pipeline is evicted, 0 to keep pipelines
+     * @param TimeUnit unit Unit of the timeout
+     */
+    public static void setIdleTimeout(long timeout, TimeUnit unit) {
+        if (timeout < 0) throw new IllegalArgumentException("The idle timeout must not be negative");
+        idleTimeout = unit.toNanos(timeout);
+        synchronized (LOCK) {
+            if (sweep != null) sweep.cancel(false);
+            sweep = null;
+            if (idleTimeout > 0) {
+                if (sweeper == null) {
+                    sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                        Thread thread = new Thread(runnable, "textteaser-pipeline-sweeper");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                }
+                long period = Math.max(idleTimeout / 4, TimeUnit.MILLISECONDS.toNanos(1));
+                sweep = sweeper.scheduleWithFixedDelay(() -> {
+                    try {
+                        evictIdle(System.nanoTime());
+                    } catch (RuntimeException e) {
+                        // A failing listener must not cancel the next sweeps
+                    }
+                }, period, period, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    /**
+     * This method is used to set the memory accounted for the pipeline of a
+     * language, e.g. after measuring it on a given JVM.
+     *
+     * @param String lang Language code
+     * @param long bytes Estimated retained heap of the language's pipeline
+     */
+    public static void setFootprint(String lang, long bytes) {
+        FOOTPRINTS.put(lang, bytes);
+    }
+
+    /**
+     * @param String lang Language code
+     * @return long Memory accounted for the pipeline of the language, in bytes
+     */
+    public static long getFootprint(String lang) {
+        Long footprint = FOOTPRINTS.get(lang);
+        return footprint == null ? DEFAULT_FOOTPRINT : footprint;
+    }
+
+    /**
+     * @return long Memory accounted for the loaded pipelines, in bytes
+     */
+    public static long getUsedBytes() {
+        synchronized (LOCK) {
+            return usedBytes;
+        }
+    }
+
+    /**
+     * @return Set<String> Languages whose pipeline is loaded
+     */
+    public static Set<String> getLoadedLanguages() {
+        Set<String> langs = new TreeSet<String>();
+        for (Entry entry : PIPELINES.values()) {
+            langs.add(entry.lang);
+        }
+        return langs;
+    }
+
+    public static long getLoadCount() {
+        synchronized (LOCK) {
+            return loads;
+        }
+    }
+
+    public static long getEvictionCount() {
+        synchronized (LOCK) {
+            return evictions;
+        }
+    }
+
+    public static void addListener(PipelineListener listener) {
+        LISTENERS.add(listener);
+    }
+
+    public static void removeListener(PipelineListener listener) {
+        LISTENERS.remove(listener);
+    }
+
+    /**
+     * This method is used to drop every cached pipeline, without eviction
+     * events. Pipelines being built are still published.
+     */
+    public static void clear() {
+        synchronized (LOCK) {
+            PIPELINES.clear();
+            usedBytes = 0;
+        }
+    }
+
+    // Builds the pipeline once per key : concurrent callers wait for the build in progress
+    private static Entry load(String key, String lang, Properties props) {
+        FutureTask<Entry> task = new FutureTask<Entry>(() -> build(key, lang, props));
+        FutureTask<Entry> running = LOADING.putIfAbsent(key, task);
+        if (running == null) {
+            running = task;
+            try {
+                task.run();
+            } finally {
+                LOADING.remove(key, task);
+            }
+        }
+
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    return running.get();
+                } catch (InterruptedException e) {
+                    interrupted = true; // the build goes on for the other callers, wait for it
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    if (cause instanceof Error) throw (Error) cause;
+                    if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+                    throw new IllegalStateException("Cannot build the pipeline of language " + lang, cause);
+                }
+            }
+        } finally {
+            if (interrupted) Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Entry build(String key, String lang, Properties props) {
+        long footprint = getFootprint(lang);
+        List<Entry> evicted = new ArrayList<Entry>();
+        synchronized (LOCK) {
+            // Built by another caller since it was looked up
+            Entry entry = PIPELINES.get(key);
+            if (entry != null) return entry;
+
+            // Make room first, so the heap never holds more than the budget
+            long limit = budget;
+            while (limit > 0 && usedBytes + reservedBytes + footprint > limit) {
+                Entry eldest = null;
+                for (Entry candidate : PIPELINES.values()) {
+                    if (eldest == null || candidate.lastUsed - eldest.lastUsed < 0) eldest = candidate;
+                }
+                if (eldest == null) break; // the language alone exceeds the budget
+                if (evict(eldest)) evicted.add(eldest);
+            }
+            reservedBytes += footprint;
+        }
+        notifyEvicted(evicted, false);
+
+        long start = System.nanoTime();
+        StanfordCoreNLP pipeline;
+        try {
+            pipeline = new StanfordCoreNLP(props);
+        } catch (RuntimeException | Error e) {
+            synchronized (LOCK) {
+                reservedBytes -= footprint;
+            }
+            throw e;
+        }
+        long nanos = System.nanoTime() - start;
+
+        Entry entry = new Entry(key, lang, pipeline, footprint);
+        entry.lastUsed = System.nanoTime();
+        synchronized (LOCK) {
+            PIPELINES.put(key, entry);
+            reservedBytes -= footprint;
+            usedBytes += footprint;
+            loads++;
+        }
+        for (PipelineListener listener : LISTENERS) {
+            listener.onLoad(lang, footprint, nanos);
+        }
+        return entry;
+    }
+
+    private static void evictIdle(long now) {
+        List<Entry> evicted = new ArrayList<Entry>();
+        synchronized (LOCK) {
+            lastSweep = now;
+            long timeout = idleTimeout;
+            for (Entry entry : PIPELINES.values()) {
+                if (timeout > 0 && now - entry.lastUsed > timeout && evict(entry)) {
+                    evicted.add(entry);
+                }
+            }
+        }
+        notifyEvicted(evicted, true);
+    }
+
+    // Called with LOCK held : listeners are notified once it is released, see notifyEvicted
+    private static boolean evict(Entry entry) {
+        if (!PIPELINES.remove(entry.key, entry)) return false;
+        usedBytes -= entry.footprint;
+        evictions++;
+        return true;
+    }
+
+    private static void notifyEvicted(List<Entry> evicted, boolean idle) {
+        for (Entry entry : evicted) {
+            for (PipelineListener listener : LISTENERS) {
+                listener.onEvict(entry.lang, entry.footprint, idle);
+            }
+        }
+    }
+
+    // Properties are not comparable by value across instances, so the key
+    // is the language followed by the sorted property entries
+    private static String key(String lang, Properties props) {
+        Map<String, String> sorted = new TreeMap<String, String>();
+        for (String name : props.stringPropertyNames()) {
+            sorted.put(name, props.getProperty(name));
+        }
+        return lang + '\u0000' + sorted;
+    }
+
+    private static class Entry {
+
+        private final String key;
+        private final String lang;
+        private final StanfordCoreNLP pipeline;
+        private final long footprint;
+        private volatile long lastUsed;
+
+        private Entry(String key, String lang, StanfordCoreNLP pipeline, long footprint) {
+            this.key = key;
+            this.lang = lang;
+            this.pipeline = pipeline;
+            this.footprint = footprint;
+        }
+    }
+
+}
@@ -0,0 +1,82 @@
+package io.azrina.nlp.summarizer;
+
+import edu.stanford.nlp.util.CoreMap;
+
+/**
+ * <h1>ScoredSentence</h1> A sentence together with the features computed for
+ * it and its total score. Scores are computed exactly once per sentence, then
+ * used for ranking.
+ *
+ * The natural order ranks higher scores first, and earlier sentences first
+ * among sentences with the same score.
+ **/
+public class ScoredSentence implements Comparable<ScoredSentence> {
+
+    private final CoreMap sentence;
+    private final int index;
+    private final double titleFeature;
+    private final double sbsFeature;
+    private final double dbsFeature;
+    private final double lengthFeature;
+    private final double positionFeature;
+    private final double score;
+
+    public ScoredSentence(CoreMap sentence, int index, double titleFeature, double sbsFeature, double dbsFeature,
+                          double lengthFeature, double positionFeature, double score) {
+        this.sentence = sentence;
+        this.index = index;
+        this.titleFeature = titleFeature;
+        this.sbsFeature = sbsFeature;
+        this.dbsFeature = dbsFeature;
+        this.lengthFeature = lengthFeature;
+        this.positionFeature = positionFeature;
+        this.score = score;
+    }
+
+    public CoreMap getSentence() {
+        return sentence;
+    }
+
+    /**
+     * @return int Sentence position in the document
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    public double getTitleFeature() {
+        return titleFeature;
+    }
+
+    public double getSbsFeature() {
+        return sbsFeature;
+    }
+
+    public double getDbsFeature() {
+        return dbsFeature;
+    }
+
+    public double getLengthFeature() {
+        return lengthFeature;
+    }
+
+    public double getPositionFeature() {
+        return positionFeature;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    @Override
+    public int compareTo(ScoredSentence o) {
+        int value = Double.compare(o.score, score);
+        return value != 0 ? value : Integer.compare(index, o.index);
+    }
+
+    @Override
+    public String toString() {
+        return sentence.toString();
+    }
+
+}
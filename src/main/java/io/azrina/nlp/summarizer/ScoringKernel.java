@@ -0,0 +1,268 @@
+package io.azrina.nlp.summarizer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import edu.stanford.nlp.ling.CoreAnnotations;
+import edu.stanford.nlp.util.CoreMap;
+
+/**
+ * <h1>ScoringKernel</h1> Scores the sentences of one document with primitive
+ * arithmetic only. Everything constant for the document (keyword scores, the
+ * set of title terms, the number of sentences, the degradation) is prepared
+ * once, so scoring a sentence allocates nothing : no boxed feature, no
+ * intersection list, no lowercased copy.
+ *
+ * Sentences are kept in a TopSentences heap of primitive arrays, and a
+ * ScoredSentence with its feature breakdown is only built for the few which
+ * are selected. Scores are the ones of the original TextTeaser features,
+ * computed in the same order, so rankings are unchanged.
+ *
+ * A kernel is read-only once built, and can be shared by the threads scoring
+ * one document.
+ **/
+final class ScoringKernel {
+
+    private static final boolean[] NO_TITLE = new boolean[0];
+
+    private final Parser parser;
+    private final double[] keywordScores;
+    private final boolean[] titleTerms;
+    private final int titleLength;
+    private final int sentenceCount;
+    private final boolean keywordFeatures;
+    private final boolean dbs;
+
+    /**
+     * Scoring kernel constructor.
+     *
+     * @param Parser parser Parser of the document's language, for the length and position features
+     * @param int[] titleWords Ids of the keywords in document's title
+     * @param double[] keywordScores Score of each term id, positive for top keywords only
+     * @param int sentence_count Total number of sentences in a document
+     * @param Degradation level Deepest degradation applied, or null for none
+     */
+    ScoringKernel(Parser parser, int[] titleWords, double[] keywordScores, int sentence_count, Degradation level) {
+        this.parser = parser;
+        this.keywordScores = keywordScores;
+        this.titleLength = titleWords.length;
+        this.sentenceCount = sentence_count;
+        this.keywordFeatures = !Degradation.includes(level, Degradation.POSITION_LENGTH_ONLY);
+        this.dbs = !Degradation.includes(level, Degradation.NO_DBS);
+
+        int max = -1;
+        for (int word : titleWords) {
+            max = Math.max(max, word);
+        }
+        this.titleTerms = max < 0 ? NO_TITLE : new boolean[max + 1];
+        for (int word : titleWords) {
+            titleTerms[word] = true;
+        }
+    }
+
+    /**
+     * @param CoreMap sentence A sentence of the document
+     * @param int position Position of the sentence in the list of sentences
+     * @return int Sentence position in the document, as used by the position feature
+     */
+    static int sentenceIndex(CoreMap sentence, int position) {
+        Integer sentence_index = sentence.get(CoreAnnotations.SentenceIndexAnnotation.class);
+        return sentence_index == null ? position : sentence_index;
+    }
+
+    /**
+     * This method is used to compute the total score of a sentence, without
+     * allocating.
+     *
+     * @param int[] sentence_words Ids of the keywords of the sentence
+     * @param int sentence_index Sentence position in the document
+     * @return double Total score
+     */
+    double score(int[] sentence_words, int sentence_index) {
+        double sbs_feature = 0.0;
+        double dbs_feature = 0.0;
+        double title_feature = 0.0;
+        if (keywordFeatures) {
+            sbs_feature = Summarizer.getSbs(sentence_words, keywordScores);
+            if (dbs) {
+                dbs_feature = Summarizer.getDbs(sentence_words, keywordScores);
+            }
+            title_feature = titleFeature(sentence_words);
+        }
+        return total(title_feature, sbs_feature, dbs_feature, parser.getLengthFeature(sentence_words.length),
+                Parser.positionFeature(sentence_index, sentenceCount));
+    }
+
+    /**
+     * This method is used to score a sentence as above, keeping every feature.
+     *
+     * @param CoreMap sentence The sentence
+     * @param int position Position of the sentence in the list of sentences
+     * @param int[] sentence_words Ids of the keywords of the sentence
+     * @return ScoredSentence Sentence with its features and total score
+     */
+    ScoredSentence scored(CoreMap sentence, int position, int[] sentence_words) {
+        double sbs_feature = 0.0;
+        double dbs_feature = 0.0;
+        double title_feature = 0.0;
+        if (keywordFeatures) {
+            sbs_feature = Summarizer.getSbs(sentence_words, keywordScores);
+            if (dbs) {
+                dbs_feature = Summarizer.getDbs(sentence_words, keywordScores);
+            }
+            title_feature = titleFeature(sentence_words);
+        }
+        double length_feature = parser.getLengthFeature(sentence_words.length);
+        double position_feature = Parser.positionFeature(sentenceIndex(sentence, position), sentenceCount);
+        return new ScoredSentence(sentence, position, title_feature, sbs_feature, dbs_feature, length_feature,
+                position_feature, total(title_feature, sbs_feature, dbs_feature, length_feature, position_feature));
+    }
+
+    // Same as Parser.getTitleFeature(int[], int[]), with a lookup table instead of a scan of the title
+    private double titleFeature(int[] sentence_words) {
+        int intersection = 0;
+        for (int word : sentence_words) {
+            if (word < titleTerms.length && titleTerms[word]) intersection++;
+        }
+        return intersection / (titleLength + 1.0);
+    }
+
+    private static double total(double title_feature, double sbs_feature, double dbs_feature,
+                                double length_feature, double position_feature) {
+        return total(content(title_feature, sbs_feature, dbs_feature, length_feature), position_feature);
+    }
+
+    /**
+     * @return double Part of the total score which does not depend on the sentence position
+     */
+    static double content(double title_feature, double sbs_feature, double dbs_feature, double length_feature) {
+        // Get keywords frequency feature
+        double keywords_frequency = (sbs_feature + dbs_feature) / 2.0 * 10.0;
+
+        return (title_feature * 1.5) + (keywords_frequency * 2.0) + (length_feature * 0.5);
+    }
+
+    /**
+     * @param double content Score of the sentence without its position, see content()
+     * @param double position_feature Sentence position feature
+     * @return double Total score, computed in the order of the original TextTeaser formula
+     */
+    static double total(double content, double position_feature) {
+        double total_score = content + (position_feature * 1.0) / 4.0;
+        return total_score * 10000;
+    }
+
+    /**
+     * <h1>TopSentences</h1> A bounded min-heap of sentence positions and
+     * scores, in primitive arrays : the root is the worst of the sentences
+     * kept. Sentences are ranked as ScoredSentence does, by score then by
+     * position. Not thread-safe.
+     */
+    static final class TopSentences {
+
+        private final int[] positions;
+        private final double[] scores;
+        private int size;
+
+        TopSentences(int limit) {
+            this.positions = new int[limit];
+            this.scores = new double[limit];
+        }
+
+        int size() {
+            return size;
+        }
+
+        /**
+         * @param int position Position of the sentence in the list of sentences
+         * @param double score Total score of the sentence
+         */
+        void offer(int position, double score) {
+            if (positions.length == 0) return;
+            if (size < positions.length) {
+                int i = size++;
+                // Sift up
+                while (i > 0) {
+                    int parent = (i - 1) >>> 1;
+                    if (!worse(position, score, positions[parent], scores[parent])) break;
+                    positions[i] = positions[parent];
+                    scores[i] = scores[parent];
+                    i = parent;
+                }
+                positions[i] = position;
+                scores[i] = score;
+            } else if (worse(positions[0], scores[0], position, score)) {
+                // Replace the root and sift down
+                int i = 0;
+                while (true) {
+                    int child = 2 * i + 1;
+                    if (child >= size) break;
+                    if (child + 1 < size && worse(positions[child + 1], scores[child + 1], positions[child], scores[child])) {
+                        child++;
+                    }
+                    if (!worse(positions[child], scores[child], position, score)) break;
+                    positions[i] = positions[child];
+                    scores[i] = scores[child];
+                    i = child;
+                }
+                positions[i] = position;
+                scores[i] = score;
+            }
+        }
+
+        /**
+         * This method is used to keep the best sentences of another heap too.
+         *
+         * @param TopSentences other Sentences of another range of the same document
+         */
+        void addAll(TopSentences other) {
+            for (int i = 0; i < other.size; i++) {
+                offer(other.positions[i], other.scores[i]);
+            }
+        }
+
+        /**
+         * @return int[] Positions of the sentences kept, best first
+         */
+        int[] positions() {
+            int[] sorted = new int[size];
+            double[] sorted_scores = new double[size];
+            // Insertion sort : there are only a few sentences
+            for (int i = 0; i < size; i++) {
+                int j = i;
+                while (j > 0 && worse(sorted[j - 1], sorted_scores[j - 1], positions[i], scores[i])) {
+                    sorted[j] = sorted[j - 1];
+                    sorted_scores[j] = sorted_scores[j - 1];
+                    j--;
+                }
+                sorted[j] = positions[i];
+                sorted_scores[j] = scores[i];
+            }
+            return sorted;
+        }
+
+        /**
+         * This method is used to build the selected sentences, with their
+         * features.
+         *
+         * @param ScoringKernel kernel Kernel which scored the sentences
+         * @param List<CoreMap> sentences List of sentences in a document
+         * @param int[][] sentenceWords Ids of the keywords of each sentence
+         * @return List<ScoredSentence> Selected sentences, best first
+         */
+        List<ScoredSentence> ranked(ScoringKernel kernel, List<CoreMap> sentences, int[][] sentenceWords) {
+            List<ScoredSentence> ranked = new ArrayList<ScoredSentence>(size);
+            for (int position : positions()) {
+                ranked.add(kernel.scored(sentences.get(position), position, sentenceWords[position]));
+            }
+            return ranked;
+        }
+
+        // True if sentence a ranks after sentence b
+        private static boolean worse(int a, double a_score, int b, double b_score) {
+            int value = Double.compare(a_score, b_score);
+            return value != 0 ? value < 0 : a > b;
+        }
+    }
+
+}
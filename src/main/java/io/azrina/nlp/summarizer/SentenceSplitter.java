@@ -0,0 +1,21 @@
+package io.azrina.nlp.summarizer;
+
+import java.util.List;
+
+import edu.stanford.nlp.util.CoreMap;
+
+/**
+ * <h1>SentenceSplitter</h1> Splits a document into sentences. Each sentence
+ * is a CoreMap carrying at least its text (TextAnnotation), its tokens
+ * (TokensAnnotation), its position (SentenceIndexAnnotation) and its character
+ * offsets in the document.
+ **/
+public interface SentenceSplitter {
+
+    /**
+     * @param String document Cleaned document
+     * @return List<CoreMap> Sentences of the document, in order
+     */
+    List<CoreMap> split(String document);
+
+}
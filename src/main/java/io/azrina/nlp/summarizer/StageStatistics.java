@@ -0,0 +1,58 @@
+package io.azrina.nlp.summarizer;
+
+import java.beans.ConstructorProperties;
+
+/**
+ * <h1>StageStatistics</h1> A snapshot of the latency histogram of a stage, in
+ * microseconds.
+ **/
+public class StageStatistics {
+
+    private final long count;
+    private final double mean;
+    private final long p50;
+    private final long p95;
+    private final long p99;
+    private final long max;
+
+    @ConstructorProperties({"count", "mean", "p50", "p95", "p99", "max"})
+    public StageStatistics(long count, double mean, long p50, long p95, long p99, long max) {
+        this.count = count;
+        this.mean = mean;
+        this.p50 = p50;
+        this.p95 = p95;
+        this.p99 = p99;
+        this.max = max;
+    }
+
+    static StageStatistics of(Histogram histogram) {
+        return new StageStatistics(histogram.getCount(), histogram.getMean() / 1e3,
+                histogram.getPercentile(50) / 1000, histogram.getPercentile(95) / 1000,
+                histogram.getPercentile(99) / 1000, histogram.getMax() / 1000);
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getMean() {
+        return mean;
+    }
+
+    public long getP50() {
+        return p50;
+    }
+
+    public long getP95() {
+        return p95;
+    }
+
+    public long getP99() {
+        return p99;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+}
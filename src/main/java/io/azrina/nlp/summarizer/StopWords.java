@@ -0,0 +1,114 @@
+package io.azrina.nlp.summarizer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * <h1>StopWords</h1> Per-language stopword sets, loaded once and shared by
+ * every Parser. Sets are immutable hash sets, so lookups take constant time.
+ *
+ * The stopwords of a language come from, in order of precedence :
+ * <ul>
+ * <li>a file registered with override(),</li>
+ * <li>the file named by the 'textteaser.stopwords.&lt;lang&gt;' system property,</li>
+ * <li>&lt;lang&gt;.txt in the directory named by the 'textteaser.stopwords.dir'
+ * system property, if it exists,</li>
+ * <li>the bundled stopwords/&lt;lang&gt;.txt resource (https://github.com/6/stopwords-json).</li>
+ * </ul>
+ * Files are UTF-8, one stopword per line; surrounding whitespace and blank
+ * lines are ignored. Languages without a list share the English set.
+ **/
+public final class StopWords {
+
+    private static final ConcurrentMap<String, Set<String>> SETS = new ConcurrentHashMap<String, Set<String>>();
+
+    private StopWords() {
+    }
+
+    /**
+     * @param String lang Language code of the text
+     * @return Set<String> Immutable stopword set of the language
+     * @throws UncheckedIOException if a configured stopword file cannot be read
+     */
+    public static Set<String> forLanguage(String lang) {
+        String l = lang == null ? "en" : lang;
+        Set<String> words = SETS.computeIfAbsent(l, StopWords::load);
+        if (words == null) {
+            // No list : the English set is loaded once and shared, outside of the mapping function
+            Set<String> english = forLanguage("en");
+            words = SETS.computeIfAbsent(l, k -> english);
+        }
+        return words;
+    }
+
+    /**
+     * This method is used to replace the stopwords of a language with the
+     * content of a file. Parsers created afterwards use the new set.
+     *
+     * @param String lang Language code
+     * @param Path file Stopword file, one word per line
+     * @throws IOException
+     */
+    public static void override(String lang, Path file) throws IOException {
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            SETS.put(lang, read(reader));
+        }
+    }
+
+    // Returns null if the language has no list
+    private static Set<String> load(String lang) {
+        try {
+            String file = System.getProperty("textteaser.stopwords." + lang);
+            if (file != null) {
+                try (Reader reader = Files.newBufferedReader(Paths.get(file), StandardCharsets.UTF_8)) {
+                    return read(reader);
+                }
+            }
+
+            String directory = System.getProperty("textteaser.stopwords.dir");
+            if (directory != null && Files.isRegularFile(Paths.get(directory, lang + ".txt"))) {
+                try (Reader reader = Files.newBufferedReader(Paths.get(directory, lang + ".txt"),
+                        StandardCharsets.UTF_8)) {
+                    return read(reader);
+                }
+            }
+
+            InputStream in = StopWords.class.getResourceAsStream("/stopwords/" + lang + ".txt");
+            if (in == null) {
+                return "en".equals(lang) ? Collections.<String>emptySet() : null;
+            }
+            try (Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+                return read(reader);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read the stopwords of language " + lang, e);
+        }
+    }
+
+    private static Set<String> read(Reader reader) throws IOException {
+        Set<String> words = new HashSet<String>();
+        BufferedReader lines = new BufferedReader(reader);
+        String line;
+        while ((line = lines.readLine()) != null) {
+            String word = line.trim();
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return Collections.unmodifiableSet(words);
+    }
+
+}
@@ -0,0 +1,298 @@
+package io.azrina.nlp.summarizer;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+import edu.stanford.nlp.ling.CoreAnnotations;
+import edu.stanford.nlp.pipeline.Annotation;
+import edu.stanford.nlp.util.CoreMap;
+
+/**
+ * <h1>StreamingSummarizer</h1> A summarizer for documents too large to be held
+ * in memory at once. The input is read in chunks and split into sentences
+ * chunk by chunk, while term frequencies are counted as sentences go by.
+ *
+ * Only a bounded set of candidate sentences is retained, each as its text,
+ * position and term ids, not as the CoreMap of its tokens. Candidates are
+ * selected on a provisional score (title, length and SBS features, using the
+ * keywords known so far), and the final ranking rescores them with every
+ * feature once the whole document has been read. The top keywords are kept
+ * up to date as terms are counted, without scanning the vocabulary. Peak
+ * memory therefore depends on the chunk size, the candidate count and the
+ * vocabulary, but not on the document length.
+ **/
+public class StreamingSummarizer {
+
+    private static final int DEFAULT_CHUNK_SIZE = 64 * 1024;
+    private static final int MIN_CANDIDATES = 200;
+    private static final int CANDIDATES_PER_SENTENCE = 20;
+    private static final int MAX_CARRY_CHUNKS = 4;
+    private static final int KEYWORDS = 10;
+
+    final Summarizer summarizer;
+    final Parser parser;
+    private final int chunkSize;
+
+    // default constructor
+    public StreamingSummarizer() {
+        this("en");
+    }
+
+    // constructor with param
+    public StreamingSummarizer(String lang) {
+        this(lang, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Streaming summarizer constructor.
+     *
+     * @param String lang Language code of the text
+     * @param int chunkSize Number of characters read at a time
+     */
+    public StreamingSummarizer(String lang, int chunkSize) {
+        this.summarizer = new Summarizer(lang);
+        this.parser = summarizer.parser;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * This method is used to summarize a text read from a stream.
+     *
+     * @param String title Text title
+     * @param Reader reader Text to be summarized
+     * @param int numSentences Number of maximum sentences in the summary
+     * @param String delimiter Delimiter between sentences in generated summary
+     * @return String Summarized text
+     * @throws IOException
+     */
+    public String summarize(String title, Reader reader, int numSentences, String delimiter) throws IOException {
+        List<String> title_words = parser.getKeywords(title);
+        State state = new State(title_words, Math.max(MIN_CANDIDATES, numSentences * CANDIDATES_PER_SENTENCE));
+
+        char[] buffer = new char[chunkSize];
+        StringBuilder pending = new StringBuilder();
+        int read;
+        while ((read = reader.read(buffer)) >= 0) {
+            pending.append(buffer, 0, read);
+            if (pending.length() >= chunkSize) {
+                // An escape cut by the end of the chunk is cleaned along with the next one
+                int escape = escapeStart(pending);
+                String held = pending.substring(escape);
+                String carry = process(pending.substring(0, escape), false, state);
+                pending.setLength(0);
+                pending.append(carry).append(held);
+            }
+        }
+        process(pending.toString(), true, state);
+
+        // Final ranking of the candidates with the complete term frequencies. Title terms are
+        // interned last, as in AnalyzedDocument, so keywords of equal counts rank the same
+        Vocabulary vocabulary = state.vocabulary;
+        int[] title_ids = vocabulary.intern(title_words);
+        double[] keywordScores = summarizer.getKeywordScores(vocabulary);
+
+        // Keep the candidates in document order, so ties are broken as in Summarizer
+        List<Candidate> candidates = new ArrayList<Candidate>(state.candidates);
+        Collections.sort(candidates, (a, b) -> Integer.compare(a.index, b.index));
+        List<CoreMap> sentences = new ArrayList<CoreMap>(candidates.size());
+        int[][] sentence_words = new int[candidates.size()][];
+        for (int i = 0; i < sentence_words.length; i++) {
+            Candidate candidate = candidates.get(i);
+            Annotation sentence = new Annotation(candidate.text);
+            sentence.set(CoreAnnotations.SentenceIndexAnnotation.class, candidate.index);
+            sentences.add(sentence);
+            sentence_words[i] = candidate.words;
+        }
+
+        List<ScoredSentence> ranked = summarizer.rankSentences(sentences, sentence_words, title_ids, keywordScores,
+                state.sentenceCount, numSentences);
+
+        StringBuilder ret = new StringBuilder();
+        for (ScoredSentence sentence : ranked) {
+            ret.append(sentence.getSentence());
+            ret.append(delimiter);
+        }
+        return ret.toString();
+    }
+
+    /**
+     * This method is used to find where the trailing escapes of a chunk begin,
+     * if any : a backslash at the end, possibly followed by escaped newlines
+     * or backslashes, may combine with the next chunk in Parser.clean. The
+     * text before it is cleaned the same, alone or followed by more text.
+     *
+     * @param CharSequence text Chunk
+     * @return int Offset of the first backslash of the trailing escapes, or the length of the chunk
+     */
+    static int escapeStart(CharSequence text) {
+        int start = text.length();
+        while (start > 0 && (text.charAt(start - 1) == '\\' || text.charAt(start - 1) == 'n')) start--;
+        while (start < text.length() && text.charAt(start) != '\\') start++;
+        return start;
+    }
+
+    /**
+     * This method is used to split a chunk into sentences and feed them to the
+     * running state. Unless this is the last chunk, the last sentence may be
+     * incomplete, so it is returned to be prepended to the next chunk.
+     */
+    private String process(String text, boolean last, State state) {
+        String cleaned = Parser.clean(text);
+        List<CoreMap> sentences = parser.getSentences(cleaned);
+        String carry = "";
+
+        // A single, possibly incomplete, sentence : wait for more text unless it grows unbounded
+        if (!last && sentences.size() <= 1 && cleaned.length() < MAX_CARRY_CHUNKS * chunkSize) {
+            return cleaned;
+        }
+        if (!last && sentences.size() > 1) {
+            CoreMap tail = sentences.remove(sentences.size() - 1);
+            carry = cleaned.substring(tail.get(CoreAnnotations.CharacterOffsetBeginAnnotation.class));
+        }
+
+        // Count every term of the chunk first, so its sentences are scored with its keywords
+        List<Candidate> chunk = new ArrayList<Candidate>(sentences.size());
+        for (CoreMap sentence : sentences) {
+            // Number sentences across chunks, the position feature relies on it
+            chunk.add(state.count(sentence, state.sentenceCount++));
+        }
+        state.refreshKeywords();
+
+        for (Candidate candidate : chunk) {
+            state.offer(candidate);
+        }
+        return carry;
+    }
+
+    /**
+     * A retained sentence : its text, position and term ids, and its
+     * provisional score.
+     */
+    private static class Candidate implements Comparable<Candidate> {
+
+        private final String text;
+        private final int index;
+        private final int[] words;
+        private final double titleFeature;
+        private double score;
+
+        private Candidate(String text, int index, int[] words, double titleFeature) {
+            this.text = text;
+            this.index = index;
+            this.words = words;
+            this.titleFeature = titleFeature;
+        }
+
+        @Override
+        public int compareTo(Candidate o) {
+            int value = Double.compare(score, o.score);
+            // Among equal scores, later sentences are dropped first
+            return value != 0 ? value : Integer.compare(o.index, index);
+        }
+    }
+
+    /**
+     * Running term frequencies, current top keywords and candidate sentences.
+     * The top keywords are maintained as counts grow : a term can only enter
+     * them when its count exceeds the lowest count among them, which takes
+     * KEYWORDS comparisons.
+     */
+    private class State {
+
+        private final Set<String> titleWords;
+        private final int titleLength;
+        private final int maxCandidates;
+        private final Vocabulary vocabulary = new Vocabulary();
+        private final int[] top = new int[KEYWORDS];
+        private final BitSet inTop = new BitSet();
+        private int topSize;
+        private PriorityQueue<Candidate> candidates = new PriorityQueue<Candidate>();
+        private int sentenceCount;
+
+        private State(List<String> titleWords, int maxCandidates) {
+            this.titleWords = new HashSet<String>(titleWords);
+            this.titleLength = titleWords.size();
+            this.maxCandidates = maxCandidates;
+        }
+
+        /**
+         * Count the terms of a sentence, and keep it as a compact candidate.
+         */
+        private Candidate count(CoreMap sentence, int index) {
+            List<String> keywords = parser.getKeywords(sentence);
+            int[] words = new int[keywords.size()];
+            int intersection = 0;
+            for (int i = 0; i < words.length; i++) {
+                String keyword = keywords.get(i);
+                words[i] = vocabulary.intern(keyword);
+                vocabulary.increment(words[i]);
+                updateTop(words[i]);
+                if (titleWords.contains(keyword)) intersection++;
+            }
+            return new Candidate(sentence.toString(), index, words, intersection / (titleLength + 1.0));
+        }
+
+        private void updateTop(int id) {
+            if (inTop.get(id)) return;
+            if (topSize < KEYWORDS) {
+                top[topSize++] = id;
+                inTop.set(id);
+                return;
+            }
+            int lowest = 0;
+            for (int i = 1; i < KEYWORDS; i++) {
+                if (vocabulary.count(top[i]) < vocabulary.count(top[lowest])) lowest = i;
+            }
+            if (vocabulary.count(id) > vocabulary.count(top[lowest])) {
+                inTop.clear(top[lowest]);
+                top[lowest] = id;
+                inTop.set(id);
+            }
+        }
+
+        /**
+         * Rescore the candidates with the keywords and frequencies of the
+         * chunk counted last. Called once per chunk, it takes time in the
+         * number of candidates, not of terms.
+         */
+        private void refreshKeywords() {
+            PriorityQueue<Candidate> rescored = new PriorityQueue<Candidate>(Math.max(1, candidates.size()));
+            for (Candidate candidate : candidates) {
+                candidate.score = score(candidate);
+                rescored.add(candidate);
+            }
+            candidates = rescored;
+        }
+
+        private void offer(Candidate candidate) {
+            candidate.score = score(candidate);
+            if (candidates.size() < maxCandidates) {
+                candidates.add(candidate);
+            } else if (candidate.compareTo(candidates.peek()) > 0) {
+                candidates.poll();
+                candidates.add(candidate);
+            }
+        }
+
+        // Title, SBS and length features, as in Summarizer, with the keywords known so far
+        private double score(Candidate candidate) {
+            double sbs = 0.0;
+            if (candidate.words.length > 0) {
+                double total = vocabulary.totalCount();
+                for (int word : candidate.words) {
+                    if (inTop.get(word)) sbs += vocabulary.count(word) / total;
+                }
+                sbs /= candidate.words.length;
+            }
+            return candidate.titleFeature * 1.5 + sbs * 10.0 + parser.getLengthFeature(candidate.words.length) * 0.5;
+        }
+    }
+
+}
@@ -3,10 +3,16 @@ package io.azrina.nlp.summarizer;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.Future;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
 
 import edu.stanford.nlp.ling.CoreAnnotations;
 import edu.stanford.nlp.stats.Counter;
@@ -19,11 +25,28 @@ import edu.stanford.nlp.util.CoreMap;
  * generate summary by selecting 'most important' sentences based on series of
  * features.
  *
+ * A Summarizer is safe to share between threads : build one per language and
+ * reuse it for every document instead of creating one per request.
  *
  **/
 public class Summarizer {
 
-    Parser parser;
+    // Number of sentences considered once Degradation.SENTENCE_CAP applies
+    static final int DEADLINE_SENTENCE_CAP = 200;
+
+    // Characters always split, however short the budget, so that a summary can be given
+    static final int DEADLINE_MIN_CHARS = 8192;
+
+    // Documents of at least this many sentences are scored on every core
+    static final int PARALLEL_THRESHOLD = Integer.getInteger("textteaser.parallel.threshold", 2048);
+
+    // Sentences scored by a single fork-join task
+    static final int PARALLEL_LEAF = 256;
+
+    final Parser parser;
+
+    // Observed cost of sentence splitting, in nanoseconds per character, 0 until measured
+    private volatile double splitNanosPerChar;
 
     // default constructor
     public Summarizer() {
@@ -36,6 +59,26 @@ public class Summarizer {
         this.parser = new Parser(lang);
     }
 
+    // constructor with a configured parser, e.g. with a specific text engine
+    public Summarizer(Parser parser) {
+        this.parser = parser;
+    }
+
+    /**
+     * This method is used to create the summarizer of a language, answering
+     * repeated documents from a cache and near-duplicates from an index when
+     * they are given.
+     *
+     * @param String lang Language code
+     * @param SummaryCache cache Summary cache, or null
+     * @param NearDuplicateIndex nearDuplicates Near-duplicate index, or null
+     * @return Summarizer Summarizer of the language
+     */
+    static Summarizer create(String lang, SummaryCache cache, NearDuplicateIndex nearDuplicates) {
+        Summarizer summarizer = (cache == null) ? new Summarizer(lang) : new CachingSummarizer(lang, cache);
+        return (nearDuplicates == null) ? summarizer : new NearDuplicateSummarizer(summarizer, nearDuplicates);
+    }
+
     /**
      * This method is used to summarize a text.
      *
@@ -49,42 +92,238 @@ public class Summarizer {
      */
     public String summarize(String title, String document, int numSentences, String delimiter)
             throws IOException {
+        return summarize(title, (CharSequence) document, numSentences, delimiter);
+    }
+
+    /**
+     * This method is used to summarize a text held in any character sequence,
+     * e.g. the buffer returned by TextFiles.read.
+     *
+     * @param String title Text title
+     * @param CharSequence document Text to be summarized
+     * @param int numSentences Number of maximum sentences in the summary
+     * @param String delimiter Delimiter between sentences in generated summary
+     * @return String Summarized text
+     * @throws IOException
+     */
+    public String summarize(String title, CharSequence document, int numSentences, String delimiter)
+            throws IOException {
+        StringBuilder ret = new StringBuilder();
+
+        for (String sentence : getSummarySentences(title, document, numSentences)) {
+            ret.append(sentence);
+            ret.append(delimiter);
+        }
+
+        return ret.toString();
+    }
+
+    /**
+     * This method is used to get the sentences of a text's summary, in
+     * ranking order, without joining them.
+     *
+     * @param String title Text title
+     * @param CharSequence document Text to be summarized
+     * @param int numSentences Number of maximum sentences in the summary
+     * @return List<String> Summary sentences
+     * @throws IOException
+     */
+    public List<String> getSummarySentences(String title, CharSequence document, int numSentences)
+            throws IOException {
+        List<ScoredSentence> ranked_sentences = rank(title, document, numSentences);
+        List<String> summary = new ArrayList<String>(ranked_sentences.size());
+        for (ScoredSentence sentence : ranked_sentences) {
+            summary.add(sentence.getSentence().toString());
+        }
+        return summary;
+    }
+
+    /**
+     * This method is used to summarize a text into a structured Summary : the
+     * selected sentences as offsets in the document, with their scores and
+     * features. Summaries are cached by CachingSummarizer.
+     *
+     * @param String title Text title
+     * @param CharSequence document Text to be summarized
+     * @param int numSentences Number of maximum sentences in the summary
+     * @return Summary Selected sentences, best first
+     * @throws IOException
+     */
+    public Summary getSummary(String title, CharSequence document, int numSentences) throws IOException {
+        String text = Parser.clean(document);
+        // The cleaned text holds no backslash, so it is split as is
+        List<ScoredSentence> ranked = rank(title, text, numSentences);
+        return new Summary(document, text, origins(document, text), ranked);
+    }
+
+    /**
+     * This method is used to map the characters of a cleaned document back to
+     * the original one. Most documents hold no escape : nothing is allocated
+     * for them, and the others are cleaned a second time to record origins.
+     *
+     * @param CharSequence document Original document
+     * @param String text Document cleaned by Parser.clean
+     * @return int[] Offset in the document of each character of the text, or null if cleaning removed nothing
+     */
+    static int[] origins(CharSequence document, String text) {
+        if (text.length() == document.length()) return null;
+        int[] origins = new int[text.length()];
+        Parser.clean(document, origins);
+        return origins;
+    }
+
+    // Splits, analyzes, scores and ranks the sentences of a document, keeping the top numSentences
+    private List<ScoredSentence> rank(String title, CharSequence document, int numSentences) {
+        long start = Metrics.start();
+
         // Getting sentences from the document
         List<CoreMap> sentences = parser.getSentences(document);
+        long time = Metrics.stop(Metrics.Stage.SENTENCES, start);
 
-        // Get terms and its frequencies
-        Counter<String> tfs = parser.getTermFrequencies(sentences);
+        // Get terms, their ids and frequencies from the sentence and title tokens, in one pass
+        AnalyzedDocument analyzed = parser.analyze(title, sentences);
+        time = Metrics.stop(Metrics.Stage.TERM_FREQUENCIES, time);
 
-        // Get top ten terms
-        List<String> topTenTerm = Counters.topKeys(tfs, 10);
+        // Get top ten terms and their computed score, indexed by term id
+        double[] keywordScores = getKeywordScores(analyzed.getVocabulary());
+        Metrics.stop(Metrics.Stage.KEYWORDS, time);
 
-        // Get top keywords and its computed score, sorted by score
-        Map<String, Double> topKeywords = getArticleScore(topTenTerm, tfs);
-        // System.out.println(topKeywords);
+        // Compute and rank sentences, keeping only the top numSentences
+        List<ScoredSentence> ranked_sentences = rankSentences(sentences, analyzed.getKeywords(),
+                analyzed.getTitleKeywords(), keywordScores, sentences.size(), numSentences);
 
-        // Get words from title
-        List<String> title_words = parser.tokenize(title, false);
+        if (start != 0L) {
+            Metrics.document(sentences.size(), countTokens(sentences), start);
+        }
+        return ranked_sentences;
+    }
 
-        // Compute and rank sentences
-        List<CoreMap> ranked_sentences = rankSentences(tfs, sentences, title_words, topKeywords, sentences.size());
+    /**
+     * This method is used to summarize a text within a time budget. Instead of
+     * running late, the summary is degraded in the order of Degradation, as
+     * the remaining share of the budget shrinks :
+     * <ul>
+     * <li>SENTENCE_CAP : only the first DEADLINE_SENTENCE_CAP sentences are
+     * scored. When previous calls show that splitting the whole text would
+     * take more than half of the budget, only its beginning is split (at least
+     * DEADLINE_MIN_CHARS characters).</li>
+     * <li>NO_DBS : the Density-Based Selection feature is left out.</li>
+     * <li>POSITION_LENGTH_ONLY : sentences are scored by position and length,
+     * without keywords nor title.</li>
+     * </ul>
+     * The budget is checked between stages, so sentence splitting itself is
+     * never interrupted and the call may still overrun a very short budget.
+     *
+     * @param String title Text title
+     * @param CharSequence document Text to be summarized
+     * @param int numSentences Number of maximum sentences in the summary
+     * @param long budget Time budget of the call
+     * @param TimeUnit unit Unit of the budget
+     * @return DeadlineSummary Summary sentences and the degradations applied
+     * @throws IOException
+     */
+    public DeadlineSummary summarize(String title, CharSequence document, int numSentences, long budget,
+                                     TimeUnit unit) throws IOException {
+        long started = System.nanoTime();
+        long budget_nanos = unit.toNanos(budget);
+        long deadline = started + budget_nanos;
+        Degradation level = null;
+
+        // Splitting is the costliest stage : cap the input when it cannot fit in half of the budget
+        CharSequence text = document;
+        double nanos_per_char = splitNanosPerChar;
+        if (nanos_per_char > 0 && document.length() > DEADLINE_MIN_CHARS
+                && document.length() * nanos_per_char > budget_nanos * 0.5) {
+            int length = (int) Math.max(DEADLINE_MIN_CHARS, Math.min(document.length(),
+                    budget_nanos * 0.5 / nanos_per_char));
+            if (length > 0 && Character.isHighSurrogate(document.charAt(length - 1))) length--;
+            text = document.subSequence(0, length);
+            level = Degradation.SENTENCE_CAP;
+        }
 
-        StringBuilder ret = new StringBuilder();
+        long start = Metrics.start();
+        long split_start = System.nanoTime();
+        List<CoreMap> sentences = parser.getSentences(text);
+        long now = System.nanoTime();
+        recordSplit(text.length(), now - split_start);
+        long time = Metrics.stop(Metrics.Stage.SENTENCES, start);
+
+        // The last sentence of a capped input may be cut, and the position feature needs the whole count
+        int sentence_count = sentences.size();
+        if (text != document && sentences.size() > 1) {
+            sentences = sentences.subList(0, sentences.size() - 1);
+            sentence_count = (int) Math.ceil(sentences.size() * (double) document.length() / text.length());
+        }
 
-        for (int i = 0; i < (ranked_sentences.size() < numSentences ? ranked_sentences.size() : numSentences); i++) {
-            ret.append(ranked_sentences.get(i));
-            if (delimiter != null) {
-                ret.append(delimiter);
-            } else {
-                ret.append(delimiter);
-            }
+        level = Degradation.deepest(level, Degradation.forRemaining(deadline - now, budget_nanos));
+        if (Degradation.includes(level, Degradation.SENTENCE_CAP) && sentences.size() > DEADLINE_SENTENCE_CAP) {
+            sentences = sentences.subList(0, DEADLINE_SENTENCE_CAP);
         }
 
-        return ret.toString();
+        // Analysis always runs : the length feature counts the keywords of each sentence
+        AnalyzedDocument analyzed = parser.analyze(title, sentences);
+        time = Metrics.stop(Metrics.Stage.TERM_FREQUENCIES, time);
+
+        level = Degradation.deepest(level, Degradation.forRemaining(deadline - System.nanoTime(), budget_nanos));
+        double[] keywordScores = null;
+        if (!Degradation.includes(level, Degradation.POSITION_LENGTH_ONLY)) {
+            keywordScores = getKeywordScores(analyzed.getVocabulary());
+            Metrics.stop(Metrics.Stage.KEYWORDS, time);
+            level = Degradation.deepest(level, Degradation.forRemaining(deadline - System.nanoTime(), budget_nanos));
+        }
+
+        List<ScoredSentence> ranked_sentences = rankSentences(sentences, analyzed.getKeywords(),
+                analyzed.getTitleKeywords(), keywordScores, sentence_count, numSentences, level);
+
+        if (start != 0L) {
+            Metrics.document(sentences.size(), countTokens(sentences), start);
+        }
+
+        List<String> summary = new ArrayList<String>(ranked_sentences.size());
+        for (ScoredSentence sentence : ranked_sentences) {
+            summary.add(sentence.getSentence().toString());
+        }
+        return new DeadlineSummary(summary, level, System.nanoTime() - started);
+    }
+
+    // Moving average of the splitting cost, weighting the last measure by a fifth
+    private void recordSplit(int length, long nanos) {
+        if (length < 1024) return; // too short to be representative
+        double measured = nanos / (double) length;
+        double average = splitNanosPerChar;
+        splitNanosPerChar = average == 0 ? measured : average * 0.8 + measured * 0.2;
+    }
+
+    /**
+     * This method is used to summarize a batch of texts in parallel. Every
+     * document is summarized in this summarizer's language.
+     *
+     * @param List<Document> documents Texts to be summarized
+     * @param int numSentences Number of maximum sentences in each summary
+     * @param String delimiter Delimiter between sentences in generated summaries
+     * @param ExecutorService executor Executor running the summarization tasks
+     * @return List<String> Summarized texts, in the order of the given documents
+     * @throws InterruptedException
+     * @throws ExecutionException if a document could not be summarized
+     */
+    public List<String> summarizeAll(List<Document> documents, final int numSentences, final String delimiter,
+                                     ExecutorService executor) throws InterruptedException, ExecutionException {
+        List<Future<String>> futures = new ArrayList<Future<String>>(documents.size());
+        for (final Document document : documents) {
+            futures.add(executor.submit(
+                    () -> summarize(document.getTitle(), document.getText(), numSentences, delimiter)));
+        }
+
+        List<String> summaries = new ArrayList<String>(documents.size());
+        for (Future<String> future : futures) {
+            summaries.add(future.get());
+        }
+        return summaries;
     }
 
     /**
      * This method is used to rank sentences and get the top n-th one as the
-     * document's summary.
+     * document's summary. The given list is left untouched.
      *
      * @param Counter termFrequencies List of terms in a text and number of its occurence in a document
      * @param List<CoreMap> sentences List of sentences in a document
@@ -95,99 +334,190 @@ public class Summarizer {
      */
     public List<CoreMap> rankSentences(Counter<String> termFrequencies, List<CoreMap> sentences,
                                                List<String> titleWords, Map<String, Double> topKeywords, int sentence_count) {
-        Collections.sort(sentences, new SentenceComparator(termFrequencies, titleWords, topKeywords, sentence_count));
-        return sentences;
+        List<CoreMap> ranked = new ArrayList<CoreMap>(sentences.size());
+        for (ScoredSentence sentence : rankSentences(termFrequencies, sentences, titleWords, topKeywords,
+                sentence_count, sentences.size())) {
+            ranked.add(sentence.getSentence());
+        }
+        return ranked;
     }
 
     /**
-     * Implementation of Comparator<CoreMap> to rank sentences based on
-     * sentence's score which is calculate from series of feature.
+     * This method is used to score every sentence exactly once and select the
+     * top n-th ones with a bounded heap, without sorting the whole document.
+     * The given list is left untouched.
+     *
+     * @param Counter termFrequencies List of terms in a text and number of its occurence in a document
+     * @param List<CoreMap> sentences List of sentences in a document
+     * @param List<String> titleWords List of unique keywords in document's title
+     * @param Map<String, Double> topKeywords List of n most frequent keywords in a document and its score
+     * @param int sentence_count Total number of sentences in a document
+     * @param int limit Maximum number of sentences to return
+     * @return List<ScoredSentence> Top sentences, best first
      */
-    private class SentenceComparator implements Comparator<CoreMap> {
-
-        // Local variable declaration
-        private final Counter<String> termFrequencies;
-        private final List<String> titleWords;
-        private final Map<String, Double> topKeywords;
-        private final int sentence_count;
-
-        /**
-         * Sentence comparator constructor.
-         *
-         * @param termFrequencies
-         * @param titleWords
-         * @param topKeywords
-         * @param sentence_count
-         */
-        private SentenceComparator(Counter<String> termFrequencies, List<String> titleWords,
-                                  Map<String, Double> topKeywords, int sentence_count) {
-            this.termFrequencies = termFrequencies;
-            this.titleWords = titleWords;
-            this.topKeywords = topKeywords;
-            this.sentence_count = sentence_count;
+    public List<ScoredSentence> rankSentences(Counter<String> termFrequencies, List<CoreMap> sentences,
+                                              List<String> titleWords, Map<String, Double> topKeywords,
+                                              int sentence_count, int limit) {
+        Vocabulary vocabulary = Vocabulary.of(termFrequencies);
+        int[] title_words = vocabulary.intern(titleWords);
+        int[][] sentence_words = tokenize(sentences, vocabulary);
+
+        double[] keywordScores = new double[vocabulary.size()];
+        for (Map.Entry<String, Double> keyword : topKeywords.entrySet()) {
+            int id = vocabulary.indexOf(keyword.getKey());
+            if (id >= 0) keywordScores[id] = keyword.getValue();
         }
 
-        @Override
-        public int compare(CoreMap o1, CoreMap o2){
-            int value = (int) Math.round(score(o2) - score(o1));
-
-            if (value > 0) {
-                return 1;
-            } else if (value < 0) {
-                return -1;
-            } else {
-                return 0;
-            }
-
-        }
-
-        /**
-         * Method to calculate sentence score from a given sentence.
-         *
-         * @param CoreMap sentence A preprocessed sentence
-         * @return Double Sentence's score
-         * @throws IOException
-         */
-        private double score(CoreMap sentence)  {
+        return rankSentences(sentences, sentence_words, title_words, keywordScores, sentence_count, limit);
+    }
 
-            // Get sentence index (positon) and length
-            int sentence_index = sentence.get(CoreAnnotations.SentenceIndexAnnotation.class);
+    /**
+     * This method is used to score every sentence exactly once and select the
+     * top n-th ones with a bounded heap, without sorting the whole document.
+     * Sentences and title are given as term ids of a document vocabulary.
+     *
+     * @param List<CoreMap> sentences List of sentences in a document
+     * @param int[][] sentenceWords Ids of the keywords of each sentence
+     * @param int[] titleWords Ids of the keywords in document's title
+     * @param double[] keywordScores Score of each term id, positive for top keywords only
+     * @param int sentence_count Total number of sentences in a document
+     * @param int limit Maximum number of sentences to return
+     * @return List<ScoredSentence> Top sentences, best first
+     */
+    public List<ScoredSentence> rankSentences(List<CoreMap> sentences, int[][] sentenceWords, int[] titleWords,
+                                              double[] keywordScores, int sentence_count, int limit) {
+        return rankSentences(sentences, sentenceWords, titleWords, keywordScores, sentence_count, limit, null);
+    }
 
-            // Get words from sentence
-            List<String> sentence_words = parser.tokenize(sentence.toString(), false);
+    /**
+     * This method is used to score and select sentences as above, leaving out
+     * the features dropped by a degradation.
+     *
+     * @param Degradation level Deepest degradation applied, or null for none.
+     *        keywordScores may be null from POSITION_LENGTH_ONLY on
+     */
+    List<ScoredSentence> rankSentences(List<CoreMap> sentences, int[][] sentenceWords, int[] titleWords,
+                                       double[] keywordScores, int sentence_count, int limit, Degradation level) {
+        if (limit <= 0 || sentences.isEmpty()) {
+            return new ArrayList<ScoredSentence>();
+        }
 
-            // Calculate Summation-Based Selection feature
-            Double sbs_feature = getSbs(sentence_words, topKeywords);
-            // System.out.println(sbs_feature);
+        long time = Metrics.start();
+        ScoringKernel kernel = new ScoringKernel(parser, titleWords, keywordScores, sentence_count, level);
+        ScoringKernel.TopSentences top;
+        if (sentences.size() >= PARALLEL_THRESHOLD && ForkJoinPool.getCommonPoolParallelism() > 1) {
+            top = rankInParallel(kernel, sentences, sentenceWords, limit);
+        } else {
+            top = new ScoringKernel.TopSentences(Math.min(limit, sentences.size()));
+            for (int position = 0; position < sentences.size(); position++) {
+                top.offer(position, kernel.score(sentenceWords[position],
+                        ScoringKernel.sentenceIndex(sentences.get(position), position)));
+            }
+        }
+        time = Metrics.stop(Metrics.Stage.SCORING, time);
 
-            // Calculate Density-Based Selection feature
-            Double dbs_feature = getDbs(termFrequencies, sentence_words, topKeywords);
-            // System.out.println(dbs_feature);
+        // Features are only kept for the selected sentences
+        List<ScoredSentence> ranked = top.ranked(kernel, sentences, sentenceWords);
+        Metrics.stop(Metrics.Stage.RANKING, time);
+        return ranked;
+    }
 
-            // Get title feature
-            Double title_feature = parser.getTitleFeature(titleWords, sentence_words);
-            // System.out.println(title_feature);
+    /**
+     * This method is used to score and select sentences as above, on every
+     * core : sentences are split across fork-join tasks which each keep their
+     * own top sentences, merged afterwards. The ranking is the sequential one.
+     */
+    List<ScoredSentence> rankInParallel(List<CoreMap> sentences, int[][] sentenceWords, int[] titleWords,
+                                        double[] keywordScores, int sentence_count, int limit, Degradation level) {
+        ScoringKernel kernel = new ScoringKernel(parser, titleWords, keywordScores, sentence_count, level);
+        return rankInParallel(kernel, sentences, sentenceWords, limit).ranked(kernel, sentences, sentenceWords);
+    }
 
-            // Get sentence length feature
-            Double length_feature = parser.getLengthFeature(sentence_words);
-            // System.out.println(length_feature);
+    private static ScoringKernel.TopSentences rankInParallel(ScoringKernel kernel, List<CoreMap> sentences,
+                                                             int[][] sentenceWords, int limit) {
+        RankingTask task = new RankingTask(kernel, sentences, sentenceWords, limit, 0, sentences.size());
+        // Inside a fork-join pool, e.g. the one of a BatchSummarizer, the task shares its workers
+        return ForkJoinTask.inForkJoinPool() ? task.invoke() : ForkJoinPool.commonPool().invoke(task);
+    }
 
-            // Get sentence position feature
-            Double position_feature = parser.getPositionFeature(sentence_index, sentence_count);
-            // System.out.println(position_feature);
+    /**
+     * <h1>RankingTask</h1> Scores a range of sentences, splitting it in halves
+     * down to PARALLEL_LEAF sentences, and gives the top sentences of the
+     * range. Each leaf keeps its own top sentences, and two halves are merged
+     * by selecting again among their at most 2 * limit sentences, so workers
+     * share nothing but the read-only kernel and analyzed document. Since
+     * sentences are ordered by score then position, the result is the
+     * sequential one.
+     */
+    private static class RankingTask extends RecursiveTask<ScoringKernel.TopSentences> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final ScoringKernel kernel;
+        private final List<CoreMap> sentences;
+        private final int[][] sentenceWords;
+        private final int limit;
+        private final int from;
+        private final int to;
+
+        private RankingTask(ScoringKernel kernel, List<CoreMap> sentences, int[][] sentenceWords, int limit,
+                            int from, int to) {
+            this.kernel = kernel;
+            this.sentences = sentences;
+            this.sentenceWords = sentenceWords;
+            this.limit = limit;
+            this.from = from;
+            this.to = to;
+        }
 
-            // Get keywords frequency feature
-            Double keywords_frequency = (sbs_feature + dbs_feature) / 2.0 * 10.0;
-            // System.out.println(keywworords_frequency);
+        @Override
+        protected ScoringKernel.TopSentences compute() {
+            if (to - from <= PARALLEL_LEAF) {
+                ScoringKernel.TopSentences top = new ScoringKernel.TopSentences(Math.min(limit, to - from));
+                for (int position = from; position < to; position++) {
+                    top.offer(position, kernel.score(sentenceWords[position],
+                            ScoringKernel.sentenceIndex(sentences.get(position), position)));
+                }
+                return top;
+            }
 
-            // Get total score
-            Double total_score = ((title_feature * 1.5) + (keywords_frequency * 2.0) + (length_feature * 0.5)
-                    + (position_feature * 1.0) / 4.0);
+            int middle = (from + to) >>> 1;
+            RankingTask left = new RankingTask(kernel, sentences, sentenceWords, limit, from, middle);
+            left.fork();
+            ScoringKernel.TopSentences right = new RankingTask(kernel, sentences, sentenceWords, limit, middle, to)
+                    .compute();
+            ScoringKernel.TopSentences joined = left.join();
+            ScoringKernel.TopSentences merged = new ScoringKernel.TopSentences(
+                    Math.min(limit, joined.size() + right.size()));
+            merged.addAll(joined);
+            merged.addAll(right);
+            return merged;
+        }
+    }
 
-            // System.out.println(total_score);
+    private static int countTokens(List<CoreMap> sentences) {
+        int tokens = 0;
+        for (CoreMap sentence : sentences) {
+            List<?> sentence_tokens = sentence.get(CoreAnnotations.TokensAnnotation.class);
+            if (sentence_tokens != null) tokens += sentence_tokens.size();
+        }
+        return tokens;
+    }
 
-            return total_score * 10000;
+    /**
+     * This method is used to get the keywords of each sentence as term ids,
+     * from the tokens found while splitting them.
+     *
+     * @param List<CoreMap> sentences List of sentences in a document
+     * @param Vocabulary vocabulary Document vocabulary, new words are interned
+     * @return int[][] Ids of the keywords of each sentence
+     */
+    int[][] tokenize(List<CoreMap> sentences, Vocabulary vocabulary) {
+        int[][] sentence_words = new int[sentences.size()][];
+        for (int i = 0; i < sentence_words.length; i++) {
+            sentence_words[i] = vocabulary.intern(parser.getKeywords(sentences.get(i)));
         }
+        return sentence_words;
     }
 
     /**
@@ -214,6 +544,59 @@ public class Summarizer {
         return topKeywords;
     }
 
+    /**
+     * Method to get score of keyword from given list of keyword ids, based on
+     * number of its occurence in a text, normalized by number of total terms in
+     * the document.
+     *
+     * @param int[] keywords Ids of the keywords whose count needs to be searched
+     * @param Vocabulary vocabulary Document terms and their frequencies
+     * @return double[] Score of each term id, zero for terms which are not keywords
+     */
+    public static double[] getArticleScores(int[] keywords, Vocabulary vocabulary) {
+        double[] scores = new double[vocabulary.size()];
+        double termCount = vocabulary.totalCount();
+        for (int keyword : keywords) {
+            scores[keyword] = vocabulary.count(keyword) / termCount;
+        }
+        return scores;
+    }
+
+    /**
+     * Method to get the top ten keywords of a document and their score. With
+     * a corpus IDF index for the language, terms are ranked and scored by
+     * TF-IDF, otherwise by term frequency only.
+     *
+     * @param Vocabulary vocabulary Document terms and their frequencies
+     * @return double[] Score of each term id, zero for terms which are not keywords
+     */
+    double[] getKeywordScores(Vocabulary vocabulary) {
+        IdfIndex idf = parser.getIdf();
+        if (idf.isEmpty()) {
+            return getArticleScores(vocabulary.topTerms(10), vocabulary);
+        }
+        double[] weights = idf.weights(vocabulary);
+        return getArticleScores(vocabulary.topTerms(10, weights), vocabulary, weights);
+    }
+
+    /**
+     * Method to get score of keyword from given list of keyword ids, based on
+     * number of its occurence in a text, normalized by number of total terms in
+     * the document, and weighted by its inverse document frequency.
+     *
+     * @param int[] keywords Ids of the keywords whose count needs to be searched
+     * @param Vocabulary vocabulary Document terms and their frequencies
+     * @param double[] weights Weight of each term id, see IdfIndex.weight
+     * @return double[] Score of each term id, zero for terms which are not keywords
+     */
+    public static double[] getArticleScores(int[] keywords, Vocabulary vocabulary, double[] weights) {
+        double[] scores = getArticleScores(keywords, vocabulary);
+        for (int keyword : keywords) {
+            scores[keyword] *= weights[keyword];
+        }
+        return scores;
+    }
+
     /**
      * Method to calculate SBS (Summation-Based Feature) from a given sentence.
      * Checked if sentence contains top ten keywords, and sum its article score.
@@ -286,4 +669,52 @@ public class Summarizer {
         return (1.0 / k * (k + 1.0)) * summ;
     }
 
-}
\ No newline at end of file
+    /**
+     * Method to calculate SBS (Summation-Based Feature) from a given sentence
+     * of term ids.
+     *
+     * @param int[] sentence_words Ids of the words in the sentence
+     * @param double[] keywordScores Score of each term id, zero for terms which are not keywords
+     * @return double SBS score
+     */
+    public static double getSbs(int[] sentence_words, double[] keywordScores) {
+        if (sentence_words.length == 0) return 0.0;
+        double score = 0.0;
+        for (int word : sentence_words) {
+            score += keywordScores[word];
+        }
+        return (1.0 / sentence_words.length) * score;
+    }
+
+    /**
+     * Method to calculate Density-Based-Selection feature from a given
+     * sentence of term ids.
+     *
+     * @param int[] sentence_words Ids of the words in the sentence
+     * @param double[] keywordScores Score of each term id, positive for top keywords only
+     * @return double DBS score
+     */
+    public static double getDbs(int[] sentence_words, double[] keywordScores) {
+        double summ = 0.0;
+        int k = 0;
+        int first_word = -1;
+        int first_idx = 0;
+
+        for (int counter = 0; counter < sentence_words.length; counter++) {
+            int word = sentence_words[counter];
+            if (keywordScores[word] > 0) { // if current word is one of the top keyword
+                k++;
+                if (first_word >= 0) {
+                    int distance = counter - first_idx;
+                    summ += ((keywordScores[word] * keywordScores[first_word]) / Math.pow(distance, 2));
+                }
+                first_word = word;
+                first_idx = counter;
+            }
+        }
+
+        if (k == 0) return 0.0;
+        return (1.0 / k * (k + 1.0)) * summ;
+    }
+
+}
@@ -0,0 +1,281 @@
+package io.azrina.nlp.summarizer;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ProtocolFamily;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <h1>SummarizerDaemon</h1> A long-running process keeping warm summarizers,
+ * so that command line invocations (see DaemonClient and Main --client) do
+ * not pay the JVM and Core NLP startup on every call.
+ *
+ * The daemon listens on a Unix domain socket when a socket path is given and
+ * the JVM supports them (Java 16 or later), otherwise on a loopback TCP port,
+ * so it is only reachable from the local machine. Clients make the same
+ * choice, so a socket path given on an older JVM falls back to the port on
+ * both sides. Each connection carries one
+ * request, in a small binary protocol :
+ * <ul>
+ * <li>request : magic, language, title, text, number of sentences, delimiter;</li>
+ * <li>response : status (OK or ERROR), then the summary or the error message.</li>
+ * </ul>
+ * Strings are UTF-8 bytes preceded by their length, numbers are big-endian ints.
+ **/
+public class SummarizerDaemon implements AutoCloseable {
+
+    static final int DEFAULT_PORT = 47300;
+
+    static final int MAGIC = 0x54544431; // TTD1
+    static final byte OK = 0;
+    static final byte ERROR = 1;
+
+    // Largest accepted string, in bytes
+    private static final int MAX_STRING = 64 * 1024 * 1024;
+
+    // Pause after a failed accept, e.g. when out of file descriptors, doubled up to the maximum
+    private static final long MIN_ACCEPT_BACKOFF_MILLIS = 10;
+    private static final long MAX_ACCEPT_BACKOFF_MILLIS = 1000;
+
+    private static final boolean UNIX_SOCKETS = supportsUnixSockets();
+
+    private final ServerSocketChannel channel;
+    private final Path socket;
+    private final ExecutorService workers;
+    private final String lang;
+    private final SummaryCache cache;
+    private final NearDuplicateIndex nearDuplicates;
+    private final ConcurrentMap<String, Summarizer> summarizers = new ConcurrentHashMap<String, Summarizer>();
+
+    /**
+     * Summarizer daemon constructor.
+     *
+     * @param Path socket Unix domain socket to listen on, or null to listen on the loopback port.
+     *        Before Java 16, the loopback port is used instead
+     * @param int port Loopback TCP port, used when socket is null or not supported
+     * @param int threads Number of requests processed at once
+     * @param SummaryCache cache Summary cache shared by every language, or null
+     * @param NearDuplicateIndex nearDuplicates Near-duplicate index shared by every language, or null
+     * @param String... langs Languages to warm up at startup. The first one is the default language of requests
+     * @throws IOException if the socket or port cannot be bound, e.g. when a daemon is already running
+     */
+    public SummarizerDaemon(Path socket, int port, int threads, SummaryCache cache,
+                            NearDuplicateIndex nearDuplicates, String... langs) throws IOException {
+        this.socket = UNIX_SOCKETS ? socket : null;
+        this.lang = langs.length > 0 ? langs[0] : "en";
+        this.cache = cache;
+        this.nearDuplicates = nearDuplicates;
+        if (this.socket != null) {
+            if (Files.exists(socket)) {
+                boolean running;
+                try {
+                    connect(socket, port).close();
+                    running = true;
+                } catch (IOException e) {
+                    running = false;
+                }
+                if (running) {
+                    throw new IOException("A daemon is already listening on " + socket);
+                }
+                Files.delete(socket); // left over by a daemon which did not stop cleanly
+            }
+            this.channel = openUnixChannel(ServerSocketChannel.class);
+            this.channel.bind(unixAddress(socket));
+        } else {
+            this.channel = ServerSocketChannel.open();
+            this.channel.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+        }
+        this.workers = Executors.newFixedThreadPool(threads);
+
+        for (String l : langs.length > 0 ? langs : new String[]{"en"}) {
+            getSummarizer(l);
+            if (TextEngines.CORENLP.equals(TextEngines.selected(l))) {
+                PipelineRegistry.warmUp(l);
+            }
+        }
+    }
+
+    /**
+     * This method is used to start accepting requests, on a background thread.
+     */
+    public void start() {
+        Thread acceptor = new Thread(() -> {
+            long backoff = 0;
+            while (channel.isOpen()) {
+                SocketChannel connection;
+                try {
+                    connection = channel.accept();
+                    backoff = 0;
+                } catch (ClosedChannelException e) {
+                    return;
+                } catch (IOException e) {
+                    // Transient, e.g. too many open files : wait for connections to be released
+                    backoff = Math.min(MAX_ACCEPT_BACKOFF_MILLIS, Math.max(MIN_ACCEPT_BACKOFF_MILLIS, backoff * 2));
+                    try {
+                        Thread.sleep(backoff);
+                    } catch (InterruptedException interrupted) {
+                        return;
+                    }
+                    continue;
+                }
+                try {
+                    workers.execute(() -> handle(connection));
+                } catch (RejectedExecutionException e) {
+                    // Closing : the connection is dropped
+                    closeQuietly(connection);
+                }
+            }
+        }, "textteaser-daemon");
+        acceptor.start();
+    }
+
+    /**
+     * @return SocketAddress Address the daemon listens on, e.g. to find the port bound for port 0
+     * @throws IOException
+     */
+    public SocketAddress getAddress() throws IOException {
+        return channel.getLocalAddress();
+    }
+
+    /**
+     * This method is used to stop accepting requests, and to wait a few
+     * seconds for the pending ones.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+        if (socket != null) Files.deleteIfExists(socket);
+        workers.shutdown();
+        try {
+            workers.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Summarizer getSummarizer(String lang) {
+        return summarizers.computeIfAbsent(lang.isEmpty() ? this.lang : lang,
+                l -> Summarizer.create(l, cache, nearDuplicates));
+    }
+
+    private void handle(SocketChannel connection) {
+        try (SocketChannel c = connection;
+             DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(c)));
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(c)))) {
+            if (in.readInt() != MAGIC) return;
+            String lang = readString(in);
+            String title = readString(in);
+            String text = readString(in);
+            int num = in.readInt();
+            String delimiter = readString(in);
+
+            try {
+                String summary = getSummarizer(lang).summarize(title, text, num, delimiter);
+                out.writeByte(OK);
+                writeString(out, summary);
+            } catch (Exception e) {
+                out.writeByte(ERROR);
+                writeString(out, String.valueOf(e));
+            }
+        } catch (IOException e) {
+            // client went away, nothing to answer
+        }
+    }
+
+    private static void closeQuietly(SocketChannel connection) {
+        try {
+            connection.close();
+        } catch (IOException e) {
+            // nothing left to release
+        }
+    }
+
+    static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0 || length > MAX_STRING) {
+            throw new EOFException("Invalid string length " + length);
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * This method is used to connect to a daemon.
+     *
+     * @param Path socket Unix domain socket of the daemon, or null for the loopback port
+     * @param int port Loopback TCP port, used when socket is null or not supported
+     * @return SocketChannel Connected channel
+     * @throws IOException if no daemon is listening
+     */
+    static SocketChannel connect(Path socket, int port) throws IOException {
+        if (socket == null || !UNIX_SOCKETS) {
+            return SocketChannel.open(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+        }
+        SocketChannel channel = openUnixChannel(SocketChannel.class);
+        try {
+            channel.connect(unixAddress(socket));
+            return channel;
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    // Unix domain sockets appeared in Java 16, after the Java 11 this project targets :
+    // they are looked up reflectively, and the loopback port is used without them
+    private static boolean supportsUnixSockets() {
+        try {
+            Class.forName("java.net.UnixDomainSocketAddress");
+            StandardProtocolFamily.valueOf("UNIX");
+            return true;
+        } catch (ClassNotFoundException | IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static <T> T openUnixChannel(Class<T> type) throws IOException {
+        try {
+            ProtocolFamily unix = StandardProtocolFamily.valueOf("UNIX");
+            return type.cast(type.getMethod("open", ProtocolFamily.class).invoke(null, unix));
+        } catch (ReflectiveOperationException e) {
+            throw new IOException("Cannot open a Unix domain socket", e);
+        }
+    }
+
+    private static SocketAddress unixAddress(Path socket) throws IOException {
+        try {
+            return (SocketAddress) Class.forName("java.net.UnixDomainSocketAddress")
+                    .getMethod("of", Path.class).invoke(null, socket);
+        } catch (ReflectiveOperationException e) {
+            throw new IOException("Cannot address the Unix domain socket " + socket, e);
+        }
+    }
+
+}
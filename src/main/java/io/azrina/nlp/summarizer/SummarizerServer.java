@@ -0,0 +1,368 @@
+package io.azrina.nlp.summarizer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.json.Json;
+import javax.json.JsonArrayBuilder;
+import javax.json.JsonException;
+import javax.json.JsonObject;
+import javax.json.JsonObjectBuilder;
+import javax.json.JsonReader;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * <h1>SummarizerServer</h1> An embedded HTTP server exposing the summarizer as
+ * a JSON service, built on the JDK HttpServer. The pipelines of the served
+ * languages are warmed up once at startup and shared by every request.
+ *
+ * Endpoints :
+ * <ul>
+ * <li>POST /summarize : {"text", "title", "lang", "num", "delimiter"} gives {"summary"}.
+ * Only "text" is required. With a "deadline" in milliseconds, the summary is
+ * degraded rather than late, and the response lists the "degradations" applied.</li>
+ * <li>GET /health : 200 as long as the server is running, with the loaded pipelines
+ * and the cache and near-duplicate statistics.</li>
+ * <li>GET /ready : 200 once the pipelines are warm, 503 before.</li>
+ * </ul>
+ *
+ * Requests run on a bounded worker executor, using virtual threads when the
+ * JVM provides them. At most 'concurrency' requests are processed and
+ * 'queueSize' more are waiting at any time; further requests are rejected
+ * right away with 429 Too Many Requests instead of being queued. Failures
+ * are logged, and answered with a 500 which does not disclose them.
+ **/
+public class SummarizerServer implements AutoCloseable {
+
+    private static final Logger LOG = Logger.getLogger(SummarizerServer.class.getName());
+
+    // Largest accepted request body, in bytes
+    private static final int MAX_BODY = 16 * 1024 * 1024;
+
+    private final HttpServer server;
+    private final ExecutorService workers;
+    private final Semaphore admission;
+    private final Semaphore running;
+    private final String lang;
+    private final String[] warmLanguages;
+    private final SummaryCache cache;
+    private final NearDuplicateIndex nearDuplicates;
+    private final ConcurrentMap<String, Summarizer> summarizers = new ConcurrentHashMap<String, Summarizer>();
+    private volatile boolean ready;
+
+    /**
+     * Summarizer server constructor.
+     *
+     * @param InetSocketAddress address Address to listen on
+     * @param int concurrency Maximum number of requests processed at once
+     * @param int queueSize Maximum number of admitted requests waiting for a worker
+     * @param String... langs Languages to warm up at startup. The first one is the default language of requests
+     * @throws IOException if the address cannot be bound
+     */
+    public SummarizerServer(InetSocketAddress address, int concurrency, int queueSize, String... langs)
+            throws IOException {
+        this(address, concurrency, queueSize, null, langs);
+    }
+
+    /**
+     * Summarizer server constructor, answering repeated documents from a cache.
+     *
+     * @param InetSocketAddress address Address to listen on
+     * @param int concurrency Maximum number of requests processed at once
+     * @param int queueSize Maximum number of admitted requests waiting for a worker
+     * @param SummaryCache cache Summary cache shared by every language, or null
+     * @param String... langs Languages to warm up at startup. The first one is the default language of requests
+     * @throws IOException if the address cannot be bound
+     */
+    public SummarizerServer(InetSocketAddress address, int concurrency, int queueSize, SummaryCache cache,
+                            String... langs) throws IOException {
+        this(address, concurrency, queueSize, cache, null, langs);
+    }
+
+    /**
+     * Summarizer server constructor, answering repeated documents from a cache
+     * and near-duplicates from an index.
+     *
+     * @param InetSocketAddress address Address to listen on
+     * @param int concurrency Maximum number of requests processed at once
+     * @param int queueSize Maximum number of admitted requests waiting for a worker
+     * @param SummaryCache cache Summary cache shared by every language, or null
+     * @param NearDuplicateIndex nearDuplicates Near-duplicate index shared by every language, or null
+     * @param String... langs Languages to warm up at startup. The first one is the default language of requests
+     * @throws IOException if the address cannot be bound
+     */
+    public SummarizerServer(InetSocketAddress address, int concurrency, int queueSize, SummaryCache cache,
+                            NearDuplicateIndex nearDuplicates, String... langs) throws IOException {
+        if (concurrency < 1 || queueSize < 0) {
+            throw new IllegalArgumentException("concurrency must be positive and queueSize must not be negative");
+        }
+        this.lang = langs.length > 0 ? langs[0] : "en";
+        this.warmLanguages = langs.length > 0 ? langs : new String[]{"en"};
+        this.admission = new Semaphore(concurrency + queueSize);
+        this.running = new Semaphore(concurrency);
+        this.cache = cache;
+        this.nearDuplicates = nearDuplicates;
+        this.workers = newWorkers(concurrency);
+
+        // Handlers run on the dispatcher thread : they only admit or reject,
+        // the actual work is handed over to the workers
+        this.server = HttpServer.create(address, 0);
+        this.server.createContext("/summarize", new SummarizeHandler());
+        this.server.createContext("/health", exchange -> respond(exchange, 200, health()));
+        this.server.createContext("/ready", exchange -> {
+            if (ready) {
+                respond(exchange, 200, status("READY"));
+            } else {
+                respond(exchange, 503, status("WARMING_UP"));
+            }
+        });
+    }
+
+    /**
+     * This method is used to start serving requests. Pipelines are warmed up
+     * in the background; /ready reports when they are.
+     */
+    public void start() {
+        server.start();
+        Thread warmUp = new Thread(() -> {
+            for (String l : warmLanguages) {
+                getSummarizer(l);
+                if (TextEngines.CORENLP.equals(TextEngines.selected(l))) {
+                    PipelineRegistry.warmUp(l);
+                }
+            }
+            ready = true;
+        }, "textteaser-warmup");
+        warmUp.setDaemon(true);
+        warmUp.start();
+    }
+
+    /**
+     * @return boolean True once the pipelines of the served languages are warm
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * @return InetSocketAddress Address the server listens on
+     */
+    public InetSocketAddress getAddress() {
+        return server.getAddress();
+    }
+
+    /**
+     * This method is used to stop the server, letting the requests in flight
+     * complete for at most a few seconds.
+     */
+    @Override
+    public void close() {
+        ready = false;
+        server.stop(1);
+        workers.shutdown();
+        try {
+            workers.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Summarizer getSummarizer(String lang) {
+        return summarizers.computeIfAbsent(lang == null ? this.lang : lang,
+                l -> Summarizer.create(l, cache, nearDuplicates));
+    }
+
+    private class SummarizeHandler implements HttpHandler {
+
+        @Override
+        public void handle(final HttpExchange exchange) throws IOException {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                exchange.getResponseHeaders().set("Allow", "POST");
+                respond(exchange, 405, error("Use POST"));
+                return;
+            }
+            if (!admission.tryAcquire()) {
+                respond(exchange, 429, error("Too many requests"));
+                return;
+            }
+            try {
+                workers.execute(() -> {
+                    running.acquireUninterruptibly();
+                    try {
+                        summarize(exchange);
+                    } finally {
+                        running.release();
+                        admission.release();
+                    }
+                });
+            } catch (RuntimeException e) {
+                // Rejected by a worker executor being shut down
+                admission.release();
+                respond(exchange, 503, error("Shutting down"));
+            }
+        }
+
+        private void summarize(HttpExchange exchange) {
+            try {
+                byte[] body = readBody(exchange.getRequestBody());
+                if (body == null) {
+                    respond(exchange, 413, error("Request body larger than " + MAX_BODY + " bytes"));
+                    return;
+                }
+
+                JsonObject request;
+                try (JsonReader reader = Json.createReader(new StringReader(new String(body, StandardCharsets.UTF_8)))) {
+                    request = reader.readObject();
+                } catch (JsonException | IllegalStateException e) {
+                    respond(exchange, 400, error("Invalid JSON object"));
+                    return;
+                }
+                if (!request.containsKey("text") || request.isNull("text")) {
+                    respond(exchange, 400, error("Missing 'text'"));
+                    return;
+                }
+
+                // Fields are named in errors, without the message of the exception, which names internal classes
+                String field = "text";
+                String text;
+                String title;
+                String lang;
+                int num;
+                String delimiter;
+                long deadline = -1;
+                try {
+                    text = request.getString(field);
+                    field = "title";
+                    title = request.getString(field, "");
+                    field = "lang";
+                    lang = request.getString(field, null);
+                    field = "num";
+                    num = request.getInt(field, 3);
+                    field = "delimiter";
+                    delimiter = request.getString(field, " (...) ");
+                    field = "deadline";
+                    if (request.containsKey(field)) {
+                        deadline = request.getJsonNumber(field).longValue();
+                    }
+                } catch (ClassCastException | NumberFormatException e) {
+                    respond(exchange, 400, error("Invalid '" + field + "'"));
+                    return;
+                }
+
+                if (deadline >= 0) {
+                    DeadlineSummary summary = getSummarizer(lang).summarize(title, text, num, deadline,
+                            TimeUnit.MILLISECONDS);
+                    JsonArrayBuilder degradations = Json.createArrayBuilder();
+                    for (Degradation degradation : summary.getDegradations()) {
+                        degradations.add(degradation.name());
+                    }
+                    respond(exchange, 200, Json.createObjectBuilder().add("summary", summary.join(delimiter))
+                            .add("degradations", degradations).build().toString());
+                    return;
+                }
+
+                String summary = getSummarizer(lang).summarize(title, text, num, delimiter);
+                respond(exchange, 200, Json.createObjectBuilder().add("summary", summary).build().toString());
+            } catch (Exception e) {
+                LOG.log(Level.WARNING, "Summarization failed", e);
+                respond(exchange, 500, error("Internal error"));
+            }
+        }
+    }
+
+    // Reads the whole body, or returns null if it is larger than MAX_BODY
+    private static byte[] readBody(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = in.read(buffer)) >= 0) {
+            if (out.size() + read > MAX_BODY) return null;
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+
+    private static void respond(HttpExchange exchange, int code, String json) {
+        try {
+            byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+            exchange.sendResponseHeaders(code, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        } catch (IOException e) {
+            // The client went away, nothing left to answer
+        } finally {
+            exchange.close();
+        }
+    }
+
+    // Status, with the cache statistics when there is a cache
+    private String health() {
+        JsonArrayBuilder languages = Json.createArrayBuilder();
+        for (String l : PipelineRegistry.getLoadedLanguages()) {
+            languages.add(l);
+        }
+        JsonObjectBuilder health = Json.createObjectBuilder().add("status", "UP")
+                .add("pipelines", Json.createObjectBuilder()
+                        .add("loaded", languages)
+                        .add("usedBytes", PipelineRegistry.getUsedBytes())
+                        .add("budgetBytes", PipelineRegistry.getMemoryBudget())
+                        .add("loads", PipelineRegistry.getLoadCount())
+                        .add("evictions", PipelineRegistry.getEvictionCount()));
+        if (cache != null) {
+            SummaryCache.Stats stats = cache.getStats();
+            health.add("cache", Json.createObjectBuilder()
+                    .add("hits", stats.getHits())
+                    .add("diskHits", stats.getDiskHits())
+                    .add("misses", stats.getMisses())
+                    .add("evictions", stats.getEvictions())
+                    .add("size", stats.getSize()));
+        }
+        if (nearDuplicates != null) {
+            SummaryCache.Stats stats = nearDuplicates.getStats();
+            health.add("nearDuplicates", Json.createObjectBuilder()
+                    .add("hits", stats.getHits())
+                    .add("misses", stats.getMisses())
+                    .add("evictions", stats.getEvictions())
+                    .add("size", stats.getSize()));
+        }
+        return health.build().toString();
+    }
+
+    private static String status(String status) {
+        return Json.createObjectBuilder().add("status", status).build().toString();
+    }
+
+    private static String error(String message) {
+        return Json.createObjectBuilder().add("error", message).build().toString();
+    }
+
+    // Virtual threads (Java 21+) when available, found by reflection since the
+    // build targets Java 11, otherwise a fixed pool. The semaphores bound the
+    // concurrency in both cases.
+    private static ExecutorService newWorkers(int concurrency) {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newFixedThreadPool(concurrency);
+        }
+    }
+
+}
@@ -0,0 +1,236 @@
+package io.azrina.nlp.summarizer;
+
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <h1>SummarizingProcessor</h1> A Flow.Processor summarizing the documents of
+ * a publisher, and publishing a DocumentSummary for each of them, in
+ * completion order, to any number of subscribers.
+ *
+ * Backpressure is driven by demand : documents are requested from upstream
+ * only as far as every subscriber has requested summaries, and at most
+ * maxInFlight of them are summarized or waiting to be delivered at any time.
+ * Nothing is requested before a subscriber requests summaries. Summaries are
+ * delivered on the common fork-join pool, never on the summarizing threads.
+ *
+ * Calls to the upstream subscription are made by whichever thread finds new
+ * room (a subscriber's request, a delivery, a completed summary), but never
+ * concurrently : a drain loop serializes them, as the Flow rules require.
+ *
+ * The processor subscribes to a single publisher. It completes once upstream
+ * has completed and every pending document has been summarized, and fails
+ * with the upstream error likewise.
+ **/
+public class SummarizingProcessor extends SubmissionPublisher<DocumentSummary>
+        implements Flow.Processor<Document, DocumentSummary> {
+
+    private final AsyncSummarizer summarizer;
+    private final int numSentences;
+    private final String delimiter;
+    private final int maxInFlight;
+    private final List<Downstream> downstreams = new CopyOnWriteArrayList<Downstream>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong received = new AtomicLong();
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicInteger drains = new AtomicInteger();
+    private volatile Flow.Subscription subscription;
+    private volatile boolean upstreamDone;
+    private volatile Throwable upstreamError;
+
+    // Only read and written by the drain loop
+    private long requested;
+
+    /**
+     * Summarizing processor constructor, see AsyncSummarizer.processor.
+     *
+     * @param AsyncSummarizer summarizer Summarizer of the documents
+     * @param int numSentences Number of maximum sentences in each summary
+     * @param String delimiter Delimiter between sentences in generated summaries
+     * @param int maxInFlight Maximum number of documents summarized at once
+     */
+    public SummarizingProcessor(AsyncSummarizer summarizer, int numSentences, String delimiter, int maxInFlight) {
+        super(deliveryExecutor(), maxInFlight); // rejects a maxInFlight below 1
+        this.summarizer = summarizer;
+        this.numSentences = numSentences;
+        this.delimiter = delimiter;
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * Subscribers are wrapped, so that their demand drives the requests to
+     * upstream.
+     */
+    @Override
+    public void subscribe(Flow.Subscriber<? super DocumentSummary> subscriber) {
+        super.subscribe(new Downstream(subscriber));
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        if (this.subscription != null) {
+            subscription.cancel(); // already subscribed to a publisher
+            return;
+        }
+        this.subscription = subscription;
+        drain();
+    }
+
+    @Override
+    public void onNext(final Document document) {
+        // In flight first, so that the drain loop never sees a document neither requested nor in flight
+        inFlight.incrementAndGet();
+        received.incrementAndGet();
+        summarizer.summarize(document, numSentences, delimiter).whenComplete((summary, error) -> {
+            submitted.incrementAndGet();
+            submit(new DocumentSummary(document, summary, unwrap(error)));
+            if (inFlight.decrementAndGet() == 0 && upstreamDone) {
+                finish();
+            } else {
+                drain();
+            }
+        });
+    }
+
+    @Override
+    public void onError(Throwable error) {
+        upstreamError = error;
+        upstreamDone = true;
+        if (inFlight.get() == 0) finish();
+    }
+
+    @Override
+    public void onComplete() {
+        upstreamDone = true;
+        if (inFlight.get() == 0) finish();
+    }
+
+    /**
+     * @return int Number of documents being summarized
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    // Requests what the subscribers' demand and the in-flight bound allow. Only one thread runs the
+    // loop at a time; a thread finding it running leaves it one more pass to make
+    private void drain() {
+        if (drains.getAndIncrement() != 0) return;
+        int missed = 1;
+        do {
+            Flow.Subscription upstream = subscription;
+            long n = upstream == null ? 0 : requestable();
+            if (n > 0) {
+                requested += n;
+                upstream.request(n);
+            }
+            missed = drains.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private long requestable() {
+        if (upstreamDone || downstreams.isEmpty()) return 0;
+        long sent = submitted.get();
+        long demand = Long.MAX_VALUE;
+        long lag = 0;
+        for (Downstream downstream : downstreams) {
+            long own = sent - downstream.base;
+            demand = Math.min(demand, downstream.requested.get() - own);
+            lag = Math.max(lag, own - downstream.delivered.get());
+        }
+        // Requested but not received yet, or being summarized
+        long pending = inFlight.get() + requested - received.get();
+        return Math.max(0, Math.min(demand, maxInFlight - lag) - pending);
+    }
+
+    // May be called twice when the last summary and the upstream completion race, closing is idempotent
+    private void finish() {
+        Throwable error = upstreamError;
+        if (error == null) {
+            close();
+        } else {
+            closeExceptionally(error);
+        }
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return (error instanceof CompletionException && error.getCause() != null) ? error.getCause() : error;
+    }
+
+    // As SubmissionPublisher's default : the common pool, unless it cannot run tasks in parallel
+    private static Executor deliveryExecutor() {
+        if (ForkJoinPool.getCommonPoolParallelism() > 1) {
+            return ForkJoinPool.commonPool();
+        }
+        return runnable -> new Thread(runnable, "textteaser-processor").start();
+    }
+
+    /**
+     * A subscriber and its subscription, counting the summaries it requested
+     * and received. Summaries submitted before it subscribed are not its own.
+     */
+    private class Downstream implements Flow.Subscriber<DocumentSummary>, Flow.Subscription {
+
+        private final Flow.Subscriber<? super DocumentSummary> subscriber;
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicLong delivered = new AtomicLong();
+        private volatile Flow.Subscription subscription;
+        private volatile long base;
+
+        private Downstream(Flow.Subscriber<? super DocumentSummary> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            base = submitted.get();
+            downstreams.add(this);
+            subscriber.onSubscribe(this);
+        }
+
+        @Override
+        public void request(long n) {
+            if (n > 0) {
+                requested.accumulateAndGet(n, (a, b) -> a + b < 0 ? Long.MAX_VALUE : a + b);
+            }
+            subscription.request(n); // signals the error of a non-positive request
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            downstreams.remove(this);
+            subscription.cancel();
+            drain();
+        }
+
+        @Override
+        public void onNext(DocumentSummary item) {
+            // Counted once handled, so the room it frees is never used while it is still being handled
+            subscriber.onNext(item);
+            delivered.incrementAndGet();
+            drain();
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            downstreams.remove(this);
+            subscriber.onError(error);
+        }
+
+        @Override
+        public void onComplete() {
+            downstreams.remove(this);
+            subscriber.onComplete();
+        }
+    }
+
+}
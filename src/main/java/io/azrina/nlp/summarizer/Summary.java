@@ -0,0 +1,292 @@
+package io.azrina.nlp.summarizer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import javax.json.Json;
+import javax.json.JsonArrayBuilder;
+import javax.json.JsonObject;
+
+import edu.stanford.nlp.ling.CoreAnnotations;
+import edu.stanford.nlp.pipeline.Annotation;
+import edu.stanford.nlp.util.CoreMap;
+
+/**
+ * <h1>Summary</h1> The sentences selected for a document, as positions in
+ * the document rather than copies of their text. Each sentence carries its
+ * character offsets in the original document, its rank, its position among
+ * the document's sentences, its score and the features it was scored on.
+ *
+ * Sentence offsets are found while the document is split, in the cleaned
+ * document (see Parser.clean), and mapped back to the original one. The
+ * cleaned text is kept, so that sentences are rendered exactly as
+ * Summarizer.summarize gives them, without building intermediate strings.
+ **/
+public class Summary {
+
+    private final CharSequence document;
+    private final String text;
+    private final List<Sentence> sentences;
+
+    /**
+     * Summary constructor.
+     *
+     * @param CharSequence document Original document
+     * @param String text Cleaned document, the sentences were split from
+     * @param int[] origins Offset in the original document of each character of the cleaned one,
+     *        or null if cleaning removed nothing
+     * @param List<ScoredSentence> ranked Selected sentences, best first
+     */
+    Summary(CharSequence document, String text, int[] origins, List<ScoredSentence> ranked) {
+        this.document = document;
+        this.text = text;
+        List<Sentence> sentences = new ArrayList<Sentence>(ranked.size());
+        for (ScoredSentence scored : ranked) {
+            sentences.add(new Sentence(scored, sentences.size() + 1, text, origins));
+        }
+        this.sentences = Collections.unmodifiableList(sentences);
+    }
+
+    /**
+     * @return CharSequence Original document, the offsets refer to
+     */
+    public CharSequence getDocument() {
+        return document;
+    }
+
+    /**
+     * @return List<Sentence> Selected sentences, best first
+     */
+    public List<Sentence> getSentences() {
+        return sentences;
+    }
+
+    /**
+     * @return List<Sentence> Selected sentences, in document order
+     */
+    public List<Sentence> getSentencesInDocumentOrder() {
+        List<Sentence> ordered = new ArrayList<Sentence>(sentences);
+        Collections.sort(ordered, Comparator.comparingInt(Sentence::getIndex));
+        return ordered;
+    }
+
+    /**
+     * This method is used to write the sentences, best first, separated by a
+     * delimiter. The delimiter is not written after the last sentence.
+     *
+     * @param Appendable out Destination, e.g. a Writer or a StringBuilder
+     * @param String delimiter Delimiter between sentences
+     * @throws IOException
+     */
+    public void render(Appendable out, String delimiter) throws IOException {
+        render(out, delimiter, sentences);
+    }
+
+    /**
+     * This method is used to write the sentences in document order, separated
+     * by a delimiter.
+     *
+     * @param Appendable out Destination, e.g. a Writer or a StringBuilder
+     * @param String delimiter Delimiter between sentences
+     * @throws IOException
+     */
+    public void renderInDocumentOrder(Appendable out, String delimiter) throws IOException {
+        render(out, delimiter, getSentencesInDocumentOrder());
+    }
+
+    /**
+     * @param String delimiter Delimiter between sentences
+     * @return String Sentences, best first, separated by the delimiter
+     */
+    public String join(String delimiter) {
+        StringBuilder ret = new StringBuilder();
+        try {
+            render(ret, delimiter);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // StringBuilder does not throw
+        }
+        return ret.toString();
+    }
+
+    /**
+     * @return JsonObject Sentences, best first, with their offsets, scores and features
+     */
+    public JsonObject toJson() {
+        JsonArrayBuilder array = Json.createArrayBuilder();
+        for (Sentence sentence : sentences) {
+            ScoredSentence scored = sentence.getScoredSentence();
+            array.add(Json.createObjectBuilder()
+                    .add("rank", sentence.getRank())
+                    .add("index", sentence.getIndex())
+                    .add("begin", sentence.getBegin())
+                    .add("end", sentence.getEnd())
+                    .add("text", sentence.getText().toString())
+                    .add("score", scored.getScore())
+                    .add("features", Json.createObjectBuilder()
+                            .add("title", scored.getTitleFeature())
+                            .add("sbs", scored.getSbsFeature())
+                            .add("dbs", scored.getDbsFeature())
+                            .add("length", scored.getLengthFeature())
+                            .add("position", scored.getPositionFeature())));
+        }
+        return Json.createObjectBuilder().add("sentences", array).build();
+    }
+
+    @Override
+    public String toString() {
+        return join(" ");
+    }
+
+    /**
+     * This method is used to encode the sentences as SummaryCache entries, best
+     * first : for each, its position, offsets in the cleaned document, score
+     * and features, then its text, separated by tabs.
+     *
+     * @return List<String> One entry per sentence
+     */
+    List<String> toEntries() {
+        List<String> entries = new ArrayList<String>(sentences.size());
+        for (Sentence sentence : sentences) {
+            ScoredSentence scored = sentence.scored;
+            entries.add(scored.getIndex() + "\t" + sentence.textBegin + "\t" + sentence.textEnd + "\t"
+                    + scored.getScore() + "\t" + scored.getTitleFeature() + "\t" + scored.getSbsFeature() + "\t"
+                    + scored.getDbsFeature() + "\t" + scored.getLengthFeature() + "\t"
+                    + scored.getPositionFeature() + "\t" + sentence.getText());
+        }
+        return entries;
+    }
+
+    /**
+     * This method is used to rebuild a summary from the entries of toEntries,
+     * without running the parser.
+     *
+     * @param CharSequence document Original document
+     * @param String text Cleaned document (see Parser.clean)
+     * @param int[] origins Offset in the original document of each character of the cleaned one, or null
+     * @param List<String> entries Entries, as given by toEntries for the same document
+     * @return Summary Summary of the document
+     */
+    static Summary fromEntries(CharSequence document, String text, int[] origins, List<String> entries) {
+        List<ScoredSentence> ranked = new ArrayList<ScoredSentence>(entries.size());
+        for (String entry : entries) {
+            String[] fields = entry.split("\t", 10);
+            Annotation sentence = new Annotation(fields[9]);
+            int begin = Integer.parseInt(fields[1]);
+            if (begin >= 0) {
+                sentence.set(CoreAnnotations.CharacterOffsetBeginAnnotation.class, begin);
+                sentence.set(CoreAnnotations.CharacterOffsetEndAnnotation.class, Integer.parseInt(fields[2]));
+            }
+            ranked.add(new ScoredSentence(sentence, Integer.parseInt(fields[0]), Double.parseDouble(fields[4]),
+                    Double.parseDouble(fields[5]), Double.parseDouble(fields[6]), Double.parseDouble(fields[7]),
+                    Double.parseDouble(fields[8]), Double.parseDouble(fields[3])));
+        }
+        return new Summary(document, text, origins, ranked);
+    }
+
+    private void render(Appendable out, String delimiter, List<Sentence> sentences) throws IOException {
+        boolean first = true;
+        for (Sentence sentence : sentences) {
+            if (!first) out.append(delimiter);
+            first = false;
+            if (sentence.textBegin < 0) {
+                out.append(sentence.getText());
+            } else if (out instanceof Writer) {
+                // Writer.append would copy the sentence into a new string first
+                ((Writer) out).write(text, sentence.textBegin, sentence.textEnd - sentence.textBegin);
+            } else {
+                out.append(text, sentence.textBegin, sentence.textEnd);
+            }
+        }
+    }
+
+    /**
+     * <h1>Sentence</h1> A selected sentence : its offsets in the original
+     * document, rank and score with its features.
+     */
+    public static class Sentence {
+
+        private final ScoredSentence scored;
+        private final int rank;
+        private final String text;
+        private final int textBegin;
+        private final int textEnd;
+        private final int begin;
+        private final int end;
+
+        private Sentence(ScoredSentence scored, int rank, String text, int[] origins) {
+            this.scored = scored;
+            this.rank = rank;
+            this.text = text;
+            CoreMap sentence = scored.getSentence();
+            Integer sentence_begin = sentence.get(CoreAnnotations.CharacterOffsetBeginAnnotation.class);
+            Integer sentence_end = sentence.get(CoreAnnotations.CharacterOffsetEndAnnotation.class);
+            if (sentence_begin == null || sentence_end == null) {
+                // No offsets from the text engine : the sentence is rendered from its own text
+                this.textBegin = this.textEnd = this.begin = this.end = -1;
+            } else {
+                this.textBegin = sentence_begin;
+                this.textEnd = sentence_end;
+                this.begin = origins == null ? textBegin : origins[textBegin];
+                this.end = origins == null || textEnd == textBegin ? begin + textEnd - textBegin
+                        : origins[textEnd - 1] + 1;
+            }
+        }
+
+        /**
+         * @return int Rank of the sentence in the summary, from 1 for the best one
+         */
+        public int getRank() {
+            return rank;
+        }
+
+        /**
+         * @return int Position of the sentence among the sentences of the document
+         */
+        public int getIndex() {
+            return scored.getIndex();
+        }
+
+        /**
+         * @return int Offset of the first character of the sentence in the original document, -1 if unknown
+         */
+        public int getBegin() {
+            return begin;
+        }
+
+        /**
+         * @return int Offset after the last character of the sentence in the original document, -1 if unknown
+         */
+        public int getEnd() {
+            return end;
+        }
+
+        public double getScore() {
+            return scored.getScore();
+        }
+
+        /**
+         * @return ScoredSentence The sentence with every feature it was scored on
+         */
+        public ScoredSentence getScoredSentence() {
+            return scored;
+        }
+
+        /**
+         * @return CharSequence Text of the sentence, as given by Summarizer.summarize
+         */
+        public CharSequence getText() {
+            return textBegin < 0 ? scored.getSentence().toString() : text.subSequence(textBegin, textEnd);
+        }
+
+        @Override
+        public String toString() {
+            return getText().toString();
+        }
+    }
+
+}
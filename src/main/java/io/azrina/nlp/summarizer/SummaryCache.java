@@ -0,0 +1,413 @@
+package io.azrina.nlp.summarizer;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * <h1>SummaryCache</h1> A content-addressed cache of summaries. Entries are
+ * keyed by the SHA-256 of the language, the fingerprint of the summarizer
+ * (text engine and corpus statistics, see Parser.getFingerprint), the title,
+ * the document and the number of sentences. The text is hashed as is : line
+ * breaks move sentence boundaries, so documents differing in whitespace only
+ * may have different summaries. Changing the engine or the IDF index of a
+ * language changes its keys, so stale summaries are never served.
+ *
+ * The summary sentences are stored rather than the joined summary, so one
+ * entry serves every delimiter. There are two tiers :
+ * <ul>
+ * <li>an in-memory LRU tier bounded by a number of entries,</li>
+ * <li>an optional on-disk tier, one small file per entry, which survives
+ * restarts. It is bounded by a number of bytes : past it, the oldest files
+ * are deleted.</li>
+ * </ul>
+ * Entries of both tiers expire after the time to live, if one is set, and
+ * expired files are deleted when they are read. The cache is thread-safe;
+ * concurrent misses of the same key may both summarize.
+ **/
+public class SummaryCache {
+
+    private static final int FORMAT_VERSION = 1;
+    private static final long DEFAULT_MAX_DISK_BYTES = 256L * 1024 * 1024;
+
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final Path directory;
+    private final long maxDiskBytes;
+    private final Map<String, Entry> memory;
+    private final AtomicLong diskBytes = new AtomicLong();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong diskHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * In-memory summary cache constructor.
+     *
+     * @param int maxEntries Maximum number of summaries held in memory
+     * @param long ttlMillis Time to live of an entry, in milliseconds. 0 means entries never expire
+     */
+    public SummaryCache(int maxEntries, long ttlMillis) {
+        this(maxEntries, ttlMillis, null);
+    }
+
+    /**
+     * Summary cache constructor, with an on-disk tier.
+     *
+     * @param int maxEntries Maximum number of summaries held in memory
+     * @param long ttlMillis Time to live of an entry, in milliseconds. 0 means entries never expire
+     * @param Path directory Directory of the on-disk tier, created if needed. Null disables the tier
+     */
+    public SummaryCache(int maxEntries, long ttlMillis, Path directory) {
+        this(maxEntries, ttlMillis, directory, DEFAULT_MAX_DISK_BYTES);
+    }
+
+    /**
+     * Summary cache constructor, with an on-disk tier of a given size.
+     *
+     * @param int maxEntries Maximum number of summaries held in memory
+     * @param long ttlMillis Time to live of an entry, in milliseconds. 0 means entries never expire
+     * @param Path directory Directory of the on-disk tier, created if needed. Null disables the tier
+     * @param long maxDiskBytes Maximum size of the entry files of the on-disk tier
+     */
+    public SummaryCache(final int maxEntries, long ttlMillis, Path directory, long maxDiskBytes) {
+        if (maxEntries < 0 || ttlMillis < 0 || maxDiskBytes < 0) {
+            throw new IllegalArgumentException("maxEntries, ttlMillis and maxDiskBytes must not be negative");
+        }
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlMillis;
+        this.directory = directory;
+        this.maxDiskBytes = maxDiskBytes;
+        if (directory != null) {
+            diskBytes.set(diskUsage());
+        }
+        this.memory = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, SummaryCache.Entry> eldest) {
+                if (size() > maxEntries) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * @param String lang Language code
+     * @param String fingerprint Fingerprint of the summarizer, see Parser.getFingerprint
+     * @param String title Text title
+     * @param CharSequence document Text to be summarized
+     * @param int numSentences Number of maximum sentences in the summary
+     * @return String Hexadecimal SHA-256 key of the summary
+     */
+    public static String key(String lang, String fingerprint, String title, CharSequence document,
+                             int numSentences) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e); // every JVM provides SHA-256
+        }
+        digest.update(lang.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        digest.update(fingerprint.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        digest.update(title.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        digest.update(document.toString().getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        digest.update(Integer.toString(numSentences).getBytes(StandardCharsets.UTF_8));
+
+        StringBuilder hex = new StringBuilder(64);
+        for (byte b : digest.digest()) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+
+    /**
+     * This method is used to look a summary up, in memory then on disk. A
+     * disk hit is promoted to the memory tier, an expired file is deleted.
+     *
+     * @param String key Key of the summary
+     * @return List<String> Summary sentences, or null if absent or expired
+     */
+    public List<String> get(String key) {
+        long now = System.currentTimeMillis();
+        synchronized (memory) {
+            Entry entry = memory.get(key);
+            if (entry != null) {
+                if (!entry.isExpired(now)) {
+                    hits.incrementAndGet();
+                    return entry.sentences;
+                }
+                memory.remove(key);
+            }
+        }
+
+        if (directory != null) {
+            Entry entry = read(key);
+            if (entry != null && !entry.isExpired(now)) {
+                diskHits.incrementAndGet();
+                if (maxEntries > 0) {
+                    synchronized (memory) {
+                        memory.put(key, entry);
+                    }
+                }
+                return entry.sentences;
+            }
+            if (entry != null) {
+                delete(file(key));
+            }
+        }
+
+        misses.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * This method is used to store a summary in every tier. Failing to write
+     * the disk tier does not fail the call, the entry is then memory only.
+     *
+     * @param String key Key of the summary
+     * @param List<String> sentences Summary sentences
+     */
+    public void put(String key, List<String> sentences) {
+        Entry entry = new Entry(Collections.unmodifiableList(Arrays.asList(sentences.toArray(new String[0]))),
+                System.currentTimeMillis());
+        if (maxEntries > 0) {
+            synchronized (memory) {
+                memory.put(key, entry);
+            }
+        }
+        if (directory != null) {
+            try {
+                write(key, entry);
+            } catch (IOException e) {
+                // Keep serving from memory
+            }
+            if (diskBytes.get() > maxDiskBytes) {
+                prune();
+            }
+        }
+    }
+
+    /**
+     * This method is used to drop every in-memory entry. The on-disk tier is
+     * left untouched.
+     */
+    public void clear() {
+        synchronized (memory) {
+            memory.clear();
+        }
+    }
+
+    /**
+     * @return Stats Hit, miss and eviction counts since the cache was created
+     */
+    public Stats getStats() {
+        int size;
+        synchronized (memory) {
+            size = memory.size();
+        }
+        return new Stats(hits.get(), diskHits.get(), misses.get(), evictions.get(), size);
+    }
+
+    // Entries are fanned out in sub-directories named after the first two hex digits
+    private Path file(String key) {
+        return directory.resolve(key.substring(0, 2)).resolve(key);
+    }
+
+    private Entry read(String key) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file(key))))) {
+            if (in.readInt() != FORMAT_VERSION) return null;
+            long created = in.readLong();
+            String[] sentences = new String[in.readInt()];
+            for (int i = 0; i < sentences.length; i++) {
+                byte[] bytes = new byte[in.readInt()];
+                in.readFully(bytes);
+                sentences[i] = new String(bytes, StandardCharsets.UTF_8);
+            }
+            return new Entry(Collections.unmodifiableList(Arrays.asList(sentences)), created);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            return null; // unreadable or truncated entry : treated as a miss and overwritten
+        }
+    }
+
+    // Written to a temporary file first, so readers never see a partial entry
+    private void write(String key, Entry entry) throws IOException {
+        Path target = file(key);
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), key, ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(FORMAT_VERSION);
+                out.writeLong(entry.created);
+                out.writeInt(entry.sentences.size());
+                for (String sentence : entry.sentences) {
+                    byte[] bytes = sentence.getBytes(StandardCharsets.UTF_8);
+                    out.writeInt(bytes.length);
+                    out.write(bytes);
+                }
+            }
+            long size = Files.size(temp);
+            long replaced = Files.exists(target) ? Files.size(target) : 0L;
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            diskBytes.addAndGet(size - replaced);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private void delete(Path file) {
+        try {
+            long size = Files.size(file);
+            if (Files.deleteIfExists(file)) {
+                diskBytes.addAndGet(-size);
+            }
+        } catch (IOException e) {
+            // Already gone, or deleted by another cache on the same directory
+        }
+    }
+
+    // Deletes the oldest entry files until the tier is back to three quarters of its size,
+    // leaving room for the next writes before pruning again
+    private synchronized void prune() {
+        if (diskBytes.get() <= maxDiskBytes) return;
+        List<Path> files = new ArrayList<Path>();
+        List<Long> modified = new ArrayList<Long>();
+        try (Stream<Path> paths = Files.walk(directory, 2)) {
+            paths.filter(path -> !path.toString().endsWith(".tmp")).forEach(path -> {
+                try {
+                    BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                    if (attributes.isRegularFile()) {
+                        files.add(path);
+                        modified.add(attributes.lastModifiedTime().toMillis());
+                    }
+                } catch (IOException e) {
+                    // Deleted meanwhile
+                }
+            });
+        } catch (IOException e) {
+            return;
+        }
+
+        Integer[] order = new Integer[files.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Long.compare(modified.get(a), modified.get(b)));
+        long target = maxDiskBytes / 4 * 3;
+        for (int i = 0; i < order.length && diskBytes.get() > target; i++) {
+            delete(files.get(order[i]));
+        }
+    }
+
+    // Size of the entry files already in the directory, e.g. after a restart
+    private long diskUsage() {
+        if (!Files.isDirectory(directory)) return 0L;
+        try (Stream<Path> paths = Files.walk(directory, 2)) {
+            return paths.filter(Files::isRegularFile).mapToLong(path -> {
+                try {
+                    return Files.size(path);
+                } catch (IOException e) {
+                    return 0L;
+                }
+            }).sum();
+        } catch (IOException e) {
+            return 0L;
+        }
+    }
+
+    private class Entry {
+
+        private final List<String> sentences;
+        private final long created;
+
+        private Entry(List<String> sentences, long created) {
+            this.sentences = sentences;
+            this.created = created;
+        }
+
+        private boolean isExpired(long now) {
+            return ttlMillis > 0 && now - created > ttlMillis;
+        }
+    }
+
+    /**
+     * Hit, miss and eviction counts of a cache.
+     */
+    public static class Stats {
+
+        private final long hits;
+        private final long diskHits;
+        private final long misses;
+        private final long evictions;
+        private final int size;
+
+        Stats(long hits, long diskHits, long misses, long evictions, int size) {
+            this.hits = hits;
+            this.diskHits = diskHits;
+            this.misses = misses;
+            this.evictions = evictions;
+            this.size = size;
+        }
+
+        public long getHits() {
+            return hits;
+        }
+
+        public long getDiskHits() {
+            return diskHits;
+        }
+
+        public long getMisses() {
+            return misses;
+        }
+
+        public long getEvictions() {
+            return evictions;
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        /**
+         * @return double Share of lookups served from either tier
+         */
+        public double getHitRate() {
+            long lookups = hits + diskHits + misses;
+            return lookups == 0 ? 0.0 : (hits + diskHits) / (double) lookups;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d hits, %d disk hits, %d misses (%.1f%% hit rate), %d evictions, %d entries",
+                    hits, diskHits, misses, getHitRate() * 100, evictions, size);
+        }
+    }
+
+}
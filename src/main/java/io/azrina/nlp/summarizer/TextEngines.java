@@ -0,0 +1,73 @@
+package io.azrina.nlp.summarizer;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * <h1>TextEngines</h1> Selects, per language, the engine used by Parser to
+ * split sentences and tokenize words : 'corenlp' (Stanford Core NLP, the
+ * default) or 'native' (NativeTextEngine, available for en, es, fr and ru, and
+ * ChineseTextEngine for zh-cn).
+ *
+ * The engine of a language is, in order of precedence, the one selected with
+ * select(), the 'textteaser.engine.&lt;lang&gt;' system property, or the
+ * 'textteaser.engine' system property. A language without native support
+ * always uses Core NLP.
+ **/
+public final class TextEngines {
+
+    public static final String CORENLP = "corenlp";
+    public static final String NATIVE = "native";
+
+    private static final Set<String> NATIVE_LANGUAGES = new HashSet<String>(Arrays.asList("en", "es", "fr", "ru", "zh-cn"));
+    private static final ConcurrentMap<String, String> SELECTED = new ConcurrentHashMap<String, String>();
+
+    private TextEngines() {
+    }
+
+    /**
+     * This method is used to select the engine of a language for the Parsers
+     * created afterwards.
+     *
+     * @param String lang Language code
+     * @param String engine Either 'corenlp' or 'native'
+     */
+    public static void select(String lang, String engine) {
+        SELECTED.put(lang, check(lang, engine));
+    }
+
+    /**
+     * @param String lang Language code
+     * @return String Engine selected for the language
+     */
+    public static String selected(String lang) {
+        String engine = SELECTED.get(lang);
+        if (engine == null) {
+            engine = System.getProperty("textteaser.engine." + lang, System.getProperty("textteaser.engine", CORENLP));
+        }
+        return NATIVE.equals(engine) && !NATIVE_LANGUAGES.contains(lang) ? CORENLP : engine;
+    }
+
+    /**
+     * @param String lang Language code
+     * @return boolean True if the native engine supports the language
+     */
+    public static boolean supportsNative(String lang) {
+        return NATIVE_LANGUAGES.contains(lang);
+    }
+
+    static String check(String lang, String engine) {
+        if (CORENLP.equals(engine)) return engine;
+        if (NATIVE.equals(engine)) {
+            if (!supportsNative(lang)) {
+                throw new IllegalArgumentException("The native engine does not support language " + lang);
+            }
+            return engine;
+        }
+        throw new IllegalArgumentException("Unknown engine " + engine + ", expected corenlp or native");
+    }
+
+}
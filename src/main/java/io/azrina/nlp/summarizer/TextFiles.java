@@ -0,0 +1,97 @@
+package io.azrina.nlp.summarizer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * <h1>TextFiles</h1> Reads text files in linear time, with an explicit
+ * charset. Line breaks are kept, a leading byte order mark is dropped, and
+ * malformed input is reported as an IOException instead of being replaced.
+ *
+ * Files of at least MAP_THRESHOLD bytes are memory-mapped and decoded
+ * straight into a single char buffer sized from the charset, so reading a
+ * multi-megabyte file costs one pass and one buffer. The returned
+ * CharSequence can be handed to Parser.getSentences as is.
+ **/
+public final class TextFiles {
+
+    // Smaller files are cheaper to read than to map
+    static final int MAP_THRESHOLD = 256 * 1024;
+
+    private TextFiles() {
+    }
+
+    /**
+     * @param Path path File to read
+     * @return CharSequence Content of the file, decoded as UTF-8
+     * @throws IOException if the file cannot be read or is not valid UTF-8
+     */
+    public static CharSequence read(Path path) throws IOException {
+        return read(path, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @param Path path File to read
+     * @param Charset charset Encoding of the file
+     * @return CharSequence Content of the file
+     * @throws IOException if the file cannot be read or is malformed in the given charset
+     */
+    public static CharSequence read(Path path, Charset charset) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("File too large to summarize at once, use the streaming mode : " + path);
+            }
+
+            ByteBuffer bytes;
+            if (size >= MAP_THRESHOLD) {
+                bytes = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            } else {
+                bytes = ByteBuffer.allocate((int) size);
+                while (bytes.hasRemaining() && channel.read(bytes) >= 0) {
+                    // read until full or end of file
+                }
+                bytes.flip();
+            }
+            return decode(bytes, charset);
+        }
+    }
+
+    /**
+     * This method is used to decode bytes in a single pass, into a buffer large
+     * enough for the worst case of the charset (the exact size for UTF-8 and
+     * single byte charsets).
+     */
+    static CharBuffer decode(ByteBuffer bytes, Charset charset) throws IOException {
+        CharsetDecoder decoder = charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPORT)
+                .onUnmappableCharacter(CodingErrorAction.REPORT);
+        CharBuffer chars = CharBuffer.allocate((int) Math.min(Integer.MAX_VALUE,
+                (long) Math.ceil(bytes.remaining() * (double) decoder.maxCharsPerByte())));
+
+        CoderResult result = decoder.decode(bytes, chars, true);
+        if (result.isUnderflow()) {
+            result = decoder.flush(chars);
+        }
+        if (!result.isUnderflow()) {
+            result.throwException();
+        }
+        chars.flip();
+
+        // Drop the byte order mark
+        if (chars.hasRemaining() && chars.get(chars.position()) == '\uFEFF') {
+            chars.position(chars.position() + 1);
+        }
+        return chars.slice();
+    }
+
+}
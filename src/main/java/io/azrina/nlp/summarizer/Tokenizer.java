@@ -0,0 +1,17 @@
+package io.azrina.nlp.summarizer;
+
+import java.util.List;
+
+/**
+ * <h1>Tokenizer</h1> Splits a sentence into lowercased words. Stopwords are
+ * filtered by the Parser afterwards.
+ **/
+public interface Tokenizer {
+
+    /**
+     * @param String sentence Sentence to be tokenized, punctuation already removed
+     * @return List<String> Lowercased words of the sentence, in order
+     */
+    List<String> tokenize(String sentence);
+
+}
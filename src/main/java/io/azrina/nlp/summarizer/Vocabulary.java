@@ -0,0 +1,219 @@
+package io.azrina.nlp.summarizer;
+
+import java.util.Arrays;
+import java.util.List;
+
+import edu.stanford.nlp.stats.Counter;
+
+/**
+ * <h1>Vocabulary</h1> A per-document vocabulary interning terms to dense int
+ * ids, along with the frequency of each term. Ids are assigned in order of
+ * first occurence, and frequencies are kept in a primitive array, so the
+ * scoring path works on int[] sentences without hashing or boxing.
+ *
+ * Not thread-safe : a vocabulary belongs to the document being summarized.
+ **/
+public class Vocabulary {
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    // Open addressing table of term ids, -1 marks an empty slot
+    private int[] table;
+    private String[] terms;
+    private int[] counts;
+    private int size;
+    private long totalCount;
+
+    public Vocabulary() {
+        this.table = new int[INITIAL_CAPACITY * 2];
+        Arrays.fill(table, -1);
+        this.terms = new String[INITIAL_CAPACITY];
+        this.counts = new int[INITIAL_CAPACITY];
+    }
+
+    /**
+     * This method is used to build a vocabulary from existing term
+     * frequencies.
+     *
+     * @param Counter<String> termFrequencies Terms and its frequencies
+     * @return Vocabulary Vocabulary holding the same terms and counts
+     */
+    public static Vocabulary of(Counter<String> termFrequencies) {
+        Vocabulary vocabulary = new Vocabulary();
+        for (String term : termFrequencies.keySet()) {
+            vocabulary.increment(vocabulary.intern(term), (int) termFrequencies.getCount(term));
+        }
+        return vocabulary;
+    }
+
+    /**
+     * @param String term Term to be interned
+     * @return int Id of the term, assigned on first use
+     */
+    public int intern(String term) {
+        int mask = table.length - 1;
+        int slot = hash(term) & mask;
+        int id;
+        while ((id = table[slot]) >= 0) {
+            if (terms[id].equals(term)) return id;
+            slot = (slot + 1) & mask;
+        }
+
+        id = size++;
+        if (id == terms.length) {
+            terms = Arrays.copyOf(terms, id * 2);
+            counts = Arrays.copyOf(counts, id * 2);
+        }
+        terms[id] = term;
+        table[slot] = id;
+        if (size * 2 > table.length) rehash();
+        return id;
+    }
+
+    /**
+     * @param List<String> words Words to be interned
+     * @return int[] Ids of the words, in the same order
+     */
+    public int[] intern(List<String> words) {
+        int[] ids = new int[words.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = intern(words.get(i));
+        }
+        return ids;
+    }
+
+    /**
+     * @param String term Term to be searched
+     * @return int Id of the term, or -1 if it is not in the vocabulary
+     */
+    public int indexOf(String term) {
+        int mask = table.length - 1;
+        int slot = hash(term) & mask;
+        int id;
+        while ((id = table[slot]) >= 0) {
+            if (terms[id].equals(term)) return id;
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    public String term(int id) {
+        return terms[id];
+    }
+
+    public int count(int id) {
+        return counts[id];
+    }
+
+    /**
+     * @return int Number of interned terms, including those with no count
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return long Sum of the counts of every term
+     */
+    public long totalCount() {
+        return totalCount;
+    }
+
+    public void increment(int id) {
+        counts[id]++;
+        totalCount++;
+    }
+
+    public void increment(int id, int count) {
+        counts[id] += count;
+        totalCount += count;
+    }
+
+    /**
+     * This method is used to drop the count of a term, e.g. a stopword. The
+     * term keeps its id.
+     *
+     * @param String term Term to be removed
+     */
+    public void remove(String term) {
+        int id = indexOf(term);
+        if (id >= 0) {
+            totalCount -= counts[id];
+            counts[id] = 0;
+        }
+    }
+
+    /**
+     * This method is used to get the k most frequent terms. Terms with the
+     * same count are ranked in order of first occurence.
+     *
+     * @param int k Number of terms
+     * @return int[] Ids of the most frequent terms, most frequent first
+     */
+    public int[] topTerms(int k) {
+        // Insertion into a small sorted array, k is tiny compared to the vocabulary
+        int[] top = new int[Math.min(k, size)];
+        if (top.length == 0) return top;
+        int n = 0;
+        for (int id = 0; id < size; id++) {
+            int count = counts[id];
+            if (count <= 0 || (n == top.length && count <= counts[top[n - 1]])) continue;
+            int i = (n == top.length) ? n - 1 : n++;
+            while (i > 0 && counts[top[i - 1]] < count) {
+                top[i] = top[i - 1];
+                i--;
+            }
+            top[i] = id;
+        }
+        return n == top.length ? top : Arrays.copyOf(top, n);
+    }
+
+    /**
+     * This method is used to get the k terms of highest weighted frequency,
+     * e.g. TF-IDF. Terms with the same weighted frequency are ranked in order
+     * of first occurence.
+     *
+     * @param int k Number of terms
+     * @param double[] weights Weight of each term id
+     * @return int[] Ids of the top terms, highest first
+     */
+    public int[] topTerms(int k, double[] weights) {
+        int[] top = new int[Math.min(k, size)];
+        double[] scores = new double[top.length];
+        if (top.length == 0) return top;
+        int n = 0;
+        for (int id = 0; id < size; id++) {
+            double score = counts[id] * weights[id];
+            if (counts[id] <= 0 || (n == top.length && score <= scores[n - 1])) continue;
+            int i = (n == top.length) ? n - 1 : n++;
+            while (i > 0 && scores[i - 1] < score) {
+                top[i] = top[i - 1];
+                scores[i] = scores[i - 1];
+                i--;
+            }
+            top[i] = id;
+            scores[i] = score;
+        }
+        return n == top.length ? top : Arrays.copyOf(top, n);
+    }
+
+    private void rehash() {
+        int[] rehashed = new int[table.length * 2];
+        Arrays.fill(rehashed, -1);
+        int mask = rehashed.length - 1;
+        for (int id = 0; id < size; id++) {
+            int slot = hash(terms[id]) & mask;
+            while (rehashed[slot] >= 0) {
+                slot = (slot + 1) & mask;
+            }
+            rehashed[slot] = id;
+        }
+        table = rehashed;
+    }
+
+    private static int hash(String term) {
+        int h = term.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+}
@@ -0,0 +1,179 @@
+package io.azrina.nlp.summarizer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Unit test for AsyncSummarizer and SummarizingProcessor.
+ */
+public class AsyncSummarizerTest
+    extends TestCase
+{
+    private static final String TEXT = "The Zika virus spreads fast across Brazil. Health officials met in Geneva on "
+            + "Monday. The virus is carried by mosquitoes. A vaccine is not expected before 2018.";
+
+    private final AtomicInteger delivered = new AtomicInteger();
+
+    public AsyncSummarizerTest( String testName )
+    {
+        super( testName );
+    }
+
+    public static Test suite()
+    {
+        return new TestSuite( AsyncSummarizerTest.class );
+    }
+
+    public void testFuture() throws Exception
+    {
+        try ( AsyncSummarizer summarizer = new AsyncSummarizer( "en" ) )
+        {
+            String expected = new Summarizer( "en" ).summarize( "Zika", TEXT, 2, " " );
+            assertEquals( expected, summarizer.summarize( "Zika", TEXT, 2, " " ).get( 1, TimeUnit.MINUTES ) );
+            assertEquals( 2, summarizer.getSummarySentences( new Document( "1", "Zika", TEXT, "en" ), 2 )
+                    .get( 1, TimeUnit.MINUTES ).size() );
+        }
+    }
+
+    public void testProcessorBackpressure() throws Exception
+    {
+        try ( AsyncSummarizer summarizer = new AsyncSummarizer( "en" ) )
+        {
+            DocumentPublisher documents = new DocumentPublisher( 40 );
+            SummarizingProcessor processor = summarizer.processor( 2, " ", 2 );
+            Collector collector = new Collector();
+            processor.subscribe( collector );
+            documents.subscribe( processor );
+
+            // Without demand, nothing is pulled; then only what is requested
+            assertTrue( collector.subscribed.await( 1, TimeUnit.MINUTES ) );
+            assertEquals( 0, documents.emitted.get() );
+            collector.subscription.request( 3 );
+            assertTrue( collector.first.await( 1, TimeUnit.MINUTES ) );
+            assertEquals( 3, documents.emitted.get() );
+            assertTrue( documents.maxPending.get() <= 2 );
+
+            collector.subscription.request( Long.MAX_VALUE );
+            assertTrue( collector.done.await( 1, TimeUnit.MINUTES ) );
+            List<DocumentSummary> summaries = collector.getSummaries();
+            assertEquals( 40, summaries.size() );
+            for ( DocumentSummary summary : summaries )
+            {
+                assertTrue( summary.isSuccess() );
+            }
+            // The processor never had more than maxInFlight documents summarized or waiting
+            assertTrue( documents.maxPending.get() <= 2 );
+        }
+    }
+
+    public void testFailedDocument() throws Exception
+    {
+        try ( AsyncSummarizer summarizer = new AsyncSummarizer( "en" ) )
+        {
+            Document failed = Document.failed( "7", new IOException( "unreadable" ) );
+            try
+            {
+                summarizer.summarize( failed, 2, " " ).get( 1, TimeUnit.MINUTES );
+                fail( "A failed document was summarized" );
+            }
+            catch ( ExecutionException e )
+            {
+                assertEquals( "unreadable", e.getCause().getMessage() );
+            }
+        }
+    }
+
+    /**
+     * Emits its documents only when they are requested, and records how many
+     * were emitted and not yet summarized at most.
+     */
+    private class DocumentPublisher implements Flow.Publisher<Document>
+    {
+        private final int count;
+        private final AtomicInteger emitted = new AtomicInteger();
+        private final AtomicInteger maxPending = new AtomicInteger();
+
+        private DocumentPublisher( int count )
+        {
+            this.count = count;
+        }
+
+        @Override
+        public void subscribe( final Flow.Subscriber<? super Document> subscriber )
+        {
+            subscriber.onSubscribe( new Flow.Subscription()
+            {
+                @Override
+                public synchronized void request( long n )
+                {
+                    for ( long i = 0; i < n && emitted.get() < count; i++ )
+                    {
+                        int id = emitted.incrementAndGet();
+                        maxPending.accumulateAndGet( id - delivered.get(), Math::max );
+                        subscriber.onNext( new Document( String.valueOf( id ), "Zika", TEXT, "en" ) );
+                        if ( id == count )
+                        {
+                            subscriber.onComplete();
+                        }
+                    }
+                }
+
+                @Override
+                public void cancel()
+                {
+                }
+            } );
+        }
+    }
+
+    private class Collector implements Flow.Subscriber<DocumentSummary>
+    {
+        private final List<DocumentSummary> summaries = new ArrayList<DocumentSummary>();
+        private final CountDownLatch subscribed = new CountDownLatch( 1 );
+        private final CountDownLatch first = new CountDownLatch( 3 );
+        private final CountDownLatch done = new CountDownLatch( 1 );
+        private volatile Flow.Subscription subscription;
+
+        @Override
+        public void onSubscribe( Flow.Subscription subscription )
+        {
+            this.subscription = subscription;
+            subscribed.countDown();
+        }
+
+        @Override
+        public synchronized void onNext( DocumentSummary item )
+        {
+            summaries.add( item );
+            delivered.incrementAndGet();
+            first.countDown();
+        }
+
+        private synchronized List<DocumentSummary> getSummaries()
+        {
+            return new ArrayList<DocumentSummary>( summaries );
+        }
+
+        @Override
+        public void onError( Throwable throwable )
+        {
+            done.countDown();
+        }
+
+        @Override
+        public void onComplete()
+        {
+            done.countDown();
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package io.azrina.nlp.summarizer;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.json.Json;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Unit test for the BatchSummarizer and its DocumentSource.
+ */
+public class BatchSummarizerTest
+    extends TestCase
+{
+    private Path directory;
+
+    public BatchSummarizerTest( String testName )
+    {
+        super( testName );
+    }
+
+    public static Test suite()
+    {
+        return new TestSuite( BatchSummarizerTest.class );
+    }
+
+    @Override
+    protected void setUp() throws IOException
+    {
+        directory = Files.createTempDirectory( "batch" );
+    }
+
+    @Override
+    protected void tearDown() throws IOException
+    {
+        for ( Path file : Files.newDirectoryStream( directory ) )
+        {
+            Files.delete( file );
+        }
+        Files.delete( directory );
+    }
+
+    public void testJsonLinesInInputOrder() throws Exception
+    {
+        String text = Samples.load( "en" );
+        Path input = directory.resolve( "batch.jsonl" );
+        Files.write( input, Arrays.asList(
+                Json.createObjectBuilder().add( "id", "a" ).add( "title", "Zika" ).add( "text", text ).build().toString(),
+                "{\"text\": \"not closed\"",
+                "",
+                "[1, 2]",
+                "{\"id\": 7, \"text\": \"The virus spreads. Mosquitoes carry it.\"}" ), StandardCharsets.UTF_8 );
+
+        final List<String> results = new ArrayList<String>();
+        BatchSummarizer.Stats stats;
+        try ( DocumentSource documents = DocumentSource.open( input.toString() );
+              BatchSummarizer batch = new BatchSummarizer( "en", 2 ) )
+        {
+            stats = batch.run( documents, 3, "\n", true, new BatchSummarizer.BatchListener()
+            {
+                @Override
+                public void onSummary( Document document, String summary )
+                {
+                    results.add( document.getId() + "=" + summary );
+                }
+
+                @Override
+                public void onError( Document document, Throwable error )
+                {
+                    results.add( document.getId() + "!" );
+                }
+            } );
+        }
+
+        // Malformed lines are reported with their line number, and the batch goes on
+        assertEquals( 4, stats.getDocuments() );
+        assertEquals( 2, stats.getErrors() );
+        assertEquals( "a=" + new Summarizer( "en" ).summarize( "Zika", text, 3, "\n" ), results.get( 0 ) );
+        assertEquals( "2!", results.get( 1 ) );
+        assertEquals( "4!", results.get( 2 ) );
+        assertTrue( results.get( 3 ).startsWith( "7=" ) );
+    }
+
+    public void testDirectoryAndGlob() throws IOException
+    {
+        Files.write( directory.resolve( "b.txt" ), "Second.".getBytes( StandardCharsets.UTF_8 ) );
+        Files.write( directory.resolve( "a.txt" ), "First.".getBytes( StandardCharsets.UTF_8 ) );
+        Files.write( directory.resolve( "c.md" ), "Third.".getBytes( StandardCharsets.UTF_8 ) );
+
+        assertEquals( Arrays.asList( "First.", "Second.", "Third." ), texts( directory.toString() ) );
+        assertEquals( Arrays.asList( "First.", "Second." ), texts( directory + "/*.txt" ) );
+    }
+
+    private static List<String> texts( String spec ) throws IOException
+    {
+        List<String> texts = new ArrayList<String>();
+        try ( DocumentSource documents = DocumentSource.open( spec ) )
+        {
+            while ( documents.hasNext() )
+            {
+                texts.add( documents.next().getText() );
+            }
+        }
+        return texts;
+    }
+}
@@ -0,0 +1,169 @@
+package io.azrina.nlp.summarizer;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import edu.stanford.nlp.util.CoreMap;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Unit test for the ChineseTextEngine, its dictionary and trie.
+ */
+public class ChineseTextEngineTest
+    extends TestCase
+{
+    public ChineseTextEngineTest( String testName )
+    {
+        super( testName );
+    }
+
+    public static Test suite()
+    {
+        return new TestSuite( ChineseTextEngineTest.class );
+    }
+
+    public void testTrie()
+    {
+        String[] keys = { "a", "ab", "abc", "b", "中", "中国", "中国人", "国" };
+        DoubleArrayTrie trie = new DoubleArrayTrie( keys );
+        for ( int i = 0; i < keys.length; i++ )
+        {
+            assertEquals( i, trie.get( keys[i] ) );
+        }
+        assertEquals( -1, trie.get( "" ) );
+        assertEquals( -1, trie.get( "abcd" ) );
+        assertEquals( -1, trie.get( "国人" ) );
+
+        int[] lengths = new int[4];
+        int[] indices = new int[4];
+        assertEquals( 3, trie.prefixes( "在中国人民", 1, 5, lengths, indices ) );
+        assertEquals( 3, lengths[2] );
+        assertEquals( 6, indices[2] );
+        assertEquals( 2, trie.prefixes( "在中国人民", 1, 3, lengths, indices ) );
+    }
+
+    public void testUnsortedKeys()
+    {
+        try
+        {
+            new DoubleArrayTrie( new String[] { "b", "a" } );
+            fail( "Unsorted keys are accepted" );
+        }
+        catch ( IllegalArgumentException e )
+        {
+            // expected
+        }
+    }
+
+    public void testSegmentation()
+    {
+        Map<String, Double> frequencies = new LinkedHashMap<String, Double>();
+        frequencies.put( "的", 1000.0 );
+        frequencies.put( "产生", 100.0 );
+        frequencies.put( "生长", 50.0 );
+        frequencies.put( "长期", 100.0 );
+        frequencies.put( "影响", 100.0 );
+        ChineseTextEngine engine = new ChineseTextEngine( new ChineseDictionary( frequencies ) );
+
+        assertEquals( Arrays.asList( "产生", "长期", "的", "影响" ), engine.tokenize( "产生长期的影响" ) );
+        // Unknown characters are words of their own, latin words and numbers are kept whole
+        assertEquals( Arrays.asList( "将", "产生", "0.06", "％", "的", "gdp", "。" ),
+                engine.tokenize( "将产生 0.06％的GDP。" ) );
+    }
+
+    public void testPrebuiltDictionary() throws IOException
+    {
+        Map<String, Double> frequencies = new LinkedHashMap<String, Double>();
+        frequencies.put( "的", 1000.0 );
+        frequencies.put( "产生", 100.0 );
+        frequencies.put( "生长", 50.0 );
+        frequencies.put( "长期", 100.0 );
+        frequencies.put( "影响", 100.0 );
+        ChineseDictionary dictionary = new ChineseDictionary( frequencies );
+
+        Path file = Files.createTempFile( "zh-cn", ".trie" );
+        try
+        {
+            dictionary.write( file );
+            ChineseDictionary prebuilt = ChineseDictionary.open( file );
+            assertEquals( dictionary.size(), prebuilt.size() );
+            assertTrue( prebuilt.contains( "长期" ) );
+            assertFalse( prebuilt.contains( "长" ) );
+            assertEquals( new ChineseTextEngine( dictionary ).tokenize( "将产生长期的影响。生长" ),
+                    new ChineseTextEngine( prebuilt ).tokenize( "将产生长期的影响。生长" ) );
+        }
+        finally
+        {
+            Files.delete( file );
+        }
+    }
+
+    public void testCachedDictionary() throws IOException
+    {
+        Path directory = Files.createTempDirectory( "textteaser" );
+        String previous = System.setProperty( "textteaser.dictionary.cache", directory.toString() );
+        try
+        {
+            ChineseDictionary built = ChineseDictionary.load();
+            List<Path> files = new ArrayList<Path>();
+            try ( DirectoryStream<Path> stream = Files.newDirectoryStream( directory ) )
+            {
+                for ( Path file : stream )
+                {
+                    files.add( file );
+                }
+            }
+            assertEquals( 1, files.size() );
+            assertTrue( files.get( 0 ).getFileName().toString().matches( "zh-cn-[0-9a-f]+\\.trie" ) );
+
+            ChineseDictionary cached = ChineseDictionary.load();
+            assertEquals( built.size(), cached.size() );
+            assertEquals( new ChineseTextEngine( built ).tokenize( "将产生长期的影响。" ),
+                    new ChineseTextEngine( cached ).tokenize( "将产生长期的影响。" ) );
+
+            // A truncated file is built and written again
+            Files.write( files.get( 0 ), new byte[] { 0, 0, 0 } );
+            assertEquals( built.size(), ChineseDictionary.load().size() );
+            assertTrue( Files.size( files.get( 0 ) ) > 3 );
+        }
+        finally
+        {
+            if ( previous == null )
+            {
+                System.clearProperty( "textteaser.dictionary.cache" );
+            }
+            else
+            {
+                System.setProperty( "textteaser.dictionary.cache", previous );
+            }
+            try ( DirectoryStream<Path> stream = Files.newDirectoryStream( directory ) )
+            {
+                for ( Path file : stream )
+                {
+                    Files.delete( file );
+                }
+            }
+            Files.delete( directory );
+        }
+    }
+
+    public void testSentences()
+    {
+        ChineseTextEngine engine = new ChineseTextEngine( new ChineseDictionary( new LinkedHashMap<String, Double>() ) );
+        List<CoreMap> sentences = engine.split( "他说：“走吧！”我们走了。价格是1.5元。\n\n标题\n\n最后一句" );
+        assertEquals( 5, sentences.size() );
+        assertEquals( "他说：“走吧！”", sentences.get( 0 ).toString() );
+        assertEquals( "价格是1.5元。", sentences.get( 2 ).toString() );
+        assertEquals( "标题", sentences.get( 3 ).toString() );
+    }
+}
@@ -0,0 +1,52 @@
+package io.azrina.nlp.summarizer;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Unit test for the deadline-aware Summarizer.summarize.
+ */
+public class DeadlineSummaryTest
+    extends TestCase
+{
+    public DeadlineSummaryTest( String testName )
+    {
+        super( testName );
+    }
+
+    public static Test suite()
+    {
+        return new TestSuite( DeadlineSummaryTest.class );
+    }
+
+    public void testDegradationOrder()
+    {
+        assertNull( Degradation.forRemaining( 60, 100 ) );
+        assertEquals( Degradation.SENTENCE_CAP, Degradation.forRemaining( 40, 100 ) );
+        assertEquals( Degradation.NO_DBS, Degradation.forRemaining( 20, 100 ) );
+        assertEquals( Degradation.POSITION_LENGTH_ONLY, Degradation.forRemaining( -5, 100 ) );
+        assertEquals( 3, new DeadlineSummary( Collections.<String>emptyList(),
+                Degradation.POSITION_LENGTH_ONLY, 0 ).getDegradations().size() );
+    }
+
+    public void testBudget() throws IOException
+    {
+        Summarizer summarizer = new Summarizer( "en" );
+        String text = Samples.load( "en" );
+
+        DeadlineSummary full = summarizer.summarize( "", text, 3, 1, TimeUnit.MINUTES );
+        assertFalse( full.isDegraded() );
+        assertEquals( summarizer.getSummarySentences( "", text, 3 ), full.getSentences() );
+
+        // An exhausted budget still gives a summary, from position and length
+        DeadlineSummary late = summarizer.summarize( "", text, 3, 0, TimeUnit.MILLISECONDS );
+        assertTrue( late.getDegradations().contains( Degradation.POSITION_LENGTH_ONLY ) );
+        assertEquals( 3, late.getSentences().size() );
+    }
+
+}
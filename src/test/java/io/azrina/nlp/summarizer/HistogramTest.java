@@ -0,0 +1,75 @@
+package io.azrina.nlp.summarizer;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Unit test for Histogram.
+ */
+public class HistogramTest
+    extends TestCase
+{
+    public HistogramTest( String testName )
+    {
+        super( testName );
+    }
+
+    public static Test suite()
+    {
+        return new TestSuite( HistogramTest.class );
+    }
+
+    public void testBuckets()
+    {
+        // Small values have a bucket each, and every value falls in its bucket
+        for ( long value = 0; value < 1L << 20; value = value * 3 / 2 + 1 )
+        {
+            int index = Histogram.index( value );
+            assertTrue( Long.toString( value ), Histogram.lowerBound( index ) <= value );
+            assertTrue( Long.toString( value ), value < Histogram.lowerBound( index + 1 ) );
+        }
+        assertEquals( 5, Histogram.index( 5 ) );
+    }
+
+    public void testPercentiles()
+    {
+        Histogram histogram = new Histogram();
+        assertEquals( 0, histogram.getPercentile( 50 ) );
+        for ( long value = 1; value <= 1000; value++ )
+        {
+            histogram.record( value * 1000 );
+        }
+
+        assertEquals( 1000, histogram.getCount() );
+        assertEquals( 1000000, histogram.getMax() );
+        assertEquals( 500500.0, histogram.getMean(), 1e-9 );
+        // Buckets are 1/8 of a power of two wide : percentiles are within about 6%
+        assertEquals( 500000.0, histogram.getPercentile( 50 ), 500000 * 0.07 );
+        assertEquals( 990000.0, histogram.getPercentile( 99 ), 990000 * 0.07 );
+        assertTrue( histogram.getPercentile( 100 ) <= histogram.getMax() );
+    }
+
+    public void testNegativeAndHugeValues()
+    {
+        Histogram histogram = new Histogram();
+        histogram.record( -5 );
+        histogram.record( Long.MAX_VALUE );
+        assertEquals( 2, histogram.getCount() );
+        assertEquals( 0, histogram.getPercentile( 50 ) );
+        assertEquals( Long.MAX_VALUE, histogram.getMax() );
+        // Values past the last power of two share its last bucket
+        assertTrue( histogram.getPercentile( 100 ) >= 1L << 40 );
+    }
+
+    public void testReset()
+    {
+        Histogram histogram = new Histogram();
+        histogram.record( 42 );
+        histogram.reset();
+        assertEquals( 0, histogram.getCount() );
+        assertEquals( 0, histogram.getSum() );
+        assertEquals( 0, histogram.getMax() );
+        assertEquals( 0, histogram.getPercentile( 99 ) );
+    }
+}
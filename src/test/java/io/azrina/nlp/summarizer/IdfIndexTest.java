@@ -0,0 +1,63 @@
+package io.azrina.nlp.summarizer;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Unit test for IdfIndex.
+ */
+public class IdfIndexTest
+    extends TestCase
+{
+    public IdfIndexTest( String testName )
+    {
+        super( testName );
+    }
+
+    public static Test suite()
+    {
+        return new TestSuite( IdfIndexTest.class );
+    }
+
+    public void testBuildAndMap() throws IOException
+    {
+        Parser parser = new Parser( "en", TextEngines.NATIVE );
+        IdfIndex.Builder builder = new IdfIndex.Builder();
+        builder.add( parser.analyze( "", "Zika spreads fast. The virus spreads in Brazil." ) );
+        builder.add( parser.analyze( "", "The virus is carried by mosquitoes." ) );
+        builder.add( parser.analyze( "", "Health officials met in Geneva." ) );
+
+        Path file = Files.createTempFile( "en", ".idf" );
+        builder.write( file, 1 );
+        IdfIndex index = IdfIndex.open( file );
+
+        assertEquals( 3, index.getDocumentCount() );
+        // Counted once per document, whatever the frequency in the document
+        assertEquals( 1, index.documentFrequency( "spreads" ) );
+        assertEquals( 2, index.documentFrequency( "virus" ) );
+        assertEquals( 0, index.documentFrequency( "the" ) ); // stopword
+        assertEquals( 0, index.documentFrequency( "dengue" ) );
+        assertTrue( index.weight( "virus" ) < index.weight( "zika" ) );
+        assertEquals( 1.0, index.weight( "dengue" ), 1e-9 );
+
+        // Rare terms are left out of the file, which is another index for the summary cache
+        builder.write( file, 2 );
+        IdfIndex rebuilt = IdfIndex.open( file );
+        assertEquals( 1, rebuilt.getTermCount() );
+        assertFalse( index.getFingerprint().equals( rebuilt.getFingerprint() ) );
+        Files.delete( file );
+    }
+
+    public void testEmptyIndex()
+    {
+        IdfIndex index = IdfIndex.forLanguage( "xx" );
+        assertTrue( index.isEmpty() );
+        assertEquals( 1.0, index.weight( "zika" ), 0.0 );
+        assertEquals( "", index.getFingerprint() );
+    }
+}
@@ -0,0 +1,160 @@
+package io.azrina.nlp.summarizer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import edu.stanford.nlp.util.CoreMap;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Unit test for the IncrementalSummarizer.
+ */
+public class IncrementalSummarizerTest
+    extends TestCase
+{
+    private static final String TITLE = "Zika virus";
+
+    public IncrementalSummarizerTest( String testName )
+    {
+        super( testName );
+    }
+
+    public static Test suite()
+    {
+        return new TestSuite( IncrementalSummarizerTest.class );
+    }
+
+    public void testExactWithoutTolerance() throws IOException
+    {
+        Parser parser = new Parser( "en" );
+        Summarizer summarizer = new Summarizer( "en" );
+        IncrementalSummarizer incremental = new IncrementalSummarizer( parser, TITLE, 0.0 );
+
+        List<String> segments = segments( parser, Samples.load( "en" ), 4 );
+        StringBuilder text = new StringBuilder();
+        for ( String segment : segments )
+        {
+            incremental.append( segment );
+            if ( text.length() > 0 ) text.append( ' ' );
+            text.append( segment );
+            assertEquals( summarizer.getSummarySentences( TITLE, text.toString(), 5 ),
+                    incremental.getSummarySentences( 5 ) );
+        }
+        assertEquals( segments.size(), incremental.getSegmentCount() );
+        assertEquals( parser.getSentences( text ).size(), incremental.size() );
+    }
+
+    public void testReplace() throws IOException
+    {
+        Parser parser = new Parser( "en" );
+        Summarizer summarizer = new Summarizer( "en" );
+        IncrementalSummarizer incremental = new IncrementalSummarizer( parser, TITLE, 0.0 );
+
+        List<String> segments = segments( parser, Samples.load( "en" ), 4 );
+        for ( String segment : segments )
+        {
+            incremental.append( segment );
+        }
+        segments.set( 1, "The Zika virus was found in Brazil in 2015. Mosquitoes carry the Zika virus." );
+        incremental.replace( 1, segments.get( 1 ) );
+        segments.set( 2, "" );
+        incremental.replace( 2, "" );
+
+        StringBuilder text = new StringBuilder();
+        for ( String segment : segments )
+        {
+            if ( segment.isEmpty() ) continue;
+            if ( text.length() > 0 ) text.append( ' ' );
+            text.append( segment );
+        }
+        assertEquals( summarizer.summarize( TITLE, text.toString(), 5, "\n" ), incremental.summarize( 5, "\n" ) );
+    }
+
+    public void testReplaceBreaksTiesAsSummarizer() throws IOException
+    {
+        Parser parser = new Parser( "en" );
+        Summarizer summarizer = new Summarizer( "en" );
+        IncrementalSummarizer incremental = new IncrementalSummarizer( parser, TITLE, 0.0 );
+
+        // Every term occurs once : the top keywords are the first ten terms of the document
+        String colors = "Red blue green yellow. Black white pink brown. Cyan teal gold silver.";
+        int first = incremental.append( "Old news." );
+        incremental.append( colors );
+        String edited = "Lions tigers bears wolves.";
+        incremental.replace( first, edited );
+
+        assertEquals( summarizer.getSummarySentences( TITLE, edited + " " + colors, 2 ),
+                incremental.getSummarySentences( 2 ) );
+    }
+
+    public void testEditsThenAppends() throws IOException
+    {
+        Parser parser = new Parser( "en" );
+        Summarizer summarizer = new Summarizer( "en" );
+        IncrementalSummarizer incremental = new IncrementalSummarizer( parser, TITLE, 0.0 );
+
+        // Replacements leave term ids out of order, later updates must still rank keywords as Summarizer
+        List<String> segments = segments( parser, Samples.load( "en" ), 3 );
+        List<String> document = new ArrayList<String>();
+        for ( int i = 0; i < segments.size(); i++ )
+        {
+            incremental.append( segments.get( i ) );
+            document.add( segments.get( i ) );
+            if ( i % 2 == 1 )
+            {
+                String edited = "Brazil reported new Zika cases. Mosquitoes spread the virus in Brazil " + i + ".";
+                incremental.replace( i / 2, edited );
+                document.set( i / 2, edited );
+            }
+            StringBuilder text = new StringBuilder();
+            for ( String segment : document )
+            {
+                if ( text.length() > 0 ) text.append( ' ' );
+                text.append( segment );
+            }
+            assertEquals( "update " + i, summarizer.getSummarySentences( TITLE, text.toString(), 5 ),
+                    incremental.getSummarySentences( 5 ) );
+        }
+    }
+
+    public void testRescoresNewSentencesOnly() throws IOException
+    {
+        Parser parser = new Parser( "en" );
+        IncrementalSummarizer incremental = new IncrementalSummarizer( parser, TITLE, 0.5 );
+
+        incremental.append( Samples.load( "en" ) );
+        int size = incremental.size();
+        assertEquals( size, incremental.getLastRescored() );
+
+        // A short update neither shifts the top keywords nor the frequencies beyond the tolerance
+        incremental.append( "The virus is spreading." );
+        assertEquals( size + 1, incremental.size() );
+        assertEquals( 1, incremental.getLastRescored() );
+        assertEquals( 3, incremental.getSummarySentences( 3 ).size() );
+    }
+
+    // Whole sentences of the text, grouped by count
+    private static List<String> segments( Parser parser, String text, int count )
+    {
+        List<String> segments = new ArrayList<String>();
+        StringBuilder segment = new StringBuilder();
+        int n = 0;
+        for ( CoreMap sentence : parser.getSentences( text ) )
+        {
+            if ( segment.length() > 0 ) segment.append( ' ' );
+            segment.append( sentence.toString() );
+            if ( ++n % count == 0 )
+            {
+                segments.add( segment.toString() );
+                segment.setLength( 0 );
+            }
+        }
+        if ( segment.length() > 0 ) segments.add( segment.toString() );
+        return segments;
+    }
+
+}
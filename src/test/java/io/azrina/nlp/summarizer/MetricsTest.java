@@ -0,0 +1,100 @@
+package io.azrina.nlp.summarizer;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.management.ObjectName;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Unit test for Metrics.
+ */
+public class MetricsTest
+    extends TestCase
+{
+    private static final String TEXT = "The Zika virus spreads fast across Brazil. Health officials met in Geneva on "
+            + "Monday. The virus is carried by mosquitoes. A vaccine is not expected before 2018.";
+
+    private final AtomicInteger stages = new AtomicInteger();
+    private final AtomicInteger documents = new AtomicInteger();
+    private final MetricsListener listener = new MetricsListener()
+    {
+        @Override
+        public void onStage( Metrics.Stage stage, long nanos )
+        {
+            stages.incrementAndGet();
+        }
+
+        @Override
+        public void onDocument( int sentences, int tokens, long nanos )
+        {
+            documents.incrementAndGet();
+        }
+    };
+
+    public MetricsTest( String testName )
+    {
+        super( testName );
+    }
+
+    public static Test suite()
+    {
+        return new TestSuite( MetricsTest.class );
+    }
+
+    @Override
+    protected void setUp()
+    {
+        Metrics.reset();
+        Metrics.addListener( listener );
+    }
+
+    @Override
+    protected void tearDown()
+    {
+        Metrics.setEnabled( false );
+        Metrics.removeListener( listener );
+        Metrics.reset();
+    }
+
+    public void testDisabled() throws IOException
+    {
+        new Summarizer( "en" ).summarize( "Zika", TEXT, 2, "|" );
+        assertEquals( 0, Metrics.getDocuments() );
+        assertEquals( 0, Metrics.getHistogram( Metrics.Stage.SCORING ).getCount() );
+        assertEquals( 0, stages.get() + documents.get() );
+    }
+
+    public void testEnabled() throws Exception
+    {
+        Summarizer summarizer = new Summarizer( "en" );
+        Metrics.setEnabled( true );
+        summarizer.summarize( "Zika", TEXT, 2, "|" );
+        summarizer.summarize( "Zika", TEXT, 2, "|" );
+
+        assertEquals( 2, Metrics.getDocuments() );
+        assertEquals( 8, Metrics.getSentences() );
+        assertTrue( Metrics.getTokens() > Metrics.getSentences() );
+        assertEquals( 2, Metrics.getDocumentHistogram().getCount() );
+        for ( Metrics.Stage stage : new Metrics.Stage[] { Metrics.Stage.SENTENCES, Metrics.Stage.TERM_FREQUENCIES,
+                Metrics.Stage.KEYWORDS, Metrics.Stage.SCORING, Metrics.Stage.RANKING } )
+        {
+            assertEquals( stage.name(), 2, Metrics.getHistogram( stage ).getCount() );
+        }
+        assertEquals( 2, documents.get() );
+        assertTrue( stages.get() >= 10 );
+        assertTrue( Metrics.report().contains( "sentence scoring" ) );
+
+        assertTrue( ManagementFactory.getPlatformMBeanServer().isRegistered( new ObjectName( Metrics.OBJECT_NAME ) ) );
+        assertEquals( 2L, ManagementFactory.getPlatformMBeanServer()
+                .getAttribute( new ObjectName( Metrics.OBJECT_NAME ), "Documents" ) );
+
+        Metrics.reset();
+        assertEquals( 0, Metrics.getDocuments() );
+        assertEquals( 0, Metrics.getHistogram( Metrics.Stage.SCORING ).getCount() );
+    }
+}
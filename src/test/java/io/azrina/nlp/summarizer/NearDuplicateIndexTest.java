@@ -0,0 +1,72 @@
+package io.azrina.nlp.summarizer;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Unit test for NearDuplicateIndex and NearDuplicateSummarizer.
+ */
+public class NearDuplicateIndexTest
+    extends TestCase
+{
+    public NearDuplicateIndexTest( String testName )
+    {
+        super( testName );
+    }
+
+    public static Test suite()
+    {
+        return new TestSuite( NearDuplicateIndexTest.class );
+    }
+
+    public void testIndex()
+    {
+        List<String> story = Arrays.asList( "zika", "virus", "spreads", "fast", "across", "brazil", "health",
+                "officials", "said", "on", "monday", "after", "a", "meeting", "in", "geneva", "with", "experts" );
+        List<String> republished = Arrays.asList( "reuters", "zika", "virus", "spreads", "fast", "across", "brazil",
+                "health", "officials", "said", "on", "monday", "after", "a", "meeting", "in", "geneva", "with", "experts" );
+        List<String> other = Arrays.asList( "stocks", "fell", "sharply", "in", "tokyo", "as", "investors", "sold",
+                "exporters", "amid", "a", "stronger", "yen" );
+
+        int[] signature = NearDuplicateIndex.signature( story );
+        assertTrue( NearDuplicateIndex.similarity( signature, NearDuplicateIndex.signature( republished ) ) > 0.7 );
+        assertTrue( NearDuplicateIndex.similarity( signature, NearDuplicateIndex.signature( other ) ) < 0.2 );
+
+        NearDuplicateIndex index = new NearDuplicateIndex( 1, 0.7 );
+        List<String> summary = Arrays.asList( "Zika virus spreads fast across Brazil." );
+        index.add( "en", 3, signature, summary );
+        assertEquals( summary, index.find( "en", 3, NearDuplicateIndex.signature( republished ) ) );
+        assertNull( index.find( "en", 2, NearDuplicateIndex.signature( republished ) ) );
+        assertNull( index.find( "en", 3, NearDuplicateIndex.signature( other ) ) );
+
+        // Bounded : the story is evicted
+        index.add( "en", 3, NearDuplicateIndex.signature( other ), summary );
+        assertNull( index.find( "en", 3, signature ) );
+        assertEquals( 1, index.getStats().getEvictions() );
+    }
+
+    public void testSummarizer() throws IOException
+    {
+        String text = Samples.load( "en" );
+        NearDuplicateSummarizer summarizer = new NearDuplicateSummarizer( "en", new NearDuplicateIndex( 10, 0.8 ) );
+        List<String> summary = summarizer.getSummarySentences( "", text, 3 );
+        assertEquals( summary, summarizer.getSummarySentences( "", "(AFP) - " + text + " Read more on our website.", 3 ) );
+        assertEquals( 1, summarizer.getIndex().getStats().getHits() );
+    }
+
+    public void testChineseSummarizer() throws IOException
+    {
+        // Signed by words : a republished story still shares most of its shingles
+        String text = Samples.load( "zh-cn" );
+        NearDuplicateSummarizer summarizer = new NearDuplicateSummarizer( "zh-cn", new NearDuplicateIndex( 10, 0.8 ) );
+        List<String> summary = summarizer.getSummarySentences( "", text, 3 );
+        assertEquals( summary, summarizer.getSummarySentences( "", "（新华社）" + text + "更多报道请访问我们的网站。", 3 ) );
+        assertEquals( 1, summarizer.getIndex().getStats().getHits() );
+    }
+
+}
@@ -0,0 +1,55 @@
+package io.azrina.nlp.summarizer;
+
+import java.io.IOException;
+import java.util.List;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Unit test for the parallel scoring of long documents.
+ */
+public class ParallelRankingTest
+    extends TestCase
+{
+    public ParallelRankingTest( String testName )
+    {
+        super( testName );
+    }
+
+    public static Test suite()
+    {
+        return new TestSuite( ParallelRankingTest.class );
+    }
+
+    public void testSameRankingAsSequential() throws IOException
+    {
+        Summarizer summarizer = new Summarizer( "en" );
+        StringBuilder report = new StringBuilder();
+        String sample = Samples.load( "en" );
+        for ( int i = 0; i < 80; i++ )
+        {
+            report.append( sample ).append( ' ' );
+        }
+        AnalyzedDocument analyzed = summarizer.parser.analyze( "", report );
+        assertTrue( analyzed.size() > 2 * Summarizer.PARALLEL_LEAF );
+        double[] keywordScores = summarizer.getKeywordScores( analyzed.getVocabulary() );
+
+        // Repeated sentences score alike and only differ by position
+        for ( Degradation level : new Degradation[]{ null, Degradation.NO_DBS } )
+        {
+            List<ScoredSentence> sequential = summarizer.rankSentences( analyzed.getSentences(),
+                    analyzed.getKeywords(), analyzed.getTitleKeywords(), keywordScores, analyzed.size(), 25, level );
+            List<ScoredSentence> parallel = summarizer.rankInParallel( analyzed.getSentences(),
+                    analyzed.getKeywords(), analyzed.getTitleKeywords(), keywordScores, analyzed.size(), 25, level );
+            assertEquals( 25, parallel.size() );
+            for ( int i = 0; i < sequential.size(); i++ )
+            {
+                assertEquals( sequential.get( i ).getIndex(), parallel.get( i ).getIndex() );
+                assertEquals( sequential.get( i ).getScore(), parallel.get( i ).getScore() );
+            }
+        }
+    }
+
+}
@@ -0,0 +1,88 @@
+package io.azrina.nlp.summarizer;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Random;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Unit test for the text cleaning and term normalization of Parser.
+ */
+public class ParserTest
+    extends TestCase
+{
+    public ParserTest( String testName )
+    {
+        super( testName );
+    }
+
+    public static Test suite()
+    {
+        return new TestSuite( ParserTest.class );
+    }
+
+    public void testClean()
+    {
+        assertEquals( "No escapes.", Parser.clean( "No escapes." ) );
+        assertEquals( "One.Two.", Parser.clean( "One.\\nTwo." ) );
+        assertEquals( "One.Two.", Parser.clean( "One.\\r\\nTwo." ) );
+        assertEquals( "C:Users", Parser.clean( "C:\\Users" ) );
+        // An escaped newline inside an escaped carriage return is removed first
+        assertEquals( "ab", Parser.clean( "a\\\\nrb" ) );
+        assertEquals( "", Parser.clean( "\\" ) );
+        // Real line breaks are kept
+        assertEquals( "One.\nTwo.", Parser.clean( "One.\nTwo." ) );
+    }
+
+    public void testTermsIgnoreTheDefaultLocale()
+    {
+        Locale locale = Locale.getDefault();
+        Locale.setDefault( new Locale( "tr", "TR" ) );
+        try
+        {
+            // A Turkish default locale would lowercase 'I' into a dotless 'ı'
+            assertEquals( "india", AnalyzedDocument.normalize( "INDIA" ) );
+            assertEquals( Arrays.asList( "it", "is" ), new Parser( "en", TextEngines.NATIVE ).tokenize( "IT IS", true ) );
+            // Both are stopwords
+            assertTrue( new Parser( "en" ).getKeywords( "IT IS" ).isEmpty() );
+        }
+        finally
+        {
+            Locale.setDefault( locale );
+        }
+    }
+
+    public void testCleanIsTheThreeReplacements()
+    {
+        Random random = new Random( 42 );
+        char[] alphabet = { '\\', 'n', 'r', 'a', ' ', '\n' };
+        for ( int n = 0; n < 10000; n++ )
+        {
+            char[] text = new char[random.nextInt( 12 )];
+            for ( int i = 0; i < text.length; i++ )
+            {
+                text[i] = alphabet[random.nextInt( alphabet.length )];
+            }
+            String document = new String( text );
+            String expected = document.replace( "\\n", "" ).replace( "\\r", "" ).replace( "\\", "" );
+            assertEquals( document, expected, Parser.clean( document ) );
+        }
+    }
+
+    public void testCleanOrigins()
+    {
+        String document = "One.\\nTwo\\.";
+        int[] origins = new int[document.length()];
+        String cleaned = Parser.clean( document, origins );
+        assertEquals( "One.Two.", cleaned );
+        for ( int i = 0; i < cleaned.length(); i++ )
+        {
+            assertEquals( cleaned.charAt( i ), document.charAt( origins[i] ) );
+        }
+        assertEquals( 6, origins[4] );
+        assertEquals( 10, origins[7] );
+    }
+}
@@ -0,0 +1,162 @@
+package io.azrina.nlp.summarizer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import edu.stanford.nlp.pipeline.StanfordCoreNLP;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Unit test for the memory budget and idle timeout of PipelineRegistry.
+ */
+public class PipelineRegistryTest
+    extends TestCase
+{
+    private static final String[] LANGUAGES = { "en", "es", "fr" };
+
+    private final long[] footprints = new long[LANGUAGES.length];
+    private final List<String> events = Collections.synchronizedList( new ArrayList<String>() );
+    private final PipelineListener listener = new PipelineListener()
+    {
+        public void onLoad( String lang, long footprint, long nanos )
+        {
+            events.add( "load " + lang );
+        }
+
+        public void onEvict( String lang, long footprint, boolean idle )
+        {
+            events.add( "evict " + lang + ( idle ? " idle" : "" ) );
+        }
+    };
+
+    public PipelineRegistryTest( String testName )
+    {
+        super( testName );
+    }
+
+    public static Test suite()
+    {
+        return new TestSuite( PipelineRegistryTest.class );
+    }
+
+    @Override
+    protected void setUp()
+    {
+        for ( int i = 0; i < LANGUAGES.length; i++ )
+        {
+            footprints[i] = PipelineRegistry.getFootprint( LANGUAGES[i] );
+        }
+        PipelineRegistry.clear();
+        PipelineRegistry.addListener( listener );
+    }
+
+    @Override
+    protected void tearDown()
+    {
+        PipelineRegistry.removeListener( listener );
+        PipelineRegistry.setMemoryBudget( 0 );
+        PipelineRegistry.setIdleTimeout( 0, TimeUnit.SECONDS );
+        PipelineRegistry.clear();
+        for ( int i = 0; i < LANGUAGES.length; i++ )
+        {
+            PipelineRegistry.setFootprint( LANGUAGES[i], footprints[i] );
+        }
+    }
+
+    public void testLeastRecentlyUsedEviction()
+    {
+        PipelineRegistry.setFootprint( "en", 30 );
+        PipelineRegistry.setFootprint( "es", 30 );
+        PipelineRegistry.setFootprint( "fr", 30 );
+        PipelineRegistry.setMemoryBudget( 70 );
+
+        PipelineRegistry.warmUp( "en", "es", "en", "fr" );
+        assertEquals( Arrays.asList( "load en", "load es", "evict es", "load fr" ), events );
+        assertEquals( Arrays.asList( "en", "fr" ), new ArrayList<String>( PipelineRegistry.getLoadedLanguages() ) );
+        assertEquals( 60, PipelineRegistry.getUsedBytes() );
+    }
+
+    public void testIdleEviction() throws InterruptedException
+    {
+        PipelineRegistry.warmUp( "en" );
+        PipelineRegistry.setIdleTimeout( 100, TimeUnit.MILLISECONDS );
+
+        // Nothing is requested any more : the sweeper evicts the pipeline on its own
+        long deadline = System.currentTimeMillis() + 10000;
+        while ( PipelineRegistry.isWarm( "en" ) && System.currentTimeMillis() < deadline )
+        {
+            Thread.sleep( 20 );
+        }
+        assertFalse( PipelineRegistry.isWarm( "en" ) );
+        assertEquals( Arrays.asList( "load en", "evict en idle" ), events );
+        assertEquals( 0, PipelineRegistry.getUsedBytes() );
+    }
+
+    public void testListenersRunOutsideTheLock() throws Exception
+    {
+        // A listener looking up another pipeline from another thread would deadlock under the lock
+        final Properties props = new Parser( "es" ).getProperties( "es" );
+        PipelineListener reentrant = new PipelineListener()
+        {
+            public void onLoad( String lang, long footprint, long nanos )
+            {
+                if ( !lang.equals( "en" ) ) return;
+                Thread thread = new Thread( () -> PipelineRegistry.get( "es", props ) );
+                thread.start();
+                try
+                {
+                    thread.join();
+                }
+                catch ( InterruptedException e )
+                {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            public void onEvict( String lang, long footprint, boolean idle )
+            {
+            }
+        };
+        PipelineRegistry.addListener( reentrant );
+        try
+        {
+            PipelineRegistry.warmUp( "en" );
+        }
+        finally
+        {
+            PipelineRegistry.removeListener( reentrant );
+        }
+        assertEquals( Arrays.asList( "en", "es" ), new ArrayList<String>( PipelineRegistry.getLoadedLanguages() ) );
+    }
+
+    public void testConcurrentRequestsBuildOnce() throws Exception
+    {
+        final Properties props = new Parser( "es" ).getProperties( "es" );
+        final StanfordCoreNLP[] pipelines = new StanfordCoreNLP[4];
+        Thread[] threads = new Thread[pipelines.length];
+        for ( int i = 0; i < threads.length; i++ )
+        {
+            final int n = i;
+            threads[i] = new Thread( () -> pipelines[n] = PipelineRegistry.get( "es", props ) );
+            threads[i].start();
+        }
+        for ( Thread thread : threads )
+        {
+            thread.join();
+        }
+
+        assertEquals( Arrays.asList( "load es" ), events );
+        for ( StanfordCoreNLP pipeline : pipelines )
+        {
+            assertSame( pipelines[0], pipeline );
+        }
+        assertEquals( PipelineRegistry.getFootprint( "es" ), PipelineRegistry.getUsedBytes() );
+    }
+}
@@ -0,0 +1,37 @@
+package io.azrina.nlp.summarizer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Test fixture : the bundled sample text of each language.
+ */
+final class Samples
+{
+    private Samples()
+    {
+    }
+
+    /**
+     * @param String lang Language code
+     * @return String Content of the sample-<lang>.txt resource
+     * @throws IOException
+     */
+    static String load( String lang ) throws IOException
+    {
+        try ( InputStream in = Samples.class.getResourceAsStream( "/sample-" + lang + ".txt" ) )
+        {
+            if ( in == null ) throw new IOException( "No sample for " + lang );
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ( ( read = in.read( buffer ) ) >= 0 )
+            {
+                out.write( buffer, 0, read );
+            }
+            return new String( out.toByteArray(), StandardCharsets.UTF_8 );
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package io.azrina.nlp.summarizer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Unit test for the allocation-free ScoringKernel.
+ */
+public class ScoringKernelTest
+    extends TestCase
+{
+    public ScoringKernelTest( String testName )
+    {
+        super( testName );
+    }
+
+    public static Test suite()
+    {
+        return new TestSuite( ScoringKernelTest.class );
+    }
+
+    public void testSameScoresAsFeatures() throws IOException
+    {
+        Parser parser = new Parser( "en" );
+        Summarizer summarizer = new Summarizer( parser );
+        AnalyzedDocument analyzed = parser.analyze( "Yoga and meditation", Samples.load( "en" ) );
+        double[] keywordScores = summarizer.getKeywordScores( analyzed.getVocabulary() );
+        int[] title = analyzed.getTitleKeywords();
+        int count = analyzed.size();
+        ScoringKernel kernel = new ScoringKernel( parser, title, keywordScores, count, null );
+
+        for ( int i = 0; i < count; i++ )
+        {
+            int[] words = analyzed.getKeywords( i );
+            double sbs = Summarizer.getSbs( words, keywordScores );
+            double dbs = Summarizer.getDbs( words, keywordScores );
+            double expected = ( ( parser.getTitleFeature( title, words ) * 1.5 ) + ( ( sbs + dbs ) / 2.0 * 10.0 * 2.0 )
+                    + ( parser.getLengthFeature( words.length ) * 0.5 )
+                    + ( parser.getPositionFeature( analyzed.getPosition( i ), count ) * 1.0 ) / 4.0 ) * 10000;
+
+            assertEquals( expected, kernel.score( words, analyzed.getPosition( i ) ), 0.0 );
+            ScoredSentence scored = kernel.scored( analyzed.getSentences().get( i ), i, words );
+            assertEquals( expected, scored.getScore(), 0.0 );
+            assertEquals( dbs, scored.getDbsFeature(), 0.0 );
+        }
+    }
+
+    public void testTopSentencesRankLikeScoredSentence()
+    {
+        Random random = new Random( 42 );
+        List<ScoredSentence> all = new ArrayList<ScoredSentence>();
+        ScoringKernel.TopSentences top = new ScoringKernel.TopSentences( 7 );
+        for ( int i = 0; i < 500; i++ )
+        {
+            // Few distinct scores, so that ties are broken by position
+            double score = random.nextInt( 20 );
+            all.add( new ScoredSentence( null, i, 0, 0, 0, 0, 0, score ) );
+            top.offer( i, score );
+        }
+        Collections.sort( all );
+
+        int[] expected = new int[7];
+        for ( int i = 0; i < expected.length; i++ )
+        {
+            expected[i] = all.get( i ).getIndex();
+        }
+        assertTrue( Arrays.equals( expected, top.positions() ) );
+
+        // Merging two heaps keeps the best of both
+        ScoringKernel.TopSentences merged = new ScoringKernel.TopSentences( 7 );
+        merged.addAll( top );
+        merged.offer( 500, 100.0 );
+        assertEquals( 7, merged.size() );
+        assertEquals( 500, merged.positions()[0] );
+        assertEquals( expected[5], merged.positions()[6] );
+    }
+
+}
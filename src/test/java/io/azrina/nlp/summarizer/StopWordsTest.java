@@ -0,0 +1,61 @@
+package io.azrina.nlp.summarizer;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Unit test for StopWords.
+ */
+public class StopWordsTest
+    extends TestCase
+{
+    private Path file;
+
+    public StopWordsTest( String testName )
+    {
+        super( testName );
+    }
+
+    public static Test suite()
+    {
+        return new TestSuite( StopWordsTest.class );
+    }
+
+    @Override
+    protected void tearDown() throws IOException
+    {
+        if ( file != null )
+        {
+            Files.deleteIfExists( file );
+        }
+    }
+
+    public void testBundledSets()
+    {
+        assertTrue( StopWords.forLanguage( "en" ).contains( "the" ) );
+        // Words are trimmed, whatever the separator of the original lists
+        assertTrue( StopWords.forLanguage( "fr" ).contains( "dans" ) );
+        assertTrue( StopWords.forLanguage( "ar" ).contains( "في" ) );
+        // Unknown languages share the English set
+        assertSame( StopWords.forLanguage( "en" ), StopWords.forLanguage( "xx" ) );
+        assertSame( StopWords.forLanguage( "en" ), StopWords.forLanguage( "yy" ) );
+    }
+
+    public void testOverride() throws IOException
+    {
+        file = Files.createTempFile( "stopwords", ".txt" );
+        Files.write( file, Arrays.asList( "zika", " virus ", "" ), StandardCharsets.UTF_8 );
+        StopWords.override( "test", file );
+
+        assertEquals( new HashSet<String>( Arrays.asList( "zika", "virus" ) ), StopWords.forLanguage( "test" ) );
+        assertSame( StopWords.forLanguage( "test" ), new Parser( "test" ).getStopWords() );
+    }
+}
@@ -0,0 +1,77 @@
+package io.azrina.nlp.summarizer;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Unit test for the StreamingSummarizer.
+ */
+public class StreamingSummarizerTest
+    extends TestCase
+{
+    private static final String TITLE = "Zika virus";
+
+    public StreamingSummarizerTest( String testName )
+    {
+        super( testName );
+    }
+
+    public static Test suite()
+    {
+        return new TestSuite( StreamingSummarizerTest.class );
+    }
+
+    public void testSameAsSummarizer() throws IOException
+    {
+        String text = Samples.load( "en" );
+        String expected = new Summarizer( "en" ).summarize( TITLE, text, 5, "\n" );
+
+        // Whole text in one chunk, then split across many, with sentences carried over
+        assertEquals( expected, new StreamingSummarizer( "en" ).summarize( TITLE, new StringReader( text ), 5, "\n" ) );
+        assertEquals( expected,
+                new StreamingSummarizer( "en", 512 ).summarize( TITLE, new StringReader( text ), 5, "\n" ) );
+    }
+
+    public void testEscapesAcrossChunks() throws IOException
+    {
+        String text = "The Zika virus spreads fast across\\n Brazil. Health officials met in Geneva on Monday.\\n\\n "
+                + "The virus is carried by mosquitoes. A vaccine is not\\r\\n expected before 2018.\\n "
+                + "Mosquitoes carry the Zika virus\\r\\nacross borders. Officials expect more cases.";
+        String expected = new Summarizer( "en" ).summarize( TITLE, text, 3, "\n" );
+
+        // Some of these chunk sizes end a chunk within an escape
+        for ( int chunkSize = 32; chunkSize < 64; chunkSize++ )
+        {
+            assertEquals( "chunk size " + chunkSize, expected, new StreamingSummarizer( "en", chunkSize )
+                    .summarize( TITLE, new StringReader( text ), 3, "\n" ) );
+        }
+    }
+
+    public void testRepeatedDocument() throws IOException
+    {
+        // Far more sentences than candidates : the summary still comes from the text, at most 3 sentences
+        String text = Samples.load( "en" );
+        StringBuilder repeated = new StringBuilder();
+        for ( int i = 0; i < 8; i++ )
+        {
+            repeated.append( text ).append( "\n\n" );
+        }
+        String summary = new StreamingSummarizer( "en", 4096 )
+                .summarize( TITLE, new StringReader( repeated.toString() ), 3, "\n" );
+        String[] sentences = summary.split( "\n" );
+        assertEquals( 3, sentences.length );
+        for ( String sentence : sentences )
+        {
+            assertTrue( sentence, text.contains( sentence.substring( 0, Math.min( 40, sentence.length() ) ) ) );
+        }
+    }
+
+    public void testEmpty() throws IOException
+    {
+        assertEquals( "", new StreamingSummarizer( "en" ).summarize( TITLE, new StringReader( "" ), 3, "\n" ) );
+    }
+}
@@ -0,0 +1,80 @@
+package io.azrina.nlp.summarizer;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Unit test for SummarizerDaemon and DaemonClient.
+ */
+public class SummarizerDaemonTest
+    extends TestCase
+{
+    private static final String TEXT = "The Zika virus spreads fast across Brazil. Health officials met in Geneva on "
+            + "Monday. The virus is carried by mosquitoes. A vaccine is not expected before 2018.";
+
+    public SummarizerDaemonTest( String testName )
+    {
+        super( testName );
+    }
+
+    public static Test suite()
+    {
+        return new TestSuite( SummarizerDaemonTest.class );
+    }
+
+    public void testRoundTrip() throws IOException
+    {
+        try ( SummarizerDaemon daemon = new SummarizerDaemon( null, 0, 2, null, null, "en" ) )
+        {
+            daemon.start();
+            int port = ( (InetSocketAddress) daemon.getAddress() ).getPort();
+            String summary = new DaemonClient( null, port ).summarize( "en", "Zika", TEXT, 2, "|" );
+            assertEquals( new Summarizer( "en" ).summarize( "Zika", TEXT, 2, "|" ), summary );
+        }
+    }
+
+    public void testUnixSocket() throws IOException
+    {
+        // A file left over by a daemon which did not stop is replaced, a running daemon is not
+        Path directory = Files.createTempDirectory( "daemon" );
+        Path socket = directory.resolve( "textteaser.sock" );
+        Files.createFile( socket );
+        try ( SummarizerDaemon daemon = new SummarizerDaemon( socket, 0, 1, null, null, "en" ) )
+        {
+            daemon.start();
+            assertEquals( new Summarizer( "en" ).summarize( "Zika", TEXT, 2, "|" ),
+                    new DaemonClient( socket, 0 ).summarize( "en", "Zika", TEXT, 2, "|" ) );
+            try
+            {
+                new SummarizerDaemon( socket, 0, 1, null, null ).close();
+                fail( "Two daemons listen on " + socket );
+            }
+            catch ( IOException e )
+            {
+                // expected
+            }
+        }
+        finally
+        {
+            Files.deleteIfExists( socket );
+            Files.delete( directory );
+        }
+    }
+
+    public void testNoDaemon() throws IOException
+    {
+        // Nothing listens on the port of a closed daemon
+        int port;
+        try ( SummarizerDaemon daemon = new SummarizerDaemon( null, 0, 1, null, null ) )
+        {
+            port = ( (InetSocketAddress) daemon.getAddress() ).getPort();
+        }
+        assertNull( new DaemonClient( null, port ).summarize( "en", "", TEXT, 2, "|" ) );
+    }
+}
@@ -0,0 +1,151 @@
+package io.azrina.nlp.summarizer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import javax.json.Json;
+import javax.json.JsonObject;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Unit test for the SummarizerServer endpoints.
+ */
+public class SummarizerServerTest
+    extends TestCase
+{
+    private static final String TEXT = "The Zika virus spreads fast across Brazil. Health officials met in Geneva on "
+            + "Monday. The virus is carried by mosquitoes. A vaccine is not expected before 2018.";
+
+    private SummarizerServer server;
+    private int code;
+
+    public SummarizerServerTest( String testName )
+    {
+        super( testName );
+    }
+
+    public static Test suite()
+    {
+        return new TestSuite( SummarizerServerTest.class );
+    }
+
+    @Override
+    protected void setUp() throws IOException
+    {
+        server = new SummarizerServer( new InetSocketAddress( "127.0.0.1", 0 ), 2, 2, "en" );
+        server.start();
+    }
+
+    @Override
+    protected void tearDown()
+    {
+        server.close();
+    }
+
+    public void testSummarize() throws IOException
+    {
+        String body = Json.createObjectBuilder().add( "text", TEXT ).add( "title", "Zika" ).add( "num", 2 )
+                .add( "delimiter", "|" ).build().toString();
+        JsonObject response = request( "POST", "/summarize", body );
+        assertEquals( 200, code );
+        assertEquals( new Summarizer( "en" ).summarize( "Zika", TEXT, 2, "|" ), response.getString( "summary" ) );
+    }
+
+    public void testDeadline() throws IOException
+    {
+        String body = Json.createObjectBuilder().add( "text", TEXT ).add( "deadline", 60000 ).build().toString();
+        JsonObject response = request( "POST", "/summarize", body );
+        assertEquals( 200, code );
+        assertTrue( response.getString( "summary" ).length() > 0 );
+        assertTrue( response.getJsonArray( "degradations" ).isEmpty() );
+    }
+
+    public void testClientErrors() throws IOException
+    {
+        request( "GET", "/summarize", null );
+        assertEquals( 405, code );
+        request( "POST", "/summarize", "{\"text\": " );
+        assertEquals( 400, code );
+        request( "POST", "/summarize", "{\"title\": \"Zika\"}" );
+        assertEquals( 400, code );
+        JsonObject response = request( "POST", "/summarize", "{\"text\": 7}" );
+        assertEquals( 400, code );
+        assertEquals( "Invalid 'text'", response.getString( "error" ) );
+        response = request( "POST", "/summarize", "{\"text\": \"Zika.\", \"deadline\": \"soon\"}" );
+        assertEquals( 400, code );
+        assertEquals( "Invalid 'deadline'", response.getString( "error" ) );
+    }
+
+    public void testInternalErrorIsNotDisclosed() throws IOException
+    {
+        server.close();
+        SummaryCache failing = new SummaryCache( 10, 0 )
+        {
+            @Override
+            public List<String> get( String key )
+            {
+                throw new IllegalStateException( "/var/cache/secret" );
+            }
+        };
+        server = new SummarizerServer( new InetSocketAddress( "127.0.0.1", 0 ), 1, 0, failing, "en" );
+        server.start();
+
+        JsonObject response = request( "POST", "/summarize", "{\"text\": \"" + TEXT + "\"}" );
+        assertEquals( 500, code );
+        assertEquals( "Internal error", response.getString( "error" ) );
+    }
+
+    public void testHealth() throws IOException
+    {
+        JsonObject response = request( "GET", "/health", null );
+        assertEquals( 200, code );
+        assertEquals( "UP", response.getString( "status" ) );
+        assertTrue( response.containsKey( "pipelines" ) );
+        assertFalse( response.containsKey( "cache" ) );
+    }
+
+    // Sends a request, keeping the status code, and parses the JSON response
+    private JsonObject request( String method, String path, String body ) throws IOException
+    {
+        InetSocketAddress address = server.getAddress();
+        URL url = new URL( "http://127.0.0.1:" + address.getPort() + path );
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        connection.setRequestMethod( method );
+        if ( body != null )
+        {
+            connection.setDoOutput( true );
+            try ( OutputStream out = connection.getOutputStream() )
+            {
+                out.write( body.getBytes( StandardCharsets.UTF_8 ) );
+            }
+        }
+        code = connection.getResponseCode();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try ( InputStream in = code < 400 ? connection.getInputStream() : connection.getErrorStream() )
+        {
+            byte[] buffer = new byte[4096];
+            int read;
+            while ( ( read = in.read( buffer ) ) >= 0 )
+            {
+                bytes.write( buffer, 0, read );
+            }
+        }
+        finally
+        {
+            connection.disconnect();
+        }
+        return Json.createReader( new StringReader( new String( bytes.toByteArray(), StandardCharsets.UTF_8 ) ) )
+                .readObject();
+    }
+}
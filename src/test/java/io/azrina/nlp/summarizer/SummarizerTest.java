@@ -0,0 +1,71 @@
+package io.azrina.nlp.summarizer;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import edu.stanford.nlp.ling.CoreLabel;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Regression test of the Summarizer against the summaries of the original
+ * implementation, which tokenized every sentence a second time.
+ */
+public class SummarizerTest
+    extends TestCase
+{
+    private static final List<String> EN = Arrays.asList(
+            "The impact assessment also highlighted the need to strengthen regional and national preparedness and response strategies which also involve communities and have particular focus on the needs of vulnerable group such as girls, women and persons with disabilities.",
+            "In addition to the impact on public health, the tangible impact of the Zika outbreak, such as on gross domestic product (GDP), could cost the Latin American and the Caribbean region as much as $18 billion between 2015 and 2017, a new United Nations report has revealed.",
+            "While larger economies such as Brazil could bear the greatest “absolute” burden, but the most “severe” impacts are likely be felt in the poorest countries such as Haiti." );
+
+    private static final List<String> RU = Arrays.asList(
+            "Он добавил, что в наибольшей степени от вируса пострадали бедные слои населения и общины, которые не смогли обеспечить надлежащий контроль и не имели ни адекватных возможностей для диагностики, ни средств предотвращения заболевания.",
+            "В результате у новорожденного развивается микроцефалия - врожденный дефект, который заключается в значительном уменьшении размера черепа и может сопровождаться умственной отсталостью, невротическими отклонениями и нарушениями слуха и зрения.",
+            "Болезнь, которая, в первую очередь, затрагивает наиболее бедные слои населения, в конечном итоге, приводит к самым серьезным социальным и экономическим последствиям для государств и регионов в целом», - сказал представитель ПРООН Магди Мартинес-Солиман." );
+
+    public SummarizerTest( String testName )
+    {
+        super( testName );
+    }
+
+    public static Test suite()
+    {
+        return new TestSuite( SummarizerTest.class );
+    }
+
+    public void testBaselineSummaries() throws IOException
+    {
+        assertEquals( EN, new Summarizer( "en" ).getSummarySentences( "", Samples.load( "en" ), 3 ) );
+        assertEquals( RU, new Summarizer( "ru" ).getSummarySentences( "", Samples.load( "ru" ), 3 ) );
+    }
+
+    /**
+     * Terms come from the original text of tokens : PTB escapes such as
+     * -LRB- are not terms, nor are tokens made of symbols only.
+     */
+    public void testTerms()
+    {
+        assertEquals( "", AnalyzedDocument.term( token( "-LRB-", "(" ) ) );
+        assertEquals( "", AnalyzedDocument.term( token( "-RSB-", "]" ) ) );
+        assertEquals( "", AnalyzedDocument.term( token( "$", "$" ) ) );
+        assertEquals( "", AnalyzedDocument.term( token( "``", "“" ) ) );
+        assertEquals( "us", AnalyzedDocument.term( token( "U.S.", "U.S." ) ) );
+        assertEquals( "18", AnalyzedDocument.term( token( "18", "18" ) ) );
+        assertEquals( "word", AnalyzedDocument.term( token( "Word", "" ) ) );
+
+        List<String> keywords = new Parser( "en" ).getKeywords( "The Sustainable Development Goals (SDGs) cost $18 billion." );
+        assertEquals( Arrays.asList( "sustainable", "development", "goals", "sdgs", "cost", "18", "billion" ), keywords );
+    }
+
+    private static CoreLabel token( String word, String originalText )
+    {
+        CoreLabel token = new CoreLabel();
+        token.setWord( word );
+        token.setOriginalText( originalText );
+        return token;
+    }
+}
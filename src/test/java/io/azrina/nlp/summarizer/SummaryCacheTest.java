@@ -0,0 +1,119 @@
+package io.azrina.nlp.summarizer;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Unit test for SummaryCache.
+ */
+public class SummaryCacheTest
+    extends TestCase
+{
+    private static final List<String> SUMMARY = Arrays.asList( "First sentence.", "Second sentence." );
+
+    private Path directory;
+
+    public SummaryCacheTest( String testName )
+    {
+        super( testName );
+    }
+
+    public static Test suite()
+    {
+        return new TestSuite( SummaryCacheTest.class );
+    }
+
+    @Override
+    protected void setUp() throws IOException
+    {
+        directory = Files.createTempDirectory( "summary-cache" );
+    }
+
+    @Override
+    protected void tearDown() throws IOException
+    {
+        try ( Stream<Path> paths = Files.walk( directory ) )
+        {
+            paths.sorted( Comparator.reverseOrder() ).forEach( path -> path.toFile().delete() );
+        }
+    }
+
+    public void testKey()
+    {
+        String key = SummaryCache.key( "en", "corenlp", "Title", "One. Two.", 3 );
+        assertEquals( key, SummaryCache.key( "en", "corenlp", "Title", new StringBuilder( "One. Two." ), 3 ) );
+        // Line breaks may split sentences differently, so the text is hashed as is
+        assertFalse( key.equals( SummaryCache.key( "en", "corenlp", "Title", "One.\n\nTwo.", 3 ) ) );
+        assertFalse( key.equals( SummaryCache.key( "fr", "corenlp", "Title", "One. Two.", 3 ) ) );
+        assertFalse( key.equals( SummaryCache.key( "en", "native", "Title", "One. Two.", 3 ) ) );
+        assertFalse( key.equals( SummaryCache.key( "en", "corenlp", "Title", "One. Two.", 2 ) ) );
+    }
+
+    public void testLeastRecentlyUsedEviction()
+    {
+        SummaryCache cache = new SummaryCache( 2, 0 );
+        cache.put( "a", SUMMARY );
+        cache.put( "b", SUMMARY );
+        assertNotNull( cache.get( "a" ) );
+        cache.put( "c", SUMMARY );
+
+        assertNull( cache.get( "b" ) );
+        assertEquals( SUMMARY, cache.get( "a" ) );
+        assertEquals( 2, cache.getStats().getHits() );
+        assertEquals( 1, cache.getStats().getMisses() );
+        assertEquals( 1, cache.getStats().getEvictions() );
+    }
+
+    public void testDiskTierSurvivesRestart() throws IOException
+    {
+        String key = SummaryCache.key( "en", "corenlp", "", "Some document.", 3 );
+        new SummaryCache( 10, 0, directory ).put( key, SUMMARY );
+
+        SummaryCache restarted = new SummaryCache( 10, 0, directory );
+        assertEquals( SUMMARY, restarted.get( key ) );
+        assertEquals( 1, restarted.getStats().getDiskHits() );
+        assertEquals( SUMMARY, restarted.get( key ) );
+        assertEquals( 1, restarted.getStats().getHits() );
+    }
+
+    public void testExpiredFilesAreDeleted() throws Exception
+    {
+        SummaryCache cache = new SummaryCache( 0, 1, directory );
+        cache.put( "ab01", SUMMARY );
+        Path file = directory.resolve( "ab" ).resolve( "ab01" );
+        assertTrue( Files.exists( file ) );
+
+        Thread.sleep( 20 );
+        assertNull( cache.get( "ab01" ) );
+        assertFalse( Files.exists( file ) );
+    }
+
+    public void testDiskTierIsBounded() throws IOException
+    {
+        // Each entry file takes a few dozen bytes : 20 of them do not fit in 256
+        SummaryCache cache = new SummaryCache( 0, 0, directory, 256 );
+        for ( int i = 0; i < 20; i++ )
+        {
+            cache.put( String.format( "%04x", i ), SUMMARY );
+        }
+        assertTrue( size( directory ) > 0 );
+        assertTrue( size( directory ) <= 256 );
+    }
+
+    private static long size( Path directory ) throws IOException
+    {
+        try ( Stream<Path> paths = Files.walk( directory ) )
+        {
+            return paths.filter( Files::isRegularFile ).mapToLong( path -> path.toFile().length() ).sum();
+        }
+    }
+}
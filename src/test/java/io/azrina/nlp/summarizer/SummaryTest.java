@@ -0,0 +1,107 @@
+package io.azrina.nlp.summarizer;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.List;
+
+import javax.json.JsonObject;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Unit test for the structured Summary.
+ */
+public class SummaryTest
+    extends TestCase
+{
+    public SummaryTest( String testName )
+    {
+        super( testName );
+    }
+
+    public static Test suite()
+    {
+        return new TestSuite( SummaryTest.class );
+    }
+
+    public void testOffsets() throws IOException
+    {
+        for ( String lang : new String[]{ "en", "ru" } )
+        {
+            Summarizer summarizer = new Summarizer( lang );
+            String text = Samples.load( lang );
+            Summary summary = summarizer.getSummary( "", text, 3 );
+            List<String> expected = summarizer.getSummarySentences( "", text, 3 );
+
+            assertEquals( expected.size(), summary.getSentences().size() );
+            for ( int i = 0; i < expected.size(); i++ )
+            {
+                Summary.Sentence sentence = summary.getSentences().get( i );
+                assertEquals( i + 1, sentence.getRank() );
+                assertEquals( expected.get( i ), sentence.getText().toString() );
+                assertEquals( expected.get( i ), text.substring( sentence.getBegin(), sentence.getEnd() ) );
+            }
+        }
+    }
+
+    public void testOffsetsInEscapedText() throws IOException
+    {
+        Summarizer summarizer = new Summarizer( "en" );
+        String text = "The Zika virus spreads fast across\\n Brazil. Health officials met in Geneva on Monday.\\n\\n "
+                + "The virus is carried by mosquitoes. A vaccine is not\\r\\n expected before 2018.";
+        Summary summary = summarizer.getSummary( "Zika", text, 4 );
+        List<String> expected = summarizer.getSummarySentences( "Zika", text, 4 );
+
+        assertEquals( 4, summary.getSentences().size() );
+        for ( int i = 0; i < expected.size(); i++ )
+        {
+            Summary.Sentence sentence = summary.getSentences().get( i );
+            assertEquals( expected.get( i ), sentence.getText().toString() );
+            // Offsets cover the sentence in the original text, escapes included
+            assertEquals( expected.get( i ), Parser.clean( text.substring( sentence.getBegin(), sentence.getEnd() ) ) );
+        }
+        List<Summary.Sentence> ordered = summary.getSentencesInDocumentOrder();
+        assertTrue( text.substring( ordered.get( 3 ).getBegin() ).startsWith( "A vaccine is not\\r\\n expected" ) );
+    }
+
+    public void testRendering() throws IOException
+    {
+        Summarizer summarizer = new Summarizer( "en" );
+        String text = Samples.load( "en" );
+        Summary summary = summarizer.getSummary( "", text, 3 );
+
+        // Like summarize, without the trailing delimiter
+        String summarized = summarizer.summarize( "", text, 3, " (...) " );
+        assertEquals( summarized.substring( 0, summarized.length() - " (...) ".length() ), summary.join( " (...) " ) );
+
+        StringWriter writer = new StringWriter();
+        summary.render( writer, " (...) " );
+        assertEquals( summary.join( " (...) " ), writer.toString() );
+
+        JsonObject json = summary.toJson();
+        assertEquals( 3, json.getJsonArray( "sentences" ).size() );
+        JsonObject first = json.getJsonArray( "sentences" ).getJsonObject( 0 );
+        assertEquals( 1, first.getInt( "rank" ) );
+        assertEquals( summary.getSentences().get( 0 ).getBegin(), first.getInt( "begin" ) );
+        assertTrue( first.getJsonObject( "features" ).containsKey( "dbs" ) );
+    }
+
+    public void testCachedSummary() throws IOException
+    {
+        SummaryCache cache = new SummaryCache( 10, 0 );
+        CachingSummarizer summarizer = new CachingSummarizer( "en", cache );
+        String text = "The Zika virus spreads fast across\\n Brazil. Health officials met in Geneva on Monday.\\n\\n "
+                + "The virus is carried by mosquitoes. A vaccine is not\\r\\n expected before 2018.";
+        JsonObject computed = summarizer.getSummary( "Zika", text, 3 ).toJson();
+        assertEquals( 1, cache.getStats().getSize() );
+
+        // The second summary is rebuilt from the cache, offsets, scores and features included
+        Summary cached = summarizer.getSummary( "Zika", text, 3 );
+        assertEquals( 1, cache.getStats().getHits() );
+        assertEquals( computed, cached.toJson() );
+        assertEquals( new Summarizer( "en" ).getSummary( "Zika", text, 3 ).join( "|" ), cached.join( "|" ) );
+    }
+
+}
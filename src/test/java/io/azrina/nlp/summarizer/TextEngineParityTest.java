@@ -0,0 +1,128 @@
+package io.azrina.nlp.summarizer;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import edu.stanford.nlp.util.CoreMap;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Parity test of the native text engine against Stanford Core NLP, on the
+ * bundled samples of every language the native engine supports.
+ */
+public class TextEngineParityTest
+    extends TestCase
+{
+    private static final String[] LANGUAGES = { "en", "es", "fr", "ru", "zh-cn" };
+
+    // Sentences of each sample on which the engines are known to disagree
+    private static final int[] SENTENCE_DIFFERENCES = { 0, 0, 2, 2, 0 };
+
+    // Summary sentences of each sample known to differ, and whether the order is the same
+    private static final int[] SUMMARY_DIFFERENCES = { 0, 0, 0, 1, 1 };
+    private static final boolean[] SUMMARY_ORDERED = { true, true, false, false, false };
+
+    public TextEngineParityTest( String testName )
+    {
+        super( testName );
+    }
+
+    public static Test suite()
+    {
+        return new TestSuite( TextEngineParityTest.class );
+    }
+
+    /**
+     * The sentences are identical, but for the known differences : the
+     * engines legitimately disagree on quotes opening a sentence and on some
+     * missing spaces.
+     */
+    public void testSentenceAgreement() throws IOException
+    {
+        for ( int l = 0; l < LANGUAGES.length; l++ )
+        {
+            String lang = LANGUAGES[l];
+            String text = Samples.load( lang );
+            Set<String> expected = normalize( new Parser( lang, TextEngines.CORENLP ).getSentences( text ) );
+            List<CoreMap> actual = new Parser( lang, TextEngines.NATIVE ).getSentences( text );
+
+            int same = 0;
+            for ( CoreMap sentence : actual )
+            {
+                if ( expected.contains( normalize( sentence.toString() ) ) ) same++;
+            }
+            assertTrue( lang + " : " + same + " of " + actual.size() + " sentences agree",
+                    same >= Math.max( actual.size(), expected.size() ) - SENTENCE_DIFFERENCES[l] );
+        }
+    }
+
+    /**
+     * Both engines select the same summary sentences, in the same order, but
+     * for the known differences.
+     */
+    public void testSummaryAgreement() throws IOException
+    {
+        for ( int l = 0; l < LANGUAGES.length; l++ )
+        {
+            String lang = LANGUAGES[l];
+            String text = Samples.load( lang );
+            List<String> expected = new Summarizer( new Parser( lang, TextEngines.CORENLP ) )
+                    .getSummarySentences( "", text, 3 );
+            List<String> actual = new Summarizer( new Parser( lang, TextEngines.NATIVE ) )
+                    .getSummarySentences( "", text, 3 );
+
+            if ( SUMMARY_ORDERED[l] )
+            {
+                assertEquals( lang, expected, actual );
+            }
+            int same = 0;
+            for ( String sentence : actual )
+            {
+                if ( expected.contains( sentence ) ) same++;
+            }
+            assertTrue( lang + " : " + same + " of 3 summary sentences agree", same >= 3 - SUMMARY_DIFFERENCES[l] );
+        }
+    }
+
+    public void testAbbreviationsAndInitials()
+    {
+        List<CoreMap> sentences = new NativeTextEngine( "en" ).split(
+                "Dr. Smith met J. Doe in the U.S. on Monday. They talked for 2.5 hours! Then they left." );
+        assertEquals( 3, sentences.size() );
+        assertEquals( "They talked for 2.5 hours!", sentences.get( 1 ).toString() );
+    }
+
+    public void testTerminatorAtStart() throws IOException
+    {
+        NativeTextEngine engine = new NativeTextEngine( "en" );
+        List<CoreMap> sentences = engine.split( ".NET is a framework. It is big." );
+        assertEquals( 2, sentences.size() );
+        assertEquals( ".NET is a framework.", sentences.get( 0 ).toString() );
+        sentences = engine.split( "...Hello there. Bye now." );
+        assertEquals( 2, sentences.size() );
+        assertEquals( "Bye now.", sentences.get( 1 ).toString() );
+
+        Summarizer summarizer = new Summarizer( new Parser( "en", TextEngines.NATIVE ) );
+        assertEquals( 2, summarizer.getSummarySentences( "", ".NET is a framework. It is big.", 3 ).size() );
+    }
+
+    private static Set<String> normalize( List<CoreMap> sentences )
+    {
+        Set<String> normalized = new HashSet<String>();
+        for ( CoreMap sentence : sentences )
+        {
+            normalized.add( normalize( sentence.toString() ) );
+        }
+        return normalized;
+    }
+
+    private static String normalize( String sentence )
+    {
+        return sentence.replaceAll( "\\s+", " " ).trim();
+    }
+}
@@ -0,0 +1,92 @@
+package io.azrina.nlp.summarizer;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Unit test for TextFiles.
+ */
+public class TextFilesTest
+    extends TestCase
+{
+    private static final String TEXT = "Le virus Zika se propage.\nÀ Genève, l'OMS s'est réunie.\r\n";
+
+    private Path file;
+
+    public TextFilesTest( String testName )
+    {
+        super( testName );
+    }
+
+    public static Test suite()
+    {
+        return new TestSuite( TextFilesTest.class );
+    }
+
+    @Override
+    protected void setUp() throws IOException
+    {
+        file = Files.createTempFile( "text", ".txt" );
+    }
+
+    @Override
+    protected void tearDown() throws IOException
+    {
+        Files.deleteIfExists( file );
+    }
+
+    public void testCharsets() throws IOException
+    {
+        for ( Charset charset : Arrays.asList( StandardCharsets.UTF_8, StandardCharsets.ISO_8859_1,
+                StandardCharsets.UTF_16, Charset.forName( "windows-1252" ) ) )
+        {
+            Files.write( file, TEXT.getBytes( charset ) );
+            assertEquals( charset.name(), TEXT, TextFiles.read( file, charset ).toString() );
+        }
+    }
+
+    public void testByteOrderMarkIsDropped() throws IOException
+    {
+        Files.write( file, ( "\uFEFF" + TEXT ).getBytes( StandardCharsets.UTF_8 ) );
+        assertEquals( TEXT, TextFiles.read( file ).toString() );
+    }
+
+    public void testMalformedInputIsReported() throws IOException
+    {
+        // Latin-1 bytes are not valid UTF-8, and are not silently replaced
+        Files.write( file, TEXT.getBytes( StandardCharsets.ISO_8859_1 ) );
+        try
+        {
+            TextFiles.read( file );
+            fail( "Malformed UTF-8 was decoded" );
+        }
+        catch ( IOException e )
+        {
+            // expected
+        }
+    }
+
+    public void testMappedFile() throws IOException
+    {
+        StringBuilder text = new StringBuilder();
+        while ( text.length() < TextFiles.MAP_THRESHOLD )
+        {
+            text.append( TEXT );
+        }
+        Files.write( file, text.toString().getBytes( StandardCharsets.UTF_8 ) );
+        assertEquals( text.toString(), TextFiles.read( file ).toString() );
+    }
+
+    public void testEmptyFile() throws IOException
+    {
+        assertEquals( "", TextFiles.read( file ).toString() );
+    }
+}
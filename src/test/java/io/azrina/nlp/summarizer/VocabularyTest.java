@@ -0,0 +1,58 @@
+package io.azrina.nlp.summarizer;
+
+import java.util.Arrays;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Unit test for Vocabulary.
+ */
+public class VocabularyTest
+    extends TestCase
+{
+    public VocabularyTest( String testName )
+    {
+        super( testName );
+    }
+
+    public static Test suite()
+    {
+        return new TestSuite( VocabularyTest.class );
+    }
+
+    public void testInternAssignsDenseIds()
+    {
+        Vocabulary vocabulary = new Vocabulary();
+        assertEquals( 0, vocabulary.intern( "zika" ) );
+        assertEquals( 1, vocabulary.intern( "virus" ) );
+        assertEquals( 0, vocabulary.intern( "zika" ) );
+        assertEquals( -1, vocabulary.indexOf( "brazil" ) );
+        assertEquals( "virus", vocabulary.term( 1 ) );
+
+        // Grow past the initial capacity
+        for ( int i = 0; i < 10000; i++ )
+        {
+            assertEquals( i + 2, vocabulary.intern( "term" + i ) );
+        }
+        assertEquals( 5002, vocabulary.indexOf( "term5000" ) );
+        assertEquals( 10002, vocabulary.size() );
+    }
+
+    public void testTopTermsAndRemove()
+    {
+        Vocabulary vocabulary = new Vocabulary();
+        for ( String word : "a b c b c c d the the the the".split( " " ) )
+        {
+            vocabulary.increment( vocabulary.intern( word ) );
+        }
+        vocabulary.remove( "the" );
+
+        assertEquals( 7, vocabulary.totalCount() );
+        assertEquals( 0, vocabulary.count( vocabulary.indexOf( "the" ) ) );
+        assertTrue( Arrays.equals( new int[]{ 2, 1, 0 }, vocabulary.topTerms( 3 ) ) );
+        // Ties keep the order of first occurence
+        assertTrue( Arrays.equals( new int[]{ 2, 1, 0, 3 }, vocabulary.topTerms( 10 ) ) );
+    }
+}